@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * An auxiliary counter that reports the number of megabytes of input processed
+ * per second alongside the primary (operations per second) score. Each
+ * benchmark states the number of bytes that it actually consumed, and
+ * benchmarks that do not consume a byte input (such as tree walks and
+ * incremental edits) do not use this counter at all.
+ */
+
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class JSXBenchmarkBytes
+{
+  /**
+   * The number of megabytes (10^6 bytes) processed.
+   */
+
+  public double megabytes;
+
+  /**
+   * Construct a counter.
+   */
+
+  public JSXBenchmarkBytes()
+  {
+
+  }
+
+  /**
+   * Reset the counter.
+   */
+
+  @Setup(Level.Iteration)
+  public void reset()
+  {
+    this.megabytes = 0.0;
+  }
+
+  /**
+   * Record that the whole UTF-8 encoded corpus was processed.
+   *
+   * @param input The input
+   */
+
+  public void processed(
+    final JSXBenchmarkInput input)
+  {
+    this.processedBytes(input.bytes().length);
+  }
+
+  /**
+   * Record that the given number of bytes of input were processed.
+   *
+   * @param count The number of bytes
+   */
+
+  public void processedBytes(
+    final long count)
+  {
+    this.megabytes += (double) count / 1_000_000.0;
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * The generated corpora used by the benchmarks. Each corpus is generated
+ * deterministically so that results are comparable across runs and releases.
+ */
+
+public enum JSXBenchmarkCorpus
+{
+  /**
+   * Many short lists of symbols drawn from a small vocabulary.
+   */
+
+  FLAT_SYMBOLS {
+    @Override
+    void generateExpression(
+      final Random random,
+      final StringBuilder out)
+    {
+      out.append('(');
+      final int count = 4 + random.nextInt(16);
+      for (int index = 0; index < count; ++index) {
+        if (index > 0) {
+          out.append(' ');
+        }
+        out.append(symbol(random));
+      }
+      out.append(")\n");
+    }
+  },
+
+  /**
+   * Lists of long symbols built by joining words with punctuation, so that
+   * nearly all of the input is symbol constituents.
+   */
+
+  LONG_SYMBOLS {
+    @Override
+    void generateExpression(
+      final Random random,
+      final StringBuilder out)
+    {
+      out.append('(');
+      final int count = 2 + random.nextInt(8);
+      for (int index = 0; index < count; ++index) {
+        if (index > 0) {
+          out.append(' ');
+        }
+        final int words = 2 + random.nextInt(6);
+        for (int w = 0; w < words; ++w) {
+          if (w > 0) {
+            out.append(SEPARATORS[random.nextInt(SEPARATORS.length)]);
+          }
+          out.append(symbol(random));
+        }
+      }
+      out.append(")\n");
+    }
+  },
+
+  /**
+   * Deeply nested lists, alternating between round and square brackets.
+   */
+
+  NESTED_LISTS {
+    @Override
+    void generateExpression(
+      final Random random,
+      final StringBuilder out)
+    {
+      final int depth = 16 + random.nextInt(48);
+      for (int index = 0; index < depth; ++index) {
+        out.append((index % 2 == 0) ? '(' : '[');
+        out.append(symbol(random));
+        out.append(' ');
+      }
+      out.append(symbol(random));
+      for (int index = depth - 1; index >= 0; --index) {
+        out.append((index % 2 == 0) ? ')' : ']');
+      }
+      out.append('\n');
+    }
+  },
+
+  /**
+   * Lists containing quoted strings with a high density of escape sequences
+   * and non-ASCII characters.
+   */
+
+  STRINGS_ESCAPED {
+    @Override
+    void generateExpression(
+      final Random random,
+      final StringBuilder out)
+    {
+      out.append("(string ");
+      final int count = 1 + random.nextInt(4);
+      for (int index = 0; index < count; ++index) {
+        out.append('"');
+        final int length = 8 + random.nextInt(64);
+        for (int c = 0; c < length; ++c) {
+          out.append(stringFragment(random));
+        }
+        out.append("\" ");
+      }
+      out.append(")\n");
+    }
+  },
+
+  /**
+   * Lists containing quoted strings that consist entirely of four-digit and
+   * eight-digit unicode escape sequences.
+   */
+
+  STRINGS_UNICODE_ESCAPED {
+    @Override
+    void generateExpression(
+      final Random random,
+      final StringBuilder out)
+    {
+      out.append("(string ");
+      final int count = 1 + random.nextInt(4);
+      for (int index = 0; index < count; ++index) {
+        out.append('"');
+        final int length = 8 + random.nextInt(32);
+        for (int c = 0; c < length; ++c) {
+          if (random.nextInt(4) == 0) {
+            out.append("\\U%08x".formatted(
+              Integer.valueOf(0x10000 + random.nextInt(0x100000))));
+          } else {
+            out.append("\\u%04X".formatted(
+              Integer.valueOf(0x20 + random.nextInt(0xd800 - 0x20))));
+          }
+        }
+        out.append("\" ");
+      }
+      out.append(")\n");
+    }
+  },
+
+  /**
+   * Lists interleaved with a large number of line comments.
+   */
+
+  COMMENTED {
+    @Override
+    void generateExpression(
+      final Random random,
+      final StringBuilder out)
+    {
+      final int comments = 1 + random.nextInt(4);
+      for (int index = 0; index < comments; ++index) {
+        out.append("; ");
+        final int words = 4 + random.nextInt(12);
+        for (int w = 0; w < words; ++w) {
+          out.append(symbol(random));
+          out.append(' ');
+        }
+        out.append('\n');
+      }
+      out.append('(');
+      out.append(symbol(random));
+      out.append(" ; trailing comment\n  ");
+      out.append(symbol(random));
+      out.append(")\n");
+    }
+  };
+
+  private static final String[] VOCABULARY = vocabulary();
+
+  private static final char[] SEPARATORS = {'-', '.', '/', '_', '*'};
+
+  private static final String[] STRING_FRAGMENTS = {
+    "a",
+    "b",
+    "text",
+    " ",
+    "\\\"",
+    "\\\\",
+    "\\n",
+    "\\t",
+    "\\r",
+    "\\u00e9",
+    "\\u2022",
+    "\\U0001F600",
+    "é",
+    "ü",
+  };
+
+  private static String[] vocabulary()
+  {
+    final Random random = new Random(0x6a7378L);
+    final String[] words = new String[256];
+    for (int index = 0; index < words.length; ++index) {
+      final int length = 2 + random.nextInt(10);
+      final StringBuilder word = new StringBuilder(length);
+      for (int c = 0; c < length; ++c) {
+        word.append((char) ('a' + random.nextInt(26)));
+      }
+      if (random.nextInt(4) == 0) {
+        word.append(':');
+        word.append(random.nextInt(100));
+      }
+      words[index] = word.toString();
+    }
+    return words;
+  }
+
+  private static String symbol(
+    final Random random)
+  {
+    return VOCABULARY[random.nextInt(VOCABULARY.length)];
+  }
+
+  private static String stringFragment(
+    final Random random)
+  {
+    return STRING_FRAGMENTS[random.nextInt(STRING_FRAGMENTS.length)];
+  }
+
+  abstract void generateExpression(
+    Random random,
+    StringBuilder out);
+
+  /**
+   * Generate a corpus consisting of complete top-level expressions. Generation
+   * stops at the first expression boundary at or after {@code size}
+   * characters.
+   *
+   * @param size The approximate size of the corpus in characters
+   *
+   * @return The corpus text
+   */
+
+  public String generate(
+    final int size)
+  {
+    final Random random =
+      new Random(Objects.hash(this.name(), Integer.valueOf(size)));
+    final StringBuilder out = new StringBuilder(size + 4096);
+    while (out.length() < size) {
+      this.generateExpression(random, out);
+    }
+    return out.toString();
+  }
+}
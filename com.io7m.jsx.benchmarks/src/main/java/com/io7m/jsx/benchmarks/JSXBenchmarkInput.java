@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserType;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.lexer.JSXLexerUTF8;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.serializer.JSXSerializerBinary;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The input shared by all benchmarks: a generated corpus, its UTF-8 encoding,
+ * and (for the output benchmarks) the parsed expressions and their binary
+ * encoding.
+ */
+
+@State(Scope.Benchmark)
+public class JSXBenchmarkInput
+{
+  /**
+   * The corpus.
+   */
+
+  @Param({
+    "FLAT_SYMBOLS",
+    "LONG_SYMBOLS",
+    "NESTED_LISTS",
+    "STRINGS_ESCAPED",
+    "STRINGS_UNICODE_ESCAPED",
+    "COMMENTED"
+  })
+  public JSXBenchmarkCorpus corpus;
+
+  /**
+   * The approximate corpus size in characters.
+   */
+
+  @Param({"1048576"})
+  public int size;
+
+  private String text;
+  private byte[] bytes;
+  private List<SExpressionType> expressions;
+  private byte[] binary;
+
+  /**
+   * Construct the input.
+   */
+
+  public JSXBenchmarkInput()
+  {
+
+  }
+
+  /**
+   * @return The lexer configuration used for all corpora
+   */
+
+  public static JSXLexerConfiguration lexerConfiguration()
+  {
+    return new JSXLexerConfiguration(
+      true,
+      false,
+      Optional.empty(),
+      EnumSet.of(JSXLexerComment.COMMENT_SEMICOLON),
+      1
+    );
+  }
+
+  /**
+   * @return The parser configuration used for all corpora
+   */
+
+  public static JSXParserConfiguration parserConfiguration()
+  {
+    return new JSXParserConfiguration(true);
+  }
+
+  /**
+   * Generate the corpus.
+   *
+   * @throws Exception On errors
+   */
+
+  @Setup(Level.Trial)
+  public void setup()
+    throws Exception
+  {
+    this.text = this.corpus.generate(this.size);
+    this.bytes = this.text.getBytes(StandardCharsets.UTF_8);
+    this.expressions = this.parser().parseExpressions();
+
+    final JSXSerializerType serializer = JSXSerializerBinary.newSerializer();
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (final SExpressionType expression : this.expressions) {
+      serializer.serialize(expression, out);
+    }
+    this.binary = out.toByteArray();
+  }
+
+  /**
+   * @return The corpus text
+   */
+
+  public String text()
+  {
+    return this.text;
+  }
+
+  /**
+   * @return The UTF-8 encoded corpus
+   */
+
+  public byte[] bytes()
+  {
+    return this.bytes;
+  }
+
+  /**
+   * @return The parsed corpus encoded with {@link JSXSerializerBinary}, one
+   * document per expression
+   */
+
+  public byte[] binary()
+  {
+    return this.binary;
+  }
+
+  /**
+   * @return The parsed corpus
+   */
+
+  public List<SExpressionType> expressions()
+  {
+    return this.expressions;
+  }
+
+  /**
+   * @return A new lexer over the corpus text
+   */
+
+  public JSXLexerType lexer()
+  {
+    return JSXLexer.newLexer(
+      lexerConfiguration(),
+      UnicodeCharacterReader.newReader(new StringReader(this.text))
+    );
+  }
+
+  /**
+   * @return A new block-buffered lexer over the corpus text
+   */
+
+  public JSXLexerType lexerBuffered()
+  {
+    return JSXLexerBuffered.newLexer(
+      lexerConfiguration(),
+      new StringReader(this.text)
+    );
+  }
+
+  /**
+   * @return A new UTF-8 lexer over the encoded corpus
+   */
+
+  public JSXLexerType lexerUTF8()
+  {
+    return JSXLexerUTF8.newLexer(
+      lexerConfiguration(),
+      new ByteArrayInputStream(this.bytes)
+    );
+  }
+
+  /**
+   * @return A new parser over the corpus text
+   */
+
+  public JSXParserType parser()
+  {
+    return JSXParser.newParser(parserConfiguration(), this.lexer());
+  }
+}
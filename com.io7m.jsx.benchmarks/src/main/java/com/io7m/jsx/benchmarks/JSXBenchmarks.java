@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * The benchmark entry point. Accepts the standard JMH command-line options,
+ * always enables the GC profiler, and prints a summary of the throughput in
+ * MB/s, the number of bytes allocated per operation, and the number of bytes
+ * allocated per byte of input. The input size of each operation is derived
+ * from the {@link JSXBenchmarkBytes} counter, and so benchmarks that do not
+ * consume a byte input report only their allocation per operation.
+ */
+
+public final class JSXBenchmarks
+{
+  private static final String PACKAGE_PREFIX =
+    JSXBenchmarks.class.getPackageName() + ".";
+
+  private JSXBenchmarks()
+  {
+
+  }
+
+  /**
+   * Run the benchmarks.
+   *
+   * @param args The JMH command-line arguments
+   *
+   * @throws Exception On errors
+   */
+
+  public static void main(
+    final String[] args)
+    throws Exception
+  {
+    final var options =
+      new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+
+    final Collection<RunResult> results = new Runner(options).run();
+
+    System.out.println();
+    System.out.printf(
+      "%-40s %-24s %12s %16s %16s%n",
+      "Benchmark",
+      "Parameters",
+      "MB/s",
+      "Alloc (B/op)",
+      "Alloc (B/byte)");
+
+    for (final var result : results) {
+      showResult(result);
+    }
+  }
+
+  private static void showResult(
+    final RunResult result)
+  {
+    final BenchmarkParams params =
+      result.getParams();
+
+    final var secondary = result.getSecondaryResults();
+    final Result<?> megabytes = secondary.get("megabytes");
+    final Result<?> allocated = secondary.get("gc.alloc.rate.norm");
+
+    /*
+     * The megabytes counter and the primary score are both rates, and so
+     * their ratio is the number of bytes consumed by a single operation.
+     */
+
+    final double operations =
+      result.getPrimaryResult().getScore();
+    final double mbs =
+      megabytes != null ? megabytes.getScore() : Double.NaN;
+    final double perOp =
+      allocated != null ? allocated.getScore() : Double.NaN;
+    final double bytesPerOp =
+      mbs * 1_000_000.0 / operations;
+
+    System.out.printf(
+      Locale.ROOT,
+      "%-40s %-24s %12.3f %16.3f %16.3f%n",
+      params.getBenchmark().replace(PACKAGE_PREFIX, ""),
+      showParameters(params),
+      Double.valueOf(mbs),
+      Double.valueOf(perOp),
+      Double.valueOf(perOp / bytesPerOp));
+  }
+
+  private static String showParameters(
+    final BenchmarkParams params)
+  {
+    final var text = new StringBuilder(32);
+    for (final String key : params.getParamsKeys()) {
+      if (!text.isEmpty()) {
+        text.append(',');
+      }
+      text.append(params.getParam(key));
+    }
+    return text.isEmpty() ? "-" : text.toString();
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import com.io7m.jsx.api.lexer.JSXLexerCursorType;
+import com.io7m.jsx.api.lexer.JSXLexerTokenKind;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.tokens.TokenEOF;
+import com.io7m.jsx.api.tokens.TokenType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lexer benchmarks.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSXLexerBenchmark
+{
+  /**
+   * Construct a benchmark.
+   */
+
+  public JSXLexerBenchmark()
+  {
+
+  }
+
+  /**
+   * Lex the entire corpus with the default lexer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void lexer(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    consumeAll(input.lexer(), hole);
+    counter.processed(input);
+  }
+
+  /**
+   * Lex the entire corpus with the block-buffered lexer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void lexerBuffered(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    consumeAll(input.lexerBuffered(), hole);
+    counter.processed(input);
+  }
+
+  /**
+   * Lex the entire encoded corpus with the UTF-8 lexer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void lexerUTF8(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    consumeAll(input.lexerUTF8(), hole);
+    counter.processed(input);
+  }
+
+  /**
+   * Lex the entire corpus with the block-buffered lexer's cursor, without
+   * constructing token objects.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void lexerBufferedCursor(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    final JSXLexerCursorType cursor = input.lexerBuffered().cursor();
+    while (true) {
+      final JSXLexerTokenKind kind = cursor.next();
+      hole.consume(kind);
+      hole.consume(cursor.text().length());
+      if (kind == JSXLexerTokenKind.EOF) {
+        break;
+      }
+    }
+    counter.processed(input);
+  }
+
+  private static void consumeAll(
+    final JSXLexerType lexer,
+    final Blackhole hole)
+    throws Exception
+  {
+    while (true) {
+      final TokenType token = lexer.token();
+      hole.consume(token);
+      if (token instanceof TokenEOF) {
+        break;
+      }
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SAtomType;
+import com.io7m.jsx.SExpressionType.SList;
+import com.io7m.jsx.SExpressionType.SListType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tree walking benchmarks. These walk the parsed corpus without producing
+ * any output, so the reported allocation rate is that of list traversal
+ * alone. No bytes of input are consumed, and so no byte counts are
+ * reported.
+ *
+ * The {@code record} benchmarks walk a copy of the corpus built from
+ * {@link SList} values. The {@code recordCopying} benchmark is the baseline:
+ * it walks the same tree but copies each list before iterating over it, as
+ * {@link SList#iterator()} did before it held an immutable list.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSXListBenchmark
+{
+  /**
+   * Construct a benchmark.
+   */
+
+  public JSXListBenchmark()
+  {
+
+  }
+
+  /**
+   * Walk the parsed corpus using {@link Iterable} iteration.
+   *
+   * @param input The input
+   *
+   * @return The total length of all atoms
+   */
+
+  @Benchmark
+  public long iterate(
+    final JSXBenchmarkInput input)
+  {
+    long total = 0L;
+    for (final SExpressionType expression : input.expressions()) {
+      total += iterateExpression(expression);
+    }
+    return total;
+  }
+
+  /**
+   * Walk the parsed corpus using {@link SListType#get(int)} and
+   * {@link SListType#size()}.
+   *
+   * @param input The input
+   *
+   * @return The total length of all atoms
+   */
+
+  @Benchmark
+  public long indexed(
+    final JSXBenchmarkInput input)
+  {
+    long total = 0L;
+    for (final SExpressionType expression : input.expressions()) {
+      total += indexedExpression(expression);
+    }
+    return total;
+  }
+
+  /**
+   * Walk the corpus as {@link SList} values using {@link Iterable}
+   * iteration.
+   *
+   * @param tree The corpus as {@link SList} values
+   *
+   * @return The total length of all atoms
+   */
+
+  @Benchmark
+  public long record(
+    final RecordTree tree)
+  {
+    long total = 0L;
+    for (final SExpressionType expression : tree.expressions) {
+      total += iterateExpression(expression);
+    }
+    return total;
+  }
+
+  /**
+   * Walk the corpus as {@link SList} values, copying each list before
+   * iterating over it. This is the baseline for {@link #record(RecordTree)}.
+   *
+   * @param tree The corpus as {@link SList} values
+   *
+   * @return The total length of all atoms
+   */
+
+  @Benchmark
+  public long recordCopying(
+    final RecordTree tree)
+  {
+    long total = 0L;
+    for (final SExpressionType expression : tree.expressions) {
+      total += copyingExpression(expression);
+    }
+    return total;
+  }
+
+  /**
+   * The parsed corpus, rebuilt from {@link SList} values.
+   */
+
+  @State(Scope.Benchmark)
+  public static class RecordTree
+  {
+    private List<SExpressionType> expressions;
+
+    /**
+     * Construct the tree.
+     */
+
+    public RecordTree()
+    {
+
+    }
+
+    /**
+     * Rebuild the parsed corpus.
+     *
+     * @param input The input
+     */
+
+    @Setup(Level.Trial)
+    public void setup(
+      final JSXBenchmarkInput input)
+    {
+      this.expressions =
+        input.expressions()
+          .stream()
+          .map(JSXListBenchmark::toRecord)
+          .toList();
+    }
+  }
+
+  private static SExpressionType toRecord(
+    final SExpressionType expression)
+  {
+    if (expression instanceof final SListType list) {
+      final var elements = new ArrayList<SExpressionType>(list.size());
+      for (final SExpressionType sub : list) {
+        elements.add(toRecord(sub));
+      }
+      return new SList(list.lexical(), list.isSquare(), elements);
+    }
+    return expression;
+  }
+
+  private static long copyingExpression(
+    final SExpressionType expression)
+  {
+    if (expression instanceof final SListType list) {
+      /*
+       * Copy the elements into a new array and iterate over a list view of
+       * it, which allocates the same objects as the List.copyOf() call that
+       * SList.iterator() made when SList held the mutable list that the
+       * parser passed to it. List.copyOf() itself cannot be used, as it
+       * returns the (now immutable) list unchanged.
+       */
+
+      final int size = list.size();
+      final SExpressionType[] copy = new SExpressionType[size];
+      for (int index = 0; index < size; ++index) {
+        copy[index] = list.get(index);
+      }
+
+      long total = 0L;
+      for (final SExpressionType sub : Arrays.asList(copy)) {
+        total += copyingExpression(sub);
+      }
+      return total;
+    }
+    return ((SAtomType) expression).text().length();
+  }
+
+  private static long iterateExpression(
+    final SExpressionType expression)
+  {
+    if (expression instanceof final SListType list) {
+      long total = 0L;
+      for (final SExpressionType sub : list) {
+        total += iterateExpression(sub);
+      }
+      return total;
+    }
+    return ((SAtomType) expression).text().length();
+  }
+
+  private static long indexedExpression(
+    final SExpressionType expression)
+  {
+    if (expression instanceof final SListType list) {
+      long total = 0L;
+      final int size = list.size();
+      for (int index = 0; index < size; ++index) {
+        total += indexedExpression(list.get(index));
+      }
+      return total;
+    }
+    return ((SAtomType) expression).text().length();
+  }
+}
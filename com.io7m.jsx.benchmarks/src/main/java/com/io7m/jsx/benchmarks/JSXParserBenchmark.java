@@ -0,0 +1,299 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerSymbolTable;
+import com.io7m.jsx.api.parser.JSXParserEventKind;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.parser.JSXParserEventReader;
+import com.io7m.jsx.parser.JSXParserIncremental;
+import com.io7m.jsx.parser.JSXParserParallel;
+import com.io7m.jsx.serializer.JSXDeserializerBinary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parser benchmarks.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSXParserBenchmark
+{
+  private static final JSXLexerSymbolTable SYMBOLS =
+    JSXLexerSymbolTable.create();
+  /**
+   * Construct a benchmark.
+   */
+
+  public JSXParserBenchmark()
+  {
+
+  }
+
+  /**
+   * Parse the entire corpus with {@code parseExpressions()}.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void parseExpressions(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    hole.consume(input.parser().parseExpressions());
+    counter.processed(input);
+  }
+
+  /**
+   * Parse the entire corpus with {@code parseExpressions()}, interning
+   * symbols in a table shared across iterations.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void parseExpressionsInterned(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    final JSXLexerConfiguration base =
+      JSXBenchmarkInput.lexerConfiguration();
+    final JSXLexerConfiguration config =
+      new JSXLexerConfiguration(
+        base.squareBrackets(),
+        base.newlinesInQuotedStrings(),
+        base.file(),
+        base.comments(),
+        base.startAtLine(),
+        Optional.of(SYMBOLS)
+      );
+
+    final var parser =
+      JSXParser.newParser(
+        JSXBenchmarkInput.parserConfiguration(),
+        JSXLexerBuffered.newLexer(config, new StringReader(input.text())));
+
+    hole.consume(parser.parseExpressions());
+    counter.processed(input);
+  }
+
+  /**
+   * Parse the entire encoded corpus in parallel on the common pool.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void parseExpressionsParallel(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    hole.consume(JSXParserParallel.parseExpressionsFromBuffer(
+      JSXBenchmarkInput.parserConfiguration(),
+      JSXBenchmarkInput.lexerConfiguration(),
+      ByteBuffer.wrap(input.bytes()),
+      ForkJoinPool.commonPool()
+    ));
+    counter.processed(input);
+  }
+
+  /**
+   * Read the entire corpus as a sequence of parser events.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void events(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    final var events =
+      JSXParserEventReader.newEventReader(
+        JSXBenchmarkInput.parserConfiguration(),
+        input.lexer());
+
+    while (events.next() != JSXParserEventKind.EOF) {
+      hole.consume(events.text());
+    }
+    counter.processed(input);
+  }
+
+  /**
+   * Load the pre-encoded binary corpus. The byte count is that of the
+   * binary encoding, not of the corpus text.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   * @param hole    The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void loadBinary(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter,
+    final Blackhole hole)
+    throws Exception
+  {
+    final JSXDeserializerBinary reader =
+      JSXDeserializerBinary.newDeserializer();
+    final ByteBuffer buffer =
+      ByteBuffer.wrap(input.binary());
+
+    while (buffer.hasRemaining()) {
+      hole.consume(reader.deserialize(buffer));
+    }
+    counter.processedBytes(input.binary().length);
+  }
+
+  /**
+   * A document parsed once from the corpus, to which benchmarks apply edits.
+   */
+
+  @State(Scope.Thread)
+  public static class IncrementalDocument
+  {
+    private JSXParserIncremental document;
+    private int middle;
+
+    /**
+     * Construct the document.
+     */
+
+    public IncrementalDocument()
+    {
+
+    }
+
+    /**
+     * Parse the corpus.
+     *
+     * @param input The input
+     */
+
+    @Setup(Level.Trial)
+    public void setup(
+      final JSXBenchmarkInput input)
+    {
+      this.document =
+        JSXParserIncremental.parse(
+          JSXBenchmarkInput.parserConfiguration(),
+          JSXBenchmarkInput.lexerConfiguration(),
+          input.text());
+      this.middle = input.text().length() / 2;
+    }
+  }
+
+  /**
+   * Insert a character into the middle of the corpus and then remove it,
+   * reparsing incrementally after each edit.
+   *
+   * @param document The parsed corpus
+   * @param hole     The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void incrementalEdit(
+    final IncrementalDocument document,
+    final Blackhole hole)
+    throws Exception
+  {
+    final JSXParserIncremental inserted =
+      document.document.edit(document.middle, 0, "x");
+    hole.consume(inserted.expressions());
+    final JSXParserIncremental removed =
+      inserted.edit(document.middle, 1, "");
+    hole.consume(removed.expressions());
+  }
+
+  /**
+   * Insert a line break into the middle of the corpus and then remove it,
+   * reparsing incrementally after each edit. Retrieving the expressions
+   * after the insertion shifts the positions of every expression after the
+   * edit; the removal then restores the original expressions unchanged.
+   *
+   * @param document The parsed corpus
+   * @param hole     The blackhole
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void incrementalEditNewline(
+    final IncrementalDocument document,
+    final Blackhole hole)
+    throws Exception
+  {
+    final JSXParserIncremental inserted =
+      document.document.edit(document.middle, 0, "\n");
+    hole.consume(inserted.expressions());
+    final JSXParserIncremental removed =
+      inserted.edit(document.middle, 1, "");
+    hole.consume(removed.expressions());
+  }
+}
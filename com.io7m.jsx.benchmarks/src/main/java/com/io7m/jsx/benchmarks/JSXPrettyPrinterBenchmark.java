@@ -0,0 +1,112 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.prettyprint.JSXPrettyPrinterCodeStyle;
+import com.io7m.jsx.prettyprint.JSXPrettyPrinterMarkupStyle;
+import com.io7m.jsx.prettyprint.JSXPrettyPrinterType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pretty printer benchmarks.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSXPrettyPrinterBenchmark
+{
+  /**
+   * Construct a benchmark.
+   */
+
+  public JSXPrettyPrinterBenchmark()
+  {
+
+  }
+
+  private static void printAll(
+    final JSXBenchmarkInput input,
+    final JSXPrettyPrinterType printer)
+    throws IOException
+  {
+    try (printer) {
+      for (final SExpressionType expression : input.expressions()) {
+        printer.print(expression);
+      }
+    }
+  }
+
+  /**
+   * Print the parsed corpus with the code style printer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void codeStyle(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    printAll(
+      input,
+      JSXPrettyPrinterCodeStyle.newPrinterWithWidthIndent(
+        Writer.nullWriter(), 80, 2)
+    );
+    counter.processed(input);
+  }
+
+  /**
+   * Print the parsed corpus with the markup style printer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void markupStyle(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    printAll(
+      input,
+      JSXPrettyPrinterMarkupStyle.newPrinterWithWidthIndent(
+        Writer.nullWriter(), 80, 2)
+    );
+    counter.processed(input);
+  }
+}
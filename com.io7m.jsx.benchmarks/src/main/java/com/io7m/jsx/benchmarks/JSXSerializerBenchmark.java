@@ -0,0 +1,189 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.benchmarks;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+import com.io7m.jsx.serializer.JSXSerializerBinary;
+import com.io7m.jsx.serializer.JSXSerializerTrivial;
+import com.io7m.jsx.serializer.JSXSerializerUTF8;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializer benchmarks.
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JSXSerializerBenchmark
+{
+  /**
+   * Construct a benchmark.
+   */
+
+  public JSXSerializerBenchmark()
+  {
+
+  }
+
+  /**
+   * Serialize the parsed corpus with the trivial serializer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void trivial(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    final JSXSerializerType serializer =
+      JSXSerializerTrivial.newSerializer();
+    final OutputStream output =
+      OutputStream.nullOutputStream();
+
+    for (final SExpressionType expression : input.expressions()) {
+      serializer.serialize(expression, output);
+    }
+    counter.processed(input);
+  }
+
+  /**
+   * Serialize the parsed corpus with the trivial serializer into a single
+   * shared text buffer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void trivialAppendable(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    final JSXSerializerType serializer =
+      JSXSerializerTrivial.newSerializer();
+    final StringBuilder output =
+      new StringBuilder(input.text().length());
+
+    for (final SExpressionType expression : input.expressions()) {
+      serializer.serializeText(expression, output);
+    }
+    counter.processed(input);
+  }
+
+  /**
+   * Serialize the parsed corpus with the UTF-8 serializer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void utf8(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    final JSXSerializerType serializer =
+      JSXSerializerUTF8.newSerializer();
+    final OutputStream output =
+      OutputStream.nullOutputStream();
+
+    for (final SExpressionType expression : input.expressions()) {
+      serializer.serialize(expression, output);
+    }
+    counter.processed(input);
+  }
+
+  /**
+   * Serialize the parsed corpus with the UTF-8 serializer, writing to a
+   * channel from a direct buffer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void utf8Channel(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    final JSXSerializerType serializer =
+      JSXSerializerUTF8.newSerializer(ByteBuffer.allocateDirect(8192));
+    final WritableByteChannel output =
+      Channels.newChannel(OutputStream.nullOutputStream());
+
+    for (final SExpressionType expression : input.expressions()) {
+      serializer.serialize(expression, output);
+    }
+    counter.processed(input);
+  }
+
+  /**
+   * Serialize the parsed corpus with the binary serializer.
+   *
+   * @param input   The input
+   * @param counter The byte counter
+   *
+   * @throws Exception On errors
+   */
+
+  @Benchmark
+  public void binary(
+    final JSXBenchmarkInput input,
+    final JSXBenchmarkBytes counter)
+    throws Exception
+  {
+    final JSXSerializerType serializer =
+      JSXSerializerBinary.newSerializer();
+    final OutputStream output =
+      OutputStream.nullOutputStream();
+
+    for (final SExpressionType expression : input.expressions()) {
+      serializer.serialize(expression, output);
+    }
+    counter.processed(input);
+  }
+}
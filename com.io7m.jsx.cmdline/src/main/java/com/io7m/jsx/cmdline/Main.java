@@ -20,14 +20,13 @@ import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
 import com.beust.jcommander.ParameterException;
 import com.beust.jcommander.Parameters;
-import com.io7m.jeucreader.UnicodeCharacterReader;
 import com.io7m.jsx.api.lexer.JSXLexerComment;
 import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
 import com.io7m.jsx.api.parser.JSXParserConfiguration;
 import com.io7m.jsx.api.parser.JSXParserException;
 import com.io7m.jsx.api.parser.JSXParserType;
 import com.io7m.jsx.api.serializer.JSXSerializerType;
-import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.lexer.JSXLexerUTF8;
 import com.io7m.jsx.parser.JSXParser;
 import com.io7m.jsx.prettyprint.JSXPrettyPrinterCodeStyle;
 import com.io7m.jsx.prettyprint.JSXPrettyPrinterMarkupStyle;
@@ -37,12 +36,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.net.URI;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumSet;
@@ -212,53 +211,46 @@ public final class Main implements Runnable
       super.call();
 
       final var path = Paths.get(this.file);
-      try (var stream = Files.newInputStream(path)) {
-        try (var stream_reader =
-               new InputStreamReader(stream, StandardCharsets.UTF_8)) {
-
-          final var reader =
-            UnicodeCharacterReader.newReader(stream_reader);
-
-          final var lexer_config =
-            new JSXLexerConfiguration(
-              this.lex_square_brackets,
-              this.lex_newlines_quoted,
-              Optional.of(path.toUri()),
-              EnumSet.noneOf(JSXLexerComment.class),
-              1
-            );
-
-          final var lexer =
-            JSXLexer.newLexer(lexer_config, reader);
-          final var parser_config =
-            new JSXParserConfiguration(true);
-          final var parser =
-            JSXParser.newParser(parser_config, lexer);
-
-          return switch (this.pretty_printer) {
-            case NONE -> {
-              yield this.writeSerializing(
-                parser,
-                JSXSerializerTrivial.newSerializer());
-            }
-            case MARKUP -> this.writePrettyPrinting(
-              parser,
-              () -> {
-                return JSXPrettyPrinterMarkupStyle.newPrinterWithWidthIndent(
-                  new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
-                  this.pretty_print_width,
-                  this.pretty_print_indent);
-              });
-            case CODE -> this.writePrettyPrinting(
+      try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        final var lexer_config =
+          new JSXLexerConfiguration(
+            this.lex_square_brackets,
+            this.lex_newlines_quoted,
+            Optional.of(path.toUri()),
+            EnumSet.noneOf(JSXLexerComment.class),
+            1
+          );
+
+        final var lexer =
+          JSXLexerUTF8.newLexerFromChannel(lexer_config, channel);
+        final var parser_config =
+          new JSXParserConfiguration(true);
+        final var parser =
+          JSXParser.newParser(parser_config, lexer);
+
+        return switch (this.pretty_printer) {
+          case NONE -> {
+            yield this.writeSerializing(
               parser,
-              () -> {
-                return JSXPrettyPrinterCodeStyle.newPrinterWithWidthIndent(
-                  new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
-                  this.pretty_print_width,
-                  this.pretty_print_indent);
-              });
-          };
-        }
+              JSXSerializerTrivial.newSerializer());
+          }
+          case MARKUP -> this.writePrettyPrinting(
+            parser,
+            () -> {
+              return JSXPrettyPrinterMarkupStyle.newPrinterWithWidthIndent(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                this.pretty_print_width,
+                this.pretty_print_indent);
+            });
+          case CODE -> this.writePrettyPrinting(
+            parser,
+            () -> {
+              return JSXPrettyPrinterCodeStyle.newPrinterWithWidthIndent(
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8),
+                this.pretty_print_width,
+                this.pretty_print_indent);
+            });
+        };
       }
     }
 
@@ -91,7 +91,10 @@ public sealed interface SExpressionType
   }
 
   /**
-   * The type of lists.
+   * The type of lists. Each implementation defines its own equality, and
+   * lists of different implementations are never equal. Use
+   * {@link SLists#contentEquals(SExpressionType, SExpressionType)} to
+   * compare lists regardless of their implementation.
    */
 
   non-sealed interface SListType
@@ -122,7 +125,9 @@ public sealed interface SExpressionType
   }
 
   /**
-   * A list of expressions.
+   * A list of expressions. The given list of subexpressions is copied once,
+   * at construction, into an immutable list; iterating over, indexing, and
+   * measuring the resulting list do not copy it again.
    *
    * @param lexical     The lexical position of the symbol
    * @param isSquare    {@code true} if the list uses square brackets
@@ -143,6 +148,7 @@ public sealed interface SExpressionType
     {
       Objects.requireNonNull(lexical, "lexical");
       Objects.requireNonNull(expressions, "expressions");
+      expressions = List.copyOf(expressions);
     }
 
     @Override
@@ -161,7 +167,7 @@ public sealed interface SExpressionType
     @Override
     public Iterator<SExpressionType> iterator()
     {
-      return List.copyOf(this.expressions).iterator();
+      return new SListElements(this);
     }
   }
 }
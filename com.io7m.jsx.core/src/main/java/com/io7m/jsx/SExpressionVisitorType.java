@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx;
+
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+
+/**
+ * The type of visitors passed to
+ * {@link SExpressions#traverse(SExpressionType, SExpressionVisitorType)}.
+ *
+ * @param <E> The type of exceptions raised by the visitor
+ */
+
+public interface SExpressionVisitorType<E extends Exception>
+{
+  /**
+   * A list has been entered. The next call will be to
+   * {@link #listElement(SListType, int)} for the first element of the list,
+   * or {@link #listEnd(SListType)} if the list is empty.
+   *
+   * @param list The list
+   *
+   * @throws E On errors
+   */
+
+  void listStart(SListType list)
+    throws E;
+
+  /**
+   * The element at {@code index} in {@code list} is about to be visited.
+   *
+   * @param list  The list
+   * @param index The index of the element
+   *
+   * @throws E On errors
+   */
+
+  void listElement(
+    SListType list,
+    int index)
+    throws E;
+
+  /**
+   * All of the elements of a list have been visited.
+   *
+   * @param list The list
+   *
+   * @throws E On errors
+   */
+
+  void listEnd(SListType list)
+    throws E;
+
+  /**
+   * A quoted string has been visited.
+   *
+   * @param string The string
+   *
+   * @throws E On errors
+   */
+
+  void quotedString(SQuotedString string)
+    throws E;
+
+  /**
+   * A symbol has been visited.
+   *
+   * @param symbol The symbol
+   *
+   * @throws E On errors
+   */
+
+  void symbol(SSymbol symbol)
+    throws E;
+}
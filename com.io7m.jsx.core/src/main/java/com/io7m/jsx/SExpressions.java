@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx;
+
+import com.io7m.jsx.SExpressionType.SAtomType;
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Functions over expressions.
+ */
+
+public final class SExpressions
+{
+  private static final int INITIAL_DEPTH = 16;
+
+  private SExpressions()
+  {
+
+  }
+
+  /**
+   * Traverse the given expression depth-first, in the order that its parts
+   * would appear in source text, passing each part to the given visitor.
+   *
+   * The traversal keeps an explicit stack of the lists that it has entered
+   * rather than recursing, and so the depth of expressions that can be
+   * traversed is bounded only by the available heap.
+   *
+   * @param expression The expression
+   * @param visitor    The visitor
+   * @param <E>        The type of exceptions raised by the visitor
+   *
+   * @throws E If the visitor raises {@code E}
+   */
+
+  public static <E extends Exception> void traverse(
+    final SExpressionType expression,
+    final SExpressionVisitorType<E> visitor)
+    throws E
+  {
+    Objects.requireNonNull(expression, "expression");
+    Objects.requireNonNull(visitor, "visitor");
+
+    if (expression instanceof final SAtomType atom) {
+      atom(atom, visitor);
+      return;
+    }
+
+    SListType[] lists = new SListType[INITIAL_DEPTH];
+    int[] indices = new int[INITIAL_DEPTH];
+    int depth = 0;
+
+    lists[0] = (SListType) expression;
+    visitor.listStart(lists[0]);
+
+    while (depth >= 0) {
+      final SListType list = lists[depth];
+      final int index = indices[depth];
+
+      if (index == list.size()) {
+        visitor.listEnd(list);
+        lists[depth] = null;
+        depth = depth - 1;
+        continue;
+      }
+
+      indices[depth] = index + 1;
+      visitor.listElement(list, index);
+
+      final SExpressionType element = list.get(index);
+      if (element instanceof final SListType sub) {
+        depth = depth + 1;
+        if (depth == lists.length) {
+          lists = Arrays.copyOf(lists, depth * 2);
+          indices = Arrays.copyOf(indices, depth * 2);
+        }
+        lists[depth] = sub;
+        indices[depth] = 0;
+        visitor.listStart(sub);
+      } else {
+        atom((SAtomType) element, visitor);
+      }
+    }
+  }
+
+  private static <E extends Exception> void atom(
+    final SAtomType atom,
+    final SExpressionVisitorType<E> visitor)
+    throws E
+  {
+    if (atom instanceof final SSymbol symbol) {
+      visitor.symbol(symbol);
+    } else if (atom instanceof final SQuotedString string) {
+      visitor.quotedString(string);
+    }
+  }
+}
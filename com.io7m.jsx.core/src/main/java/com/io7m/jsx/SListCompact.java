@@ -0,0 +1,357 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType.SListType;
+
+import java.net.URI;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The base class of compact lists.
+ *
+ * The lexical position of a compact list is not held as a
+ * {@link LexicalPosition} object. Instead, the line and column are packed
+ * into a single {@code long}, the file is held as the (typically shared)
+ * file of the original position, and a position object is constructed on
+ * demand by {@link #lexical()}, and so each call to {@link #lexical()}
+ * allocates. Code in this library that compares, hashes, or serializes lists
+ * reads the packed fields directly through {@link SLists#line(SListType)},
+ * {@link SLists#column(SListType)}, and {@link SLists#file(SListType)}
+ * instead. The column end of the original position is not retained.
+ *
+ * @see SLists
+ */
+
+abstract class SListCompact implements SListType
+{
+  private final Optional<URI> file;
+  private final long position;
+  private final boolean square;
+
+  SListCompact(
+    final LexicalPosition<URI> inLexical,
+    final boolean inSquare)
+  {
+    Objects.requireNonNull(inLexical, "lexical");
+    this.file = inLexical.file();
+    this.position = pack(inLexical.line(), inLexical.column());
+    this.square = inSquare;
+  }
+
+  static long pack(
+    final int line,
+    final int column)
+  {
+    return ((long) line << 32) | (column & 0xffff_ffffL);
+  }
+
+  static int packedLine(
+    final long position)
+  {
+    return (int) (position >> 32);
+  }
+
+  static int packedColumn(
+    final long position)
+  {
+    return (int) position;
+  }
+
+  private static IndexOutOfBoundsException outOfBounds(
+    final int index,
+    final int size)
+  {
+    return new IndexOutOfBoundsException(
+      "Index %d out of bounds for length %d".formatted(
+        Integer.valueOf(index),
+        Integer.valueOf(size))
+    );
+  }
+
+  @Override
+  public final LexicalPosition<URI> lexical()
+  {
+    return LexicalPosition.of(
+      packedLine(this.position),
+      packedColumn(this.position),
+      this.file
+    );
+  }
+
+  final int line()
+  {
+    return packedLine(this.position);
+  }
+
+  final int column()
+  {
+    return packedColumn(this.position);
+  }
+
+  final Optional<URI> file()
+  {
+    return this.file;
+  }
+
+  @Override
+  public final boolean isSquare()
+  {
+    return this.square;
+  }
+
+  @Override
+  public final Iterator<SExpressionType> iterator()
+  {
+    return new SListElements(this);
+  }
+
+  @Override
+  public final boolean equals(
+    final Object o)
+  {
+    if (this == o) {
+      return true;
+    }
+
+    if (o instanceof final SListCompact other) {
+      return this.square == other.square
+        && this.position == other.position
+        && this.size() == other.size()
+        && this.file.equals(other.file)
+        && SLists.elementsEqual(this, other);
+    }
+    return false;
+  }
+
+  @Override
+  public final int hashCode()
+  {
+    return SLists.hashOf(
+      this.file.orElse(null),
+      packedLine(this.position),
+      packedColumn(this.position),
+      this.square,
+      this
+    );
+  }
+
+  @Override
+  public final String toString()
+  {
+    final var text = new StringBuilder(64);
+    text.append("SList[lexical=");
+    text.append(this.lexical());
+    text.append(", isSquare=");
+    text.append(this.square);
+    text.append(", expressions=[");
+
+    final int size = this.size();
+    for (int index = 0; index < size; ++index) {
+      if (index > 0) {
+        text.append(", ");
+      }
+      text.append(this.get(index));
+    }
+    text.append("]]");
+    return text.toString();
+  }
+
+  /**
+   * An empty list.
+   */
+
+  static final class Empty extends SListCompact
+  {
+    Empty(
+      final LexicalPosition<URI> inLexical,
+      final boolean inSquare)
+    {
+      super(inLexical, inSquare);
+    }
+
+    @Override
+    public SExpressionType get(
+      final int index)
+    {
+      throw outOfBounds(index, 0);
+    }
+
+    @Override
+    public int size()
+    {
+      return 0;
+    }
+  }
+
+  /**
+   * A list of one element.
+   */
+
+  static final class One extends SListCompact
+  {
+    private final SExpressionType e0;
+
+    One(
+      final LexicalPosition<URI> inLexical,
+      final boolean inSquare,
+      final SExpressionType inE0)
+    {
+      super(inLexical, inSquare);
+      this.e0 = Objects.requireNonNull(inE0, "e0");
+    }
+
+    @Override
+    public SExpressionType get(
+      final int index)
+    {
+      if (index == 0) {
+        return this.e0;
+      }
+      throw outOfBounds(index, 1);
+    }
+
+    @Override
+    public int size()
+    {
+      return 1;
+    }
+  }
+
+  /**
+   * A list of two elements.
+   */
+
+  static final class Two extends SListCompact
+  {
+    private final SExpressionType e0;
+    private final SExpressionType e1;
+
+    Two(
+      final LexicalPosition<URI> inLexical,
+      final boolean inSquare,
+      final SExpressionType inE0,
+      final SExpressionType inE1)
+    {
+      super(inLexical, inSquare);
+      this.e0 = Objects.requireNonNull(inE0, "e0");
+      this.e1 = Objects.requireNonNull(inE1, "e1");
+    }
+
+    @Override
+    public SExpressionType get(
+      final int index)
+    {
+      return switch (index) {
+        case 0 -> this.e0;
+        case 1 -> this.e1;
+        default -> throw outOfBounds(index, 2);
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 2;
+    }
+  }
+
+  /**
+   * A list of three elements.
+   */
+
+  static final class Three extends SListCompact
+  {
+    private final SExpressionType e0;
+    private final SExpressionType e1;
+    private final SExpressionType e2;
+
+    Three(
+      final LexicalPosition<URI> inLexical,
+      final boolean inSquare,
+      final SExpressionType inE0,
+      final SExpressionType inE1,
+      final SExpressionType inE2)
+    {
+      super(inLexical, inSquare);
+      this.e0 = Objects.requireNonNull(inE0, "e0");
+      this.e1 = Objects.requireNonNull(inE1, "e1");
+      this.e2 = Objects.requireNonNull(inE2, "e2");
+    }
+
+    @Override
+    public SExpressionType get(
+      final int index)
+    {
+      return switch (index) {
+        case 0 -> this.e0;
+        case 1 -> this.e1;
+        case 2 -> this.e2;
+        default -> throw outOfBounds(index, 3);
+      };
+    }
+
+    @Override
+    public int size()
+    {
+      return 3;
+    }
+  }
+
+  /**
+   * A list of any number of elements, held in an array of exactly the
+   * right size.
+   */
+
+  static final class Many extends SListCompact
+  {
+    private final SExpressionType[] elements;
+
+    Many(
+      final LexicalPosition<URI> inLexical,
+      final boolean inSquare,
+      final List<? extends SExpressionType> inElements)
+    {
+      super(inLexical, inSquare);
+
+      this.elements = new SExpressionType[inElements.size()];
+
+      int index = 0;
+      for (final SExpressionType e : inElements) {
+        this.elements[index] = Objects.requireNonNull(e, "element");
+        ++index;
+      }
+    }
+
+    @Override
+    public SExpressionType get(
+      final int index)
+    {
+      return this.elements[index];
+    }
+
+    @Override
+    public int size()
+    {
+      return this.elements.length;
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx;
+
+import com.io7m.jsx.SExpressionType.SListType;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An unmodifiable iterator over the elements of a list, using
+ * {@link SListType#get(int)} and {@link SListType#size()}.
+ */
+
+final class SListElements implements Iterator<SExpressionType>
+{
+  private final SListType list;
+  private int index;
+
+  SListElements(
+    final SListType inList)
+  {
+    this.list = inList;
+    this.index = 0;
+  }
+
+  @Override
+  public boolean hasNext()
+  {
+    return this.index < this.list.size();
+  }
+
+  @Override
+  public SExpressionType next()
+  {
+    if (this.index >= this.list.size()) {
+      throw new NoSuchElementException();
+    }
+    final SExpressionType e = this.list.get(this.index);
+    ++this.index;
+    return e;
+  }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType.SListType;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Functions to construct compact, immutable lists.
+ *
+ * The lists returned by these functions hold their elements in exact-size
+ * storage: lists of up to three elements hold them in fields, and longer
+ * lists hold them in an array of exactly the right length. The lexical
+ * position of each list is held in packed form and is only expanded into a
+ * {@link LexicalPosition} when requested; only the line, column, and file
+ * of the given position are retained. As the position is not retained, each
+ * call to {@link SListType#lexical()} on a compact list allocates a new
+ * position; callers that only need the line, column, or file of a list
+ * should use {@link #line(SListType)}, {@link #column(SListType)}, and
+ * {@link #file(SListType)}, which do not allocate.
+ *
+ * Only lists are compact. Atoms ({@link SExpressionType.SSymbol} and
+ * {@link SExpressionType.SQuotedString}) are records that hold their
+ * {@link LexicalPosition} unchanged, and so reading their positions never
+ * allocates.
+ *
+ * A compact list is equal to another compact list with the same brackets,
+ * line, column, file, and elements. Compact lists are never equal to
+ * {@link SExpressionType.SList} values, which keep record equality; use
+ * {@link #contentEquals(SExpressionType, SExpressionType)} to compare
+ * expressions regardless of their list implementations.
+ */
+
+public final class SLists
+{
+  private SLists()
+  {
+
+  }
+
+  /**
+   * Create a compact list. The given elements are copied, and so later
+   * modifications to {@code expressions} are not reflected in the returned
+   * list.
+   *
+   * @param lexical     The lexical position of the list
+   * @param isSquare    {@code true} if the list uses square brackets
+   * @param expressions The list of subexpressions
+   *
+   * @return A compact list
+   */
+
+  public static SListType of(
+    final LexicalPosition<URI> lexical,
+    final boolean isSquare,
+    final List<? extends SExpressionType> expressions)
+  {
+    Objects.requireNonNull(lexical, "lexical");
+    Objects.requireNonNull(expressions, "expressions");
+
+    return switch (expressions.size()) {
+      case 0 -> new SListCompact.Empty(lexical, isSquare);
+      case 1 -> new SListCompact.One(
+        lexical,
+        isSquare,
+        expressions.get(0));
+      case 2 -> new SListCompact.Two(
+        lexical,
+        isSquare,
+        expressions.get(0),
+        expressions.get(1));
+      case 3 -> new SListCompact.Three(
+        lexical,
+        isSquare,
+        expressions.get(0),
+        expressions.get(1),
+        expressions.get(2));
+      default -> new SListCompact.Many(lexical, isSquare, expressions);
+    };
+  }
+
+  /**
+   * Determine whether two expressions have the same content, regardless of
+   * the implementations of any lists within them. Two lists have the same
+   * content if they have the same bracket type, lexical positions with the
+   * same line, column, and file, and pairwise elements with the same
+   * content. The column end of a list's position is not compared, as
+   * compact lists do not retain it. Atoms have the same content if they are
+   * equal.
+   *
+   * @param expression The expression
+   * @param other      The other expression
+   *
+   * @return {@code true} if the expressions have the same content
+   *
+   * @see #contentHashCode(SExpressionType)
+   */
+
+  public static boolean contentEquals(
+    final SExpressionType expression,
+    final SExpressionType other)
+  {
+    Objects.requireNonNull(expression, "expression");
+    Objects.requireNonNull(other, "other");
+
+    if (expression == other) {
+      return true;
+    }
+    if (!(expression instanceof final SListType list)) {
+      return expression.equals(other);
+    }
+    if (!(other instanceof final SListType otherList)) {
+      return false;
+    }
+    if (list.isSquare() != otherList.isSquare()
+      || list.size() != otherList.size()
+      || !positionsEqual(list, otherList)) {
+      return false;
+    }
+
+    final int size = list.size();
+    for (int index = 0; index < size; ++index) {
+      if (!contentEquals(list.get(index), otherList.get(index))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean positionsEqual(
+    final SListType list,
+    final SListType other)
+  {
+    return line(list) == line(other)
+      && column(list) == column(other)
+      && file(list).equals(file(other));
+  }
+
+  /**
+   * Calculate a hash code of an expression, consistent with
+   * {@link #contentEquals(SExpressionType, SExpressionType)}.
+   *
+   * @param expression The expression
+   *
+   * @return The hash code of the expression's content
+   */
+
+  public static int contentHashCode(
+    final SExpressionType expression)
+  {
+    Objects.requireNonNull(expression, "expression");
+
+    if (!(expression instanceof final SListType list)) {
+      return expression.hashCode();
+    }
+
+    int result = Objects.hashCode(file(list).orElse(null));
+    result = 31 * result + line(list);
+    result = 31 * result + column(list);
+    result = 31 * result + Boolean.hashCode(list.isSquare());
+
+    final int size = list.size();
+    for (int index = 0; index < size; ++index) {
+      result = 31 * result + contentHashCode(list.get(index));
+    }
+    return result;
+  }
+
+  /**
+   * Equivalent to {@code list.lexical().line()}, but does not allocate a
+   * position for compact lists.
+   *
+   * @param list The list
+   *
+   * @return The line of the list's lexical position
+   */
+
+  public static int line(
+    final SListType list)
+  {
+    if (list instanceof final SListCompact compact) {
+      return compact.line();
+    }
+    return list.lexical().line();
+  }
+
+  /**
+   * Equivalent to {@code list.lexical().column()}, but does not allocate a
+   * position for compact lists.
+   *
+   * @param list The list
+   *
+   * @return The column of the list's lexical position
+   */
+
+  public static int column(
+    final SListType list)
+  {
+    if (list instanceof final SListCompact compact) {
+      return compact.column();
+    }
+    return list.lexical().column();
+  }
+
+  /**
+   * Equivalent to {@code list.lexical().file()}, but does not allocate a
+   * position for compact lists.
+   *
+   * @param list The list
+   *
+   * @return The file of the list's lexical position
+   */
+
+  public static Optional<URI> file(
+    final SListType list)
+  {
+    if (list instanceof final SListCompact compact) {
+      return compact.file();
+    }
+    return list.lexical().file();
+  }
+
+  static int hashOf(
+    final URI file,
+    final int line,
+    final int column,
+    final boolean square,
+    final SListType list)
+  {
+    int result = Objects.hashCode(file);
+    result = 31 * result + line;
+    result = 31 * result + column;
+    result = 31 * result + Boolean.hashCode(square);
+
+    final int size = list.size();
+    for (int index = 0; index < size; ++index) {
+      result = 31 * result + list.get(index).hashCode();
+    }
+    return result;
+  }
+
+  static boolean elementsEqual(
+    final SListType list,
+    final SListType other)
+  {
+    final int size = list.size();
+    for (int index = 0; index < size; ++index) {
+      if (!list.get(index).equals(other.get(index))) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -29,6 +29,7 @@ import java.util.Optional;
  * @param file                    The URI that will be used in lexical information, if any
  * @param comments                The string(s) used to start line comments
  * @param startAtLine             The starting line number (for lexical information)
+ * @param symbols                 The table used to intern symbol texts, if any
  */
 
 public record JSXLexerConfiguration(
@@ -36,7 +37,8 @@ public record JSXLexerConfiguration(
   boolean newlinesInQuotedStrings,
   Optional<URI> file,
   EnumSet<JSXLexerComment> comments,
-  int startAtLine)
+  int startAtLine,
+  Optional<JSXLexerSymbolTable> symbols)
 {
   /**
    * The type of lexer configurations.
@@ -46,11 +48,40 @@ public record JSXLexerConfiguration(
    * @param file                    The URI that will be used in lexical information, if any
    * @param comments                The string(s) used to start line comments
    * @param startAtLine             The starting line number (for lexical information)
+   * @param symbols                 The table used to intern symbol texts, if any
    */
 
   public JSXLexerConfiguration
   {
     Objects.requireNonNull(file, "file");
     Objects.requireNonNull(comments, "comments");
+    Objects.requireNonNull(symbols, "symbols");
+  }
+
+  /**
+   * The type of lexer configurations. Symbol texts are not interned.
+   *
+   * @param inSquareBrackets          {@code true} iff square brackets are allowed to denote lists
+   * @param inNewlinesInQuotedStrings {@code true} iff newlines are allowed in quoted strings
+   * @param inFile                    The URI that will be used in lexical information, if any
+   * @param inComments                The string(s) used to start line comments
+   * @param inStartAtLine             The starting line number (for lexical information)
+   */
+
+  public JSXLexerConfiguration(
+    final boolean inSquareBrackets,
+    final boolean inNewlinesInQuotedStrings,
+    final Optional<URI> inFile,
+    final EnumSet<JSXLexerComment> inComments,
+    final int inStartAtLine)
+  {
+    this(
+      inSquareBrackets,
+      inNewlinesInQuotedStrings,
+      inFile,
+      inComments,
+      inStartAtLine,
+      Optional.empty()
+    );
   }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.lexer;
+
+import com.io7m.jlexing.core.LexicalPosition;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * A cursor over the tokens of a lexer. Rather than producing a token object
+ * for each token, a cursor advances with {@link #next()} and exposes the
+ * kind, text, and position of the current token through accessor methods.
+ * The values returned by the accessor methods are unspecified until
+ * {@link #next()} has been called at least once.
+ *
+ * @see JSXLexerType#cursor()
+ */
+
+public interface JSXLexerCursorType
+{
+  /**
+   * Advance to the next token.
+   *
+   * @return The kind of the next token
+   *
+   * @throws IOException       On I/O errors
+   * @throws JSXLexerException On lexical errors
+   */
+
+  JSXLexerTokenKind next()
+    throws IOException, JSXLexerException;
+
+  /**
+   * @return The kind of the current token
+   */
+
+  JSXLexerTokenKind kind();
+
+  /**
+   * The text of the current token if it is a symbol, quoted string, or
+   * comment, and the empty string otherwise. The returned value may be a
+   * view of the lexer's internal buffer, and so is only valid until the
+   * next call to {@link #next()}; use {@link #textAsString()} to retain the
+   * text.
+   *
+   * @return The text of the current token
+   */
+
+  CharSequence text();
+
+  /**
+   * The text of the current token as a string. If the current token is a
+   * symbol and the lexer is configured with a symbol table, the string is
+   * obtained from the table.
+   *
+   * @return The text of the current token
+   *
+   * @see #text()
+   */
+
+  String textAsString();
+
+  /**
+   * @return The type of the current comment
+   *
+   * @throws IllegalStateException If the current token is not a comment
+   */
+
+  JSXLexerComment comment();
+
+  /**
+   * @return The line number of the start of the current token
+   */
+
+  int line();
+
+  /**
+   * @return The column number of the start of the current token
+   */
+
+  int column();
+
+  /**
+   * The lexical position of the current token. The position is accurate
+   * regardless of whether lexical positions are enabled for tokens (see
+   * {@link JSXLexerType#setLexicalPositionsEnabled(boolean)}), and is
+   * constructed when this method is called.
+   *
+   * @return The lexical position of the current token
+   */
+
+  LexicalPosition<URI> lexical();
+}
@@ -17,7 +17,8 @@
 
 package com.io7m.jsx.api.lexer;
 
-import java.util.stream.Collectors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * Functions to escape strings.
@@ -52,7 +53,41 @@ public final class JSXLexerEscapes
   }
 
   /**
-   * Escape everything in a given string.
+   * @param c A character
+   *
+   * @return The character that follows a backslash in the escape for
+   * {@code c}, or {@code 0} if {@code c} does not require escaping
+   */
+
+  public static char escapeOf(
+    final char c)
+  {
+    return switch (c) {
+      case '"' -> '"';
+      case '\\' -> '\\';
+      case '\r' -> 'r';
+      case '\n' -> 'n';
+      case '\t' -> 't';
+      default -> 0;
+    };
+  }
+
+  private static int firstEscapeIndex(
+    final CharSequence text)
+  {
+    final int length = text.length();
+    for (int index = 0; index < length; ++index) {
+      if (escapeOf(text.charAt(index)) != 0) {
+        return index;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Escape everything in a given string. The string is scanned once, and if
+   * no character in the string requires escaping, the string itself is
+   * returned.
    *
    * @param text The text
    *
@@ -62,8 +97,104 @@ public final class JSXLexerEscapes
   public static String escapeString(
     final String text)
   {
-    return text.codePoints()
-      .mapToObj(JSXLexerEscapes::escapeCodePoint)
-      .collect(Collectors.joining());
+    final int first = firstEscapeIndex(text);
+    if (first == -1) {
+      return text;
+    }
+
+    final StringBuilder out = new StringBuilder(text.length() + 16);
+    out.append(text, 0, first);
+    appendEscapedFrom(out, text, first);
+    return out.toString();
+  }
+
+  /**
+   * Escape everything in a given string and surround the result with double
+   * quotes, producing the quoted string as it would appear in source text.
+   *
+   * @param text The text
+   *
+   * @return A quoted string containing escapes
+   */
+
+  public static String quoteString(
+    final String text)
+  {
+    final StringBuilder out = new StringBuilder(text.length() + 16);
+    out.append('"');
+    appendEscaped(out, text);
+    out.append('"');
+    return out.toString();
+  }
+
+  /**
+   * Escape everything in a given string, appending the result to the given
+   * string builder. Each run of characters that do not require escaping is
+   * appended with a single call rather than one character at a time.
+   *
+   * @param out  The string builder
+   * @param text The text
+   */
+
+  public static void appendEscaped(
+    final StringBuilder out,
+    final CharSequence text)
+  {
+    appendEscapedFrom(out, text, 0);
+  }
+
+  /*
+   * String builders never raise I/O errors.
+   */
+
+  private static void appendEscapedFrom(
+    final StringBuilder out,
+    final CharSequence text,
+    final int start)
+  {
+    try {
+      appendEscapedRuns(out, text, start);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void appendEscapedRuns(
+    final Appendable out,
+    final CharSequence text,
+    final int start)
+    throws IOException
+  {
+    final int length = text.length();
+    int run = start;
+    for (int index = start; index < length; ++index) {
+      final char escape = escapeOf(text.charAt(index));
+      if (escape != 0) {
+        out.append(text, run, index);
+        out.append('\\');
+        out.append(escape);
+        run = index + 1;
+      }
+    }
+    out.append(text, run, length);
+  }
+
+  /**
+   * Escape everything in a given string, appending the result to the given
+   * output. Each run of characters that do not require escaping is appended
+   * with a single call rather than one character at a time.
+   *
+   * @param out  The output
+   * @param text The text
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static void appendEscaped(
+    final Appendable out,
+    final CharSequence text)
+    throws IOException
+  {
+    appendEscapedRuns(out, text, 0);
   }
 }
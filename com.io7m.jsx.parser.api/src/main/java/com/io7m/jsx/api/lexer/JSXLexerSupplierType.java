@@ -20,9 +20,12 @@ import com.io7m.jeucreader.UnicodeCharacterReader;
 import com.io7m.jeucreader.UnicodeCharacterReaderPushBackType;
 import org.osgi.annotation.versioning.ProviderType;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
@@ -66,6 +69,31 @@ public interface JSXLexerSupplierType
     return this.create(configuration, new UnicodeCharacterReader(reader));
   }
 
+  /**
+   * Obtain a lexer for the current thread that reads from the given reader.
+   * Implementations may return the same lexer instance, reset with
+   * {@link JSXLexerType#reset(Reader)}, from every call made on a given
+   * thread with an equal configuration, and so avoid allocating a new lexer
+   * and new buffers for each input. A lexer obtained from this method must
+   * therefore only be used on the calling thread, and must not be used after
+   * the next call to this method on that thread.
+   *
+   * The default implementation is equivalent to
+   * {@link #createFromReader(JSXLexerConfiguration, Reader)}.
+   *
+   * @param configuration The configuration
+   * @param reader        The reader
+   *
+   * @return A lexer
+   */
+
+  default JSXLexerType createForCurrentThread(
+    final JSXLexerConfiguration configuration,
+    final Reader reader)
+  {
+    return this.createFromReader(configuration, reader);
+  }
+
   /**
    * Create a new lexer from the given configuration and stream.
    *
@@ -108,4 +136,31 @@ public interface JSXLexerSupplierType
 
     return this.createFromStream(configuration, StandardCharsets.UTF_8, stream);
   }
+
+  /**
+   * Create a new lexer from the given configuration and file channel. The
+   * file is parsed as UTF-8 data, starting from the current position of the
+   * channel. The channel must remain open until lexing has completed.
+   * Implementations may map the file into memory rather than reading it
+   * through intermediate buffers.
+   *
+   * @param configuration The configuration
+   * @param channel       The file channel
+   *
+   * @return A new lexer
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default JSXLexerType createFromFileUTF8(
+    final JSXLexerConfiguration configuration,
+    final FileChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(configuration, "Configuration");
+    Objects.requireNonNull(channel, "Channel");
+
+    return this.createFromStreamUTF8(
+      configuration, Channels.newInputStream(channel));
+  }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.lexer;
+
+import java.util.Objects;
+
+/**
+ * A bounded, thread-safe table of interned symbol texts.
+ *
+ * A lexer configured with a symbol table looks up the text of each symbol
+ * it produces in the table, directly from its internal buffer. If an equal
+ * string is already present, that string is returned and no new string is
+ * allocated; otherwise a new string is created and stored in the table. A
+ * single table may be shared between any number of lexers running on any
+ * number of threads, so that all of the symbols in all of the expressions
+ * parsed with that table share a single copy of each distinct text.
+ *
+ * The table is a fixed-size cache: each text maps to exactly one slot, and
+ * a new text replaces whatever text previously occupied its slot. The table
+ * therefore never grows beyond its capacity, and interning is a best-effort
+ * operation; two equal texts are not guaranteed to yield the same string
+ * instance. Texts longer than the configured maximum length are never
+ * interned.
+ */
+
+public final class JSXLexerSymbolTable
+{
+  /**
+   * The default table capacity.
+   */
+
+  public static final int DEFAULT_CAPACITY = 4096;
+
+  /**
+   * The default maximum length of interned texts.
+   */
+
+  public static final int DEFAULT_MAXIMUM_LENGTH = 64;
+
+  private static final int MAXIMUM_CAPACITY = 1 << 24;
+
+  /*
+   * Strings are immutable and safely published through their final fields,
+   * so slots may be read and written without synchronization: a racing
+   * reader observes either an older string, a newer string, or null, and
+   * any string it observes is fully constructed.
+   */
+
+  private final String[] slots;
+  private final int mask;
+  private final int maximumLength;
+
+  private JSXLexerSymbolTable(
+    final int capacity,
+    final int inMaximumLength)
+  {
+    this.slots = new String[capacity];
+    this.mask = capacity - 1;
+    this.maximumLength = inMaximumLength;
+  }
+
+  /**
+   * Create a new symbol table with the default capacity and maximum length.
+   *
+   * @return A new symbol table
+   */
+
+  public static JSXLexerSymbolTable create()
+  {
+    return create(DEFAULT_CAPACITY, DEFAULT_MAXIMUM_LENGTH);
+  }
+
+  /**
+   * Create a new symbol table. The capacity is rounded up to the next power
+   * of two.
+   *
+   * @param capacity      The number of texts the table can hold, in the
+   *                      range {@code [1, 2^24]}
+   * @param maximumLength The maximum length of interned texts
+   *
+   * @return A new symbol table
+   */
+
+  public static JSXLexerSymbolTable create(
+    final int capacity,
+    final int maximumLength)
+  {
+    if (capacity < 1 || capacity > MAXIMUM_CAPACITY) {
+      throw new IllegalArgumentException(
+        "Capacity %d must be in the range [1, %d]".formatted(
+          Integer.valueOf(capacity),
+          Integer.valueOf(MAXIMUM_CAPACITY))
+      );
+    }
+    if (maximumLength < 0) {
+      throw new IllegalArgumentException(
+        "Maximum length %d must be non-negative".formatted(
+          Integer.valueOf(maximumLength))
+      );
+    }
+
+    final int size =
+      Integer.highestOneBit(capacity) == capacity
+        ? capacity
+        : Integer.highestOneBit(capacity) << 1;
+
+    return new JSXLexerSymbolTable(size, maximumLength);
+  }
+
+  private static int hashOf(
+    final CharSequence text,
+    final int length)
+  {
+    int h = 0;
+    for (int index = 0; index < length; ++index) {
+      h = 31 * h + text.charAt(index);
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private static boolean sameText(
+    final String existing,
+    final CharSequence text,
+    final int length)
+  {
+    if (existing.length() != length) {
+      return false;
+    }
+    for (int index = 0; index < length; ++index) {
+      if (existing.charAt(index) != text.charAt(index)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return The number of slots in the table
+   */
+
+  public int capacity()
+  {
+    return this.slots.length;
+  }
+
+  /**
+   * @return The maximum length of interned texts
+   */
+
+  public int maximumLength()
+  {
+    return this.maximumLength;
+  }
+
+  /**
+   * Intern the given text. If a string equal to {@code text} is present in
+   * the table, it is returned without allocating.
+   *
+   * @param text The text
+   *
+   * @return A string equal to {@code text}
+   */
+
+  public String intern(
+    final CharSequence text)
+  {
+    Objects.requireNonNull(text, "text");
+
+    final int length = text.length();
+    if (length > this.maximumLength) {
+      return text.toString();
+    }
+
+    final int slot = hashOf(text, length) & this.mask;
+    final String existing = this.slots[slot];
+    if (existing != null && sameText(existing, text, length)) {
+      return existing;
+    }
+
+    final String created = text.toString();
+    this.slots[slot] = created;
+    return created;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.lexer;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.api.tokens.TokenComment;
+import com.io7m.jsx.api.tokens.TokenEOF;
+import com.io7m.jsx.api.tokens.TokenLeftParenthesis;
+import com.io7m.jsx.api.tokens.TokenLeftSquare;
+import com.io7m.jsx.api.tokens.TokenQuotedString;
+import com.io7m.jsx.api.tokens.TokenRightParenthesis;
+import com.io7m.jsx.api.tokens.TokenRightSquare;
+import com.io7m.jsx.api.tokens.TokenSymbol;
+import com.io7m.jsx.api.tokens.TokenType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A cursor implemented in terms of {@link JSXLexerType#token()}, for lexers
+ * that do not provide a cursor of their own.
+ */
+
+final class JSXLexerTokenCursor implements JSXLexerCursorType
+{
+  private final JSXLexerType lexer;
+  private TokenType token;
+  private JSXLexerTokenKind kind;
+
+  JSXLexerTokenCursor(
+    final JSXLexerType inLexer)
+  {
+    this.lexer = Objects.requireNonNull(inLexer, "Lexer");
+    this.token = new TokenEOF(LexicalPosition.of(0, 0, Optional.empty()));
+    this.kind = JSXLexerTokenKind.EOF;
+  }
+
+  private static JSXLexerTokenKind kindOf(
+    final TokenType t)
+  {
+    if (t instanceof TokenLeftParenthesis) {
+      return JSXLexerTokenKind.LEFT_PARENTHESIS;
+    }
+    if (t instanceof TokenRightParenthesis) {
+      return JSXLexerTokenKind.RIGHT_PARENTHESIS;
+    }
+    if (t instanceof TokenLeftSquare) {
+      return JSXLexerTokenKind.LEFT_SQUARE;
+    }
+    if (t instanceof TokenRightSquare) {
+      return JSXLexerTokenKind.RIGHT_SQUARE;
+    }
+    if (t instanceof TokenSymbol) {
+      return JSXLexerTokenKind.SYMBOL;
+    }
+    if (t instanceof TokenQuotedString) {
+      return JSXLexerTokenKind.QUOTED_STRING;
+    }
+    if (t instanceof TokenComment) {
+      return JSXLexerTokenKind.COMMENT;
+    }
+    return JSXLexerTokenKind.EOF;
+  }
+
+  @Override
+  public JSXLexerTokenKind next()
+    throws IOException, JSXLexerException
+  {
+    this.token = this.lexer.token();
+    this.kind = kindOf(this.token);
+    return this.kind;
+  }
+
+  @Override
+  public JSXLexerTokenKind kind()
+  {
+    return this.kind;
+  }
+
+  @Override
+  public CharSequence text()
+  {
+    return this.textAsString();
+  }
+
+  @Override
+  public String textAsString()
+  {
+    if (this.token instanceof final TokenSymbol symbol) {
+      return symbol.text();
+    }
+    if (this.token instanceof final TokenQuotedString string) {
+      return string.text();
+    }
+    if (this.token instanceof final TokenComment c) {
+      return c.text();
+    }
+    return "";
+  }
+
+  @Override
+  public JSXLexerComment comment()
+  {
+    if (this.token instanceof final TokenComment c) {
+      return c.comment();
+    }
+    throw new IllegalStateException("The current token is not a comment");
+  }
+
+  @Override
+  public int line()
+  {
+    return this.lexical().line();
+  }
+
+  @Override
+  public int column()
+  {
+    return this.lexical().column();
+  }
+
+  @Override
+  public LexicalPosition<URI> lexical()
+  {
+    return this.lexer.tokenLexical(this.token);
+  }
+}
@@ -16,9 +16,12 @@
 
 package com.io7m.jsx.api.lexer;
 
+import com.io7m.jlexing.core.LexicalPosition;
 import com.io7m.jsx.api.tokens.TokenType;
 
 import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
 
 /**
  * The type of lexers.
@@ -35,4 +38,91 @@ public interface JSXLexerType
 
   TokenType token()
     throws IOException, JSXLexerException;
+
+  /**
+   * Reset the lexer so that it reads from the given reader. Any state left
+   * over from the previous input is discarded, and the lexer then behaves
+   * exactly as a lexer newly created with the same configuration would,
+   * but without allocating new internal buffers. Lexical positions are
+   * re-enabled.
+   *
+   * @param reader The new reader
+   */
+
+  void reset(
+    Reader reader);
+
+  /**
+   * Enable or disable lexical positions for tokens. When positions are
+   * disabled, the lexer does not allocate a position for each token, and
+   * every token it produces carries the same fixed position. Errors raised
+   * by the lexer carry accurate positions regardless of this setting, and
+   * the accurate position of the most recent token remains available via
+   * {@link #tokenLexical(TokenType)}. Positions are enabled by default.
+   *
+   * The default implementation ignores this setting and always produces
+   * positions.
+   *
+   * @param enabled {@code true} if tokens should carry positions
+   */
+
+  default void setLexicalPositionsEnabled(
+    final boolean enabled)
+  {
+
+  }
+
+  /**
+   * Enable or disable comment tokens. When comment tokens are disabled,
+   * comments are still recognized according to the lexer configuration, but
+   * their text is skipped without being buffered and no token is produced
+   * for them. This is intended for consumers, such as parsers, that discard
+   * comments. Comment tokens are enabled by default.
+   *
+   * The default implementation ignores this setting and always produces
+   * comment tokens.
+   *
+   * @param enabled {@code true} if comments should produce tokens
+   */
+
+  default void setCommentTokensEnabled(
+    final boolean enabled)
+  {
+
+  }
+
+  /**
+   * Determine the accurate lexical position of the most recent token
+   * returned by {@link #token()}, even if lexical positions are disabled.
+   * This is intended to allow for reporting errors precisely without
+   * requiring positions for every token.
+   *
+   * @param token The most recent token
+   *
+   * @return The lexical position of {@code token}
+   */
+
+  default LexicalPosition<URI> tokenLexical(
+    final TokenType token)
+  {
+    return token.lexical();
+  }
+
+  /**
+   * Obtain a cursor over the tokens of this lexer. Reading tokens through
+   * the cursor advances the lexer in the same way as {@link #token()}, but
+   * implementations are expected to do so without allocating a token
+   * object for each token. The same cursor is valid for as long as the
+   * lexer is, including after {@link #reset(Reader)}.
+   *
+   * The default implementation returns a cursor that calls
+   * {@link #token()} and {@link #tokenLexical(TokenType)}.
+   *
+   * @return A cursor over the tokens of this lexer
+   */
+
+  default JSXLexerCursorType cursor()
+  {
+    return new JSXLexerTokenCursor(this);
+  }
 }
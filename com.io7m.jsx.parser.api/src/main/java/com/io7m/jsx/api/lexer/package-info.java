@@ -19,7 +19,7 @@
  */
 
 @Export
-@Version("3.1.0")
+@Version("4.0.0")
 package com.io7m.jsx.api.lexer;
 
 import org.osgi.annotation.bundle.Export;
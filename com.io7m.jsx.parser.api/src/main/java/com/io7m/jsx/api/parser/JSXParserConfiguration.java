@@ -20,10 +20,46 @@ package com.io7m.jsx.api.parser;
  * The parser configuration
  *
  * @param preserveLexical {@code true} iff lexical information should be preserved by the
+ * @param maxDepth        The maximum permitted nesting depth of lists
  */
 
 public record JSXParserConfiguration(
-  boolean preserveLexical)
+  boolean preserveLexical,
+  int maxDepth)
 {
+  /**
+   * The default maximum nesting depth of lists. Lists are parsed without
+   * recursion and so, by default, nesting is limited only by available
+   * memory.
+   */
 
+  public static final int DEFAULT_MAX_DEPTH = Integer.MAX_VALUE;
+
+  /**
+   * The parser configuration
+   *
+   * @param preserveLexical {@code true} iff lexical information should be preserved by the
+   * @param maxDepth        The maximum permitted nesting depth of lists
+   */
+
+  public JSXParserConfiguration
+  {
+    if (maxDepth < 1) {
+      throw new IllegalArgumentException(
+        "Maximum depth must be at least 1 (got %d)".formatted(
+          Integer.valueOf(maxDepth)));
+    }
+  }
+
+  /**
+   * The parser configuration, using {@link #DEFAULT_MAX_DEPTH}.
+   *
+   * @param inPreserveLexical {@code true} iff lexical information should be preserved by the
+   */
+
+  public JSXParserConfiguration(
+    final boolean inPreserveLexical)
+  {
+    this(inPreserveLexical, DEFAULT_MAX_DEPTH);
+  }
 }
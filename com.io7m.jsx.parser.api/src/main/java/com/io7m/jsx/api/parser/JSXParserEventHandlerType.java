@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.parser;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * A handler of parser events. All methods do nothing by default.
+ *
+ * @see JSXParserEventReaderType#readExpression(JSXParserEventHandlerType)
+ */
+
+public interface JSXParserEventHandlerType
+{
+  /**
+   * A list was started.
+   *
+   * @param lexical The lexical position of the opening bracket
+   * @param square  {@code true} if the list uses square brackets
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void onListStart(
+    final LexicalPosition<URI> lexical,
+    final boolean square)
+    throws IOException
+  {
+
+  }
+
+  /**
+   * A list was ended.
+   *
+   * @param lexical The lexical position of the closing bracket
+   * @param square  {@code true} if the list uses square brackets
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void onListEnd(
+    final LexicalPosition<URI> lexical,
+    final boolean square)
+    throws IOException
+  {
+
+  }
+
+  /**
+   * A symbol was parsed.
+   *
+   * @param lexical The lexical position of the symbol
+   * @param text    The symbol text
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void onSymbol(
+    final LexicalPosition<URI> lexical,
+    final String text)
+    throws IOException
+  {
+
+  }
+
+  /**
+   * A quoted string was parsed.
+   *
+   * @param lexical The lexical position of the string
+   * @param text    The string text
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void onQuotedString(
+    final LexicalPosition<URI> lexical,
+    final String text)
+    throws IOException
+  {
+
+  }
+
+  /**
+   * A comment was parsed.
+   *
+   * @param lexical The lexical position of the comment
+   * @param comment The comment type
+   * @param text    The comment text
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void onComment(
+    final LexicalPosition<URI> lexical,
+    final JSXLexerComment comment,
+    final String text)
+    throws IOException
+  {
+
+  }
+}
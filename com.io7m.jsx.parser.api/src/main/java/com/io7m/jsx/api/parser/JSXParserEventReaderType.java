@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.parser;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * <p>The type of event readers.</p>
+ *
+ * <p>An event reader checks the input against the s-expression grammar in
+ * the same manner as a {@link JSXParserType}, but rather than constructing
+ * expressions, it reports each list boundary, atom, and comment as an event.
+ * No expressions are retained, and so inputs of any size can be processed in
+ * memory proportional to the nesting depth of lists.</p>
+ *
+ * <p>Events can either be pulled one at a time with {@link #next()}, or
+ * pushed to a {@link JSXParserEventHandlerType}.</p>
+ */
+
+public interface JSXParserEventReaderType
+{
+  /**
+   * Read the next event. The details of the event are available from the
+   * other methods of this interface until the next call to this method.
+   *
+   * @return The kind of the next event
+   *
+   * @throws JSXParserException On parse errors
+   * @throws IOException        On I/O errors
+   */
+
+  JSXParserEventKind next()
+    throws JSXParserException, IOException;
+
+  /**
+   * @return The kind of the current event
+   */
+
+  JSXParserEventKind kind();
+
+  /**
+   * @return The lexical position of the current event
+   */
+
+  LexicalPosition<URI> lexical();
+
+  /**
+   * @return The text of the current symbol, quoted string, or comment, or
+   * the empty string for other events
+   */
+
+  String text();
+
+  /**
+   * @return {@code true} if the current event starts or ends a list that
+   * uses square brackets
+   */
+
+  boolean isSquare();
+
+  /**
+   * @return The type of the current comment
+   *
+   * @throws IllegalStateException If the current event is not a comment
+   */
+
+  JSXLexerComment comment();
+
+  /**
+   * @return The number of lists that are open after the current event
+   */
+
+  int depth();
+
+  /**
+   * Read events up to and including the end of the next top-level
+   * expression, passing each event to the given handler. Comments that
+   * precede the expression are also passed to the handler.
+   *
+   * @param handler The event handler
+   *
+   * @return {@code false} if EOF was reached before any expression
+   *
+   * @throws JSXParserException On parse errors
+   * @throws IOException        On I/O errors
+   */
+
+  default boolean readExpression(
+    final JSXParserEventHandlerType handler)
+    throws JSXParserException, IOException
+  {
+    while (true) {
+      switch (this.next()) {
+        case EOF -> {
+          return false;
+        }
+        case COMMENT -> {
+          handler.onComment(this.lexical(), this.comment(), this.text());
+        }
+        case LIST_START -> {
+          handler.onListStart(this.lexical(), this.isSquare());
+        }
+        case LIST_END -> {
+          handler.onListEnd(this.lexical(), this.isSquare());
+          if (this.depth() == 0) {
+            return true;
+          }
+        }
+        case SYMBOL -> {
+          handler.onSymbol(this.lexical(), this.text());
+          if (this.depth() == 0) {
+            return true;
+          }
+        }
+        case QUOTED_STRING -> {
+          handler.onQuotedString(this.lexical(), this.text());
+          if (this.depth() == 0) {
+            return true;
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Read all events up to EOF, passing each event to the given handler.
+   *
+   * @param handler The event handler
+   *
+   * @throws JSXParserException On parse errors
+   * @throws IOException        On I/O errors
+   */
+
+  default void readAll(
+    final JSXParserEventHandlerType handler)
+    throws JSXParserException, IOException
+  {
+    while (this.readExpression(handler)) {
+      // Nothing to do
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.parser;
+
+import com.io7m.jsx.SExpressionType;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * An iterator that parses one top-level expression each time an element is
+ * requested.
+ */
+
+final class JSXParserExpressionIterator
+  implements Iterator<SExpressionType>, Closeable
+{
+  private final JSXParserType parser;
+  private final Closeable source;
+  private SExpressionType next;
+  private boolean closed;
+
+  JSXParserExpressionIterator(
+    final JSXParserType in_parser,
+    final Closeable in_source)
+  {
+    this.parser = Objects.requireNonNull(in_parser, "Parser");
+    this.source = Objects.requireNonNull(in_source, "Source");
+  }
+
+  @Override
+  public boolean hasNext()
+  {
+    if (this.next != null) {
+      return true;
+    }
+    if (this.closed) {
+      return false;
+    }
+
+    try {
+      final Optional<SExpressionType> result =
+        this.parser.parseExpressionOrEOF();
+      if (result.isPresent()) {
+        this.next = result.get();
+        return true;
+      }
+      this.close();
+      return false;
+    } catch (final JSXParserException e) {
+      this.closeSuppressing(e);
+      throw new JSXParserUncheckedException(e);
+    } catch (final IOException e) {
+      this.closeSuppressing(e);
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public SExpressionType next()
+  {
+    if (!this.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final SExpressionType result = this.next;
+    this.next = null;
+    return result;
+  }
+
+  private void closeSuppressing(
+    final Exception e)
+  {
+    try {
+      this.close();
+    } catch (final IOException ex) {
+      e.addSuppressed(ex);
+    }
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    if (!this.closed) {
+      this.closed = true;
+      this.next = null;
+      this.source.close();
+    }
+  }
+
+  void closeUnchecked()
+  {
+    try {
+      this.close();
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
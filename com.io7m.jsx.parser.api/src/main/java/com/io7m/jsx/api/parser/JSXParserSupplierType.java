@@ -22,7 +22,10 @@ import com.io7m.jsx.api.lexer.JSXLexerSupplierType;
 import com.io7m.jsx.api.lexer.JSXLexerType;
 import org.osgi.annotation.versioning.ProviderType;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.Objects;
 
@@ -73,6 +76,42 @@ public interface JSXParserSupplierType
       parser_configuration, lexer_supplier.create(lexer_configuration, reader));
   }
 
+  /**
+   * Obtain a parser for the current thread that parses the text from the
+   * given reader. The parser's lexer is obtained from
+   * {@link JSXLexerSupplierType#createForCurrentThread(JSXLexerConfiguration, Reader)}.
+   * Implementations may return the same parser instance from every call made
+   * on a given thread with an equal configuration and the same lexer, and so
+   * avoid allocating a new parser for each input. A parser obtained from this
+   * method must therefore only be used on the calling thread, and must not be
+   * used after the next call to this method on that thread.
+   *
+   * The default implementation creates a new parser for the lexer.
+   *
+   * @param parser_configuration The parser configuration
+   * @param lexer_configuration  A lexer configuration
+   * @param lexer_supplier       A lexer supplier
+   * @param reader               The reader
+   *
+   * @return A parser
+   */
+
+  default JSXParserType createForCurrentThread(
+    final JSXParserConfiguration parser_configuration,
+    final JSXLexerConfiguration lexer_configuration,
+    final JSXLexerSupplierType lexer_supplier,
+    final Reader reader)
+  {
+    Objects.requireNonNull(parser_configuration, "Parser configuration");
+    Objects.requireNonNull(lexer_configuration, "Lexer configuration");
+    Objects.requireNonNull(lexer_supplier, "Lexer supplier");
+    Objects.requireNonNull(reader, "Reader");
+
+    return this.create(
+      parser_configuration,
+      lexer_supplier.createForCurrentThread(lexer_configuration, reader));
+  }
+
   /**
    * Create a new parser from the given parser configuration and lexer.
    *
@@ -130,4 +169,37 @@ public interface JSXParserSupplierType
       parser_configuration,
       lexer_supplier.createFromStreamUTF8(lexer_configuration, stream));
   }
+
+  /**
+   * Create a new parser from the given parser configuration and lexer. The
+   * file is parsed as UTF-8 data.
+   *
+   * @param parser_configuration The parser configuration
+   * @param lexer_supplier       A lexer supplier
+   * @param lexer_configuration  A lexer configuration
+   * @param channel              The file channel
+   *
+   * @return A new parser
+   *
+   * @throws IOException On I/O errors
+   *
+   * @see JSXLexerSupplierType#createFromFileUTF8(JSXLexerConfiguration, FileChannel)
+   */
+
+  default JSXParserType createFromFileUTF8(
+    final JSXParserConfiguration parser_configuration,
+    final JSXLexerConfiguration lexer_configuration,
+    final JSXLexerSupplierType lexer_supplier,
+    final FileChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(parser_configuration, "Parser configuration");
+    Objects.requireNonNull(lexer_configuration, "Lexer configuration");
+    Objects.requireNonNull(lexer_supplier, "Lexer supplier");
+    Objects.requireNonNull(channel, "Channel");
+
+    return this.create(
+      parser_configuration,
+      lexer_supplier.createFromFileUTF8(lexer_configuration, channel));
+  }
 }
@@ -17,10 +17,19 @@
 package com.io7m.jsx.api.parser;
 
 import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.lexer.JSXLexerType;
 
+import java.io.Closeable;
 import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * The type of parsers.
@@ -57,4 +66,98 @@ public interface JSXParserType
 
   List<SExpressionType> parseExpressions()
     throws JSXParserException, IOException;
+
+  /**
+   * Reset the parser so that it parses the text from the given reader. The
+   * parser's lexer is reset with {@link JSXLexerType#reset(Reader)}, and the
+   * parser then behaves exactly as a parser newly created with the same
+   * configuration would, but without allocating new internal buffers.
+   *
+   * @param reader The new reader
+   */
+
+  void reset(
+    Reader reader);
+
+  /**
+   * Equivalent to {@code parseExpressionIterator(() -> { })}.
+   *
+   * @return A lazy iterator over the remaining top-level expressions
+   *
+   * @see #parseExpressionIterator(Closeable)
+   */
+
+  default Iterator<SExpressionType> parseExpressionIterator()
+  {
+    return this.parseExpressionIterator(() -> {
+    });
+  }
+
+  /**
+   * <p>Return an iterator over the remaining top-level expressions. Each
+   * expression is parsed by {@link #parseExpressionOrEOF()} when it is
+   * requested, and so only one expression is held in memory at any given
+   * time.</p>
+   *
+   * <p>The given source (typically the stream or reader from which the
+   * parser's lexer reads) is closed when the iterator reaches EOF, or when
+   * parsing fails. Parse errors are raised as
+   * {@link JSXParserUncheckedException}, and I/O errors as
+   * {@link java.io.UncheckedIOException}.</p>
+   *
+   * @param source The source to close on completion
+   *
+   * @return A lazy iterator over the remaining top-level expressions
+   */
+
+  default Iterator<SExpressionType> parseExpressionIterator(
+    final Closeable source)
+  {
+    return new JSXParserExpressionIterator(this, source);
+  }
+
+  /**
+   * Equivalent to {@code parseExpressionStream(() -> { })}.
+   *
+   * @return A lazy stream of the remaining top-level expressions
+   *
+   * @see #parseExpressionStream(Closeable)
+   */
+
+  default Stream<SExpressionType> parseExpressionStream()
+  {
+    return this.parseExpressionStream(() -> {
+    });
+  }
+
+  /**
+   * <p>Return a sequential, ordered stream of the remaining top-level
+   * expressions. Each expression is parsed when the stream pulls it, so
+   * processing can begin before the input has been read completely, and
+   * short-circuiting operations stop parsing early.</p>
+   *
+   * <p>The given source is closed when the stream reaches EOF, when parsing
+   * fails, or when the stream itself is closed. Closing the stream (for
+   * example, with try-with-resources) is therefore sufficient to release the
+   * source after early termination. Errors are raised as described in
+   * {@link #parseExpressionIterator(Closeable)}.</p>
+   *
+   * @param source The source to close on completion
+   *
+   * @return A lazy stream of the remaining top-level expressions
+   */
+
+  default Stream<SExpressionType> parseExpressionStream(
+    final Closeable source)
+  {
+    Objects.requireNonNull(source, "Source");
+
+    final var iterator = new JSXParserExpressionIterator(this, source);
+    final var spliterator =
+      Spliterators.spliteratorUnknownSize(
+        iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+
+    return StreamSupport.stream(spliterator, false)
+      .onClose(iterator::closeUnchecked);
+  }
 }
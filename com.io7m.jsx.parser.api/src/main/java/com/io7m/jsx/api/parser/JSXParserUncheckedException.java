@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.parser;
+
+import java.util.Objects;
+
+/**
+ * An unchecked exception wrapping a {@link JSXParserException}, raised by
+ * the lazy views of a parser, such as
+ * {@link JSXParserType#parseExpressionStream()}, which cannot raise checked
+ * exceptions.
+ */
+
+public final class JSXParserUncheckedException extends RuntimeException
+{
+  private static final long serialVersionUID = 2307740817393581205L;
+
+  /**
+   * Construct an exception.
+   *
+   * @param in_cause The cause
+   */
+
+  public JSXParserUncheckedException(
+    final JSXParserException in_cause)
+  {
+    super(
+      Objects.requireNonNull(in_cause, "Cause").getMessage(),
+      in_cause);
+  }
+
+  @Override
+  public synchronized JSXParserException getCause()
+  {
+    return (JSXParserException) super.getCause();
+  }
+}
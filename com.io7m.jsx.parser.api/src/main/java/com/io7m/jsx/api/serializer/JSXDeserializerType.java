@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.api.serializer;
+
+import com.io7m.jsx.SExpressionType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * The type of expression deserializers. A deserializer reads the documents
+ * written by the serializer of the same format.
+ */
+
+public interface JSXDeserializerType
+{
+  /**
+   * Read a single document from the given stream. Exactly the bytes of the
+   * document are consumed, and so a stream may contain several documents
+   * written one after another.
+   *
+   * @param stream The input stream
+   *
+   * @return The expression
+   *
+   * @throws IOException On I/O errors, or if the document is malformed
+   */
+
+  SExpressionType deserialize(
+    InputStream stream)
+    throws IOException;
+
+  /**
+   * Read a single document from the given buffer, starting at the buffer's
+   * position. On return, the buffer is positioned immediately after the
+   * document.
+   *
+   * @param buffer The buffer
+   *
+   * @return The expression
+   *
+   * @throws IOException If the document is malformed
+   */
+
+  SExpressionType deserialize(
+    ByteBuffer buffer)
+    throws IOException;
+
+  /**
+   * Read a single document from the text written by
+   * {@link JSXSerializerType#serializeText(SExpressionType, Appendable)}
+   * for the same format.
+   *
+   * @param text The text
+   *
+   * @return The expression
+   *
+   * @throws IOException If the document is malformed
+   */
+
+  SExpressionType deserializeText(
+    CharSequence text)
+    throws IOException;
+}
@@ -18,8 +18,13 @@ package com.io7m.jsx.api.serializer;
 
 import com.io7m.jsx.SExpressionType;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
 /**
  * The type of expression serializers.
@@ -40,4 +45,55 @@ public interface JSXSerializerType
     SExpressionType e,
     OutputStream s)
     throws IOException;
+
+  /**
+   * Serialize the expression to the given channel. The channel is not
+   * closed.
+   *
+   * The default implementation serializes the expression to a stream
+   * wrapped around {@code channel} using
+   * {@link #serialize(SExpressionType, OutputStream)}.
+   *
+   * @param e       The expression
+   * @param channel The channel
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void serialize(
+    final SExpressionType e,
+    final WritableByteChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(channel, "Channel");
+    this.serialize(e, Channels.newOutputStream(channel));
+  }
+
+  /**
+   * Serialize the expression to the given output. The output is not
+   * flushed or closed, and so many expressions may be serialized into a
+   * single shared output.
+   *
+   * The default implementation serializes the expression to an in-memory
+   * stream using {@link #serialize(SExpressionType, OutputStream)}, and
+   * then appends the decoded text to {@code out}. Implementations are
+   * encouraged to override this method and write to {@code out} directly.
+   *
+   * @param e   The expression
+   * @param out The output
+   *
+   * @throws IOException On I/O errors
+   */
+
+  default void serializeText(
+    final SExpressionType e,
+    final Appendable out)
+    throws IOException
+  {
+    Objects.requireNonNull(out, "Output");
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    this.serialize(e, bytes);
+    out.append(bytes.toString(StandardCharsets.UTF_8));
+  }
 }
@@ -0,0 +1,744 @@
+/*
+ * Copyright © 2016 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.api.lexer.JSXLexerBareCarriageReturnException;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerCursorType;
+import com.io7m.jsx.api.lexer.JSXLexerException;
+import com.io7m.jsx.api.lexer.JSXLexerInvalidCodePointException;
+import com.io7m.jsx.api.lexer.JSXLexerNewLinesInStringsException;
+import com.io7m.jsx.api.lexer.JSXLexerNotHexCharException;
+import com.io7m.jsx.api.lexer.JSXLexerSymbolTable;
+import com.io7m.jsx.api.lexer.JSXLexerTokenKind;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.lexer.JSXLexerUnexpectedEOFException;
+import com.io7m.jsx.api.lexer.JSXLexerUnknownEscapeCodeException;
+import com.io7m.jsx.api.tokens.TokenComment;
+import com.io7m.jsx.api.tokens.TokenEOF;
+import com.io7m.jsx.api.tokens.TokenLeftParenthesis;
+import com.io7m.jsx.api.tokens.TokenLeftSquare;
+import com.io7m.jsx.api.tokens.TokenQuotedString;
+import com.io7m.jsx.api.tokens.TokenRightParenthesis;
+import com.io7m.jsx.api.tokens.TokenRightSquare;
+import com.io7m.jsx.api.tokens.TokenSymbol;
+import com.io7m.jsx.api.tokens.TokenType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Objects;
+
+/**
+ * The state machine shared by all lexer implementations. Subclasses supply
+ * code points from their input; the line and column are tracked here as
+ * primitive values and are only turned into positions when a token or an
+ * error is produced.
+ *
+ * The state machine produces token kinds, leaving the text of the most
+ * recent token in the buffer, and so each lexer is its own cursor. Token
+ * objects are only constructed by {@link #token()}.
+ *
+ * ASCII characters are classified by a single lookup in a table selected
+ * for the configuration; see {@link JSXLexerCharacterClasses}. Within
+ * symbols, quoted strings and comments, subclasses that buffer their input
+ * may copy whole runs of ASCII text at once with
+ * {@link #scanRun(boolean[], StringBuilder)}.
+ */
+
+abstract class JSXLexerAbstract implements JSXLexerType, JSXLexerCursorType
+{
+  private final StringBuilder buffer;
+  private final JSXLexerConfiguration config;
+  private final JSXLexerSymbolTable symbols;
+  private final LexicalPosition<URI> positionless;
+  private final byte[] classes;
+  private final boolean[] symbolRun;
+  private JSXLexerState state;
+  private JSXLexerTokenKind kind;
+  private JSXLexerComment buffer_comment;
+  private int line;
+  private int column;
+  private int buffer_line;
+  private int buffer_column;
+  private int token_line;
+  private int token_column;
+  private boolean positions;
+  private boolean commentTokens;
+
+  JSXLexerAbstract(
+    final JSXLexerConfiguration c)
+  {
+    this(c, 0);
+  }
+
+  /**
+   * Construct a lexer that begins partway through a line.
+   *
+   * @param c           The lexer configuration
+   * @param startColumn The column number of the character preceding the input
+   */
+
+  JSXLexerAbstract(
+    final JSXLexerConfiguration c,
+    final int startColumn)
+  {
+    this.config = Objects.requireNonNull(c, "Configuration");
+    this.symbols = c.symbols().orElse(null);
+    this.positionless = LexicalPosition.of(c.startAtLine(), 0, c.file());
+    this.classes = JSXLexerCharacterClasses.tableFor(c);
+    this.symbolRun = JSXLexerCharacterClasses.symbolRunFor(c);
+    this.positions = true;
+    this.commentTokens = true;
+
+    this.state = JSXLexerState.STATE_INITIAL;
+    this.kind = JSXLexerTokenKind.EOF;
+    this.buffer =
+      new StringBuilder(256);
+
+    this.line = c.startAtLine();
+    this.column = startColumn;
+    this.buffer_line = c.startAtLine();
+  }
+
+  /**
+   * Return the lexer to the state it was in immediately after construction,
+   * retaining its buffers. Subclasses call this when they are given new
+   * input.
+   */
+
+  final void resetState()
+  {
+    this.state = JSXLexerState.STATE_INITIAL;
+    this.kind = JSXLexerTokenKind.EOF;
+    this.buffer.setLength(0);
+    this.buffer_comment = null;
+    this.positions = true;
+    this.commentTokens = true;
+
+    this.line = this.config.startAtLine();
+    this.column = 0;
+    this.buffer_line = this.config.startAtLine();
+    this.buffer_column = 0;
+    this.token_line = 0;
+    this.token_column = 0;
+  }
+
+  /**
+   * @return The lexer configuration
+   */
+
+  final JSXLexerConfiguration configuration()
+  {
+    return this.config;
+  }
+
+  /**
+   * Read a code point from the input.
+   *
+   * @return The next code point, or {@code -1} on EOF
+   *
+   * @throws IOException On I/O errors
+   */
+
+  abstract int readCodePoint()
+    throws IOException;
+
+  /**
+   * Push back the code point that was most recently read so that it is
+   * returned by the next call to {@link #readCodePoint()}. This is only
+   * ever called with the ASCII characters that terminate symbols.
+   *
+   * @param c The code point
+   *
+   * @throws IOException On I/O errors
+   */
+
+  abstract void pushCodePoint(int c)
+    throws IOException;
+
+  /**
+   * Append to {@code out} the longest run of input, beginning with the next
+   * code point, that consists only of ASCII characters {@code c} for which
+   * {@code run[c]} is {@code true}. The characters are consumed as if they
+   * had been read by {@link #readCodePoint()}. Implementations may stop
+   * early, such as at the end of an internal buffer, and are never required
+   * to read more input in order to continue a run. The default
+   * implementation appends nothing.
+   *
+   * @param run The characters that may appear in the run
+   * @param out The output
+   *
+   * @return The number of characters appended
+   *
+   * @throws IOException On I/O errors
+   */
+
+  int scanRun(
+    final boolean[] run,
+    final StringBuilder out)
+    throws IOException
+  {
+    return 0;
+  }
+
+  /**
+   * Consume the longest run of input that {@link #scanRun(boolean[],
+   * StringBuilder)} would have appended, without appending it anywhere. The
+   * default implementation consumes nothing.
+   *
+   * @param run The characters that may appear in the run
+   *
+   * @return The number of characters consumed
+   *
+   * @throws IOException On I/O errors
+   */
+
+  int skipRun(
+    final boolean[] run)
+    throws IOException
+  {
+    return 0;
+  }
+
+  private void completeNewline()
+  {
+    this.state = JSXLexerState.STATE_INITIAL;
+    ++this.line;
+    this.column = 0;
+  }
+
+  private JSXLexerTokenKind completeQuotedString()
+  {
+    this.state = JSXLexerState.STATE_INITIAL;
+    this.markBufferToken();
+    return JSXLexerTokenKind.QUOTED_STRING;
+  }
+
+  private JSXLexerTokenKind completeSymbol()
+  {
+    this.state = JSXLexerState.STATE_INITIAL;
+    this.markBufferToken();
+    return JSXLexerTokenKind.SYMBOL;
+  }
+
+  private JSXLexerTokenKind completeComment()
+  {
+    this.state = JSXLexerState.STATE_INITIAL;
+    this.markBufferToken();
+    return JSXLexerTokenKind.COMMENT;
+  }
+
+  private JSXLexerBareCarriageReturnException errorBareCarriageReturn()
+  {
+    final StringBuilder sb = new StringBuilder(32);
+    sb.append("Bare carriage return (U+000D) in source");
+    final String s = Objects.requireNonNull(sb.toString(), "Message");
+    return new JSXLexerBareCarriageReturnException(
+      this.snapshotPosition(), s);
+  }
+
+  private JSXLexerInvalidCodePointException errorInvalidCodePoint(
+    final long cp)
+  {
+    final StringBuilder sb = new StringBuilder(32);
+    sb.append("Invalid code point given in escape (U+");
+    sb.append(Long.toUnsignedString(cp, 16));
+    sb.append(')');
+    final String s = Objects.requireNonNull(sb.toString(), "Message");
+    return new JSXLexerInvalidCodePointException(this.snapshotPosition(), s);
+  }
+
+  private JSXLexerNewLinesInStringsException errorNewLinesNotInQuotedStrings()
+  {
+    return new JSXLexerNewLinesInStringsException(
+      this.snapshotPosition(),
+      "Lexer configuration does not permit newlines (U+000A or U+000D) in quoted strings");
+  }
+
+  private JSXLexerNotHexCharException errorNotHexChar(
+    final int c)
+  {
+    final StringBuilder sb = new StringBuilder(16);
+    sb.append("Expected a character [0123456789aAbBcCdDeEfF] (got ");
+    sb.appendCodePoint(c);
+    sb.append(')');
+    final String s = Objects.requireNonNull(sb.toString(), "Message");
+    return new JSXLexerNotHexCharException(this.snapshotPosition(), s);
+  }
+
+  private JSXLexerUnexpectedEOFException errorUnexpectedEOF()
+  {
+    final StringBuilder sb = new StringBuilder(32);
+    sb.append("Unexpected EOF");
+    final String s = Objects.requireNonNull(sb.toString(), "Message");
+    return new JSXLexerUnexpectedEOFException(this.snapshotPosition(), s);
+  }
+
+  private JSXLexerUnknownEscapeCodeException errorUnknownEscape(
+    final int c)
+  {
+    final StringBuilder sb = new StringBuilder(64);
+    sb.append("Unknown escape code (");
+    sb.appendCodePoint(c);
+    sb.append(')');
+    final String s = Objects.requireNonNull(sb.toString(), "Message");
+    return new JSXLexerUnknownEscapeCodeException(
+      this.snapshotPosition(), s);
+  }
+
+  private void parseEscape()
+    throws JSXLexerException, IOException
+  {
+    final int c = this.readCharNotEOF();
+    if (c == (int) '"') {
+      this.buffer.append('"');
+      return;
+    }
+    if (c == (int) '\\') {
+      this.buffer.append('\\');
+      return;
+    }
+    if (c == (int) 'r') {
+      this.buffer.append('\r');
+      return;
+    }
+    if (c == (int) 'n') {
+      this.buffer.append('\n');
+      return;
+    }
+    if (c == (int) 't') {
+      this.buffer.append('\t');
+      return;
+    }
+    if (c == (int) 'u') {
+      this.parseUnicode4();
+      return;
+    }
+    if (c == (int) 'U') {
+      this.parseUnicode8();
+      return;
+    }
+
+    throw this.errorUnknownEscape(c);
+  }
+
+  /*
+   * Unicode escapes are decoded by accumulating the value of each hex digit
+   * as it is read, rather than by collecting the digits into a string and
+   * then parsing it.
+   */
+
+  private void parseUnicode4()
+    throws JSXLexerException, IOException
+  {
+    int code = 0;
+    for (int index = 0; index < 4; ++index) {
+      code = (code << 4) | this.readHexDigitNotEOF();
+    }
+    this.buffer.appendCodePoint(code);
+  }
+
+  private void parseUnicode8()
+    throws JSXLexerException, IOException
+  {
+    long code = 0L;
+    for (int index = 0; index < 8; ++index) {
+      code = (code << 4) | (long) this.readHexDigitNotEOF();
+    }
+    final int cp = (int) code;
+
+    if (!Character.isValidCodePoint(cp)) {
+      throw this.errorInvalidCodePoint(code);
+    }
+
+    this.buffer.appendCodePoint(cp);
+  }
+
+  private int readChar()
+    throws IOException
+  {
+    final int c = this.readCodePoint();
+    if (c != -1) {
+      ++this.column;
+    }
+    return c;
+  }
+
+  private int readCharNotEOF()
+    throws IOException, JSXLexerUnexpectedEOFException
+  {
+    final int c = this.readChar();
+    if (c == -1) {
+      throw this.errorUnexpectedEOF();
+    }
+    return c;
+  }
+
+  /**
+   * @param c A character
+   *
+   * @return The value of the hex digit {@code c}, or {@code -1} if {@code c}
+   * is not one of {@code [0123456789aAbBcCdDeEfF]}
+   */
+
+  private static int hexDigitValue(
+    final int c)
+  {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+
+    /*
+     * Setting bit 5 maps 'A'..'F' onto 'a'..'f' and maps no other character
+     * into that range.
+     */
+
+    final int lower = c | 0x20;
+    if (lower >= 'a' && lower <= 'f') {
+      return lower - 'a' + 10;
+    }
+    return -1;
+  }
+
+  private int readHexDigitNotEOF()
+    throws JSXLexerException, IOException
+  {
+    final int c = this.readCharNotEOF();
+    final int value = hexDigitValue(c);
+    if (value < 0) {
+      throw this.errorNotHexChar(c);
+    }
+    return value;
+  }
+
+  private void startQuotedString()
+  {
+    this.state = JSXLexerState.STATE_IN_STRING_QUOTED;
+    this.buffer_comment = null;
+    this.buffer_column = this.column;
+    this.buffer_line = this.line;
+    this.buffer.setLength(0);
+  }
+
+  private void startSymbol(
+    final int c)
+  {
+    this.state = JSXLexerState.STATE_IN_SYMBOL;
+    this.buffer_comment = null;
+    this.buffer_column = this.column;
+    this.buffer_line = this.line;
+    this.buffer.setLength(0);
+    this.buffer.appendCodePoint(c);
+  }
+
+  private void startComment(
+    final JSXLexerComment comment)
+  {
+    this.state = JSXLexerState.STATE_IN_COMMENT;
+    this.buffer_comment = comment;
+    this.buffer_column = this.column;
+    this.buffer_line = this.line;
+    this.buffer.setLength(0);
+  }
+
+  @Override
+  public final TokenType token()
+    throws IOException, JSXLexerException
+  {
+    final JSXLexerTokenKind k = this.next();
+    final LexicalPosition<URI> lex =
+      this.positions ? this.lexical() : this.positionless;
+
+    return switch (k) {
+      case LEFT_PARENTHESIS -> new TokenLeftParenthesis(lex);
+      case RIGHT_PARENTHESIS -> new TokenRightParenthesis(lex);
+      case LEFT_SQUARE -> new TokenLeftSquare(lex);
+      case RIGHT_SQUARE -> new TokenRightSquare(lex);
+      case SYMBOL -> new TokenSymbol(lex, this.textAsString());
+      case QUOTED_STRING -> new TokenQuotedString(lex, this.textAsString());
+      case COMMENT -> new TokenComment(
+        lex, this.buffer_comment, this.textAsString());
+      case EOF -> new TokenEOF(lex);
+    };
+  }
+
+  @Override
+  public final JSXLexerCursorType cursor()
+  {
+    return this;
+  }
+
+  /*
+   * The text of the previous token is discarded here rather than when the
+   * token is completed, so that it remains available to text() until the
+   * cursor advances.
+   */
+
+  @Override
+  public final JSXLexerTokenKind next()
+    throws IOException, JSXLexerException
+  {
+    this.buffer.setLength(0);
+    this.buffer_comment = null;
+    this.kind = this.tokenRead();
+    return this.kind;
+  }
+
+  @Override
+  public final JSXLexerTokenKind kind()
+  {
+    return this.kind;
+  }
+
+  @Override
+  public final CharSequence text()
+  {
+    return this.buffer;
+  }
+
+  @Override
+  public final String textAsString()
+  {
+    if (this.kind == JSXLexerTokenKind.SYMBOL && this.symbols != null) {
+      return this.symbols.intern(this.buffer);
+    }
+    return Objects.requireNonNull(this.buffer.toString(), "Text");
+  }
+
+  @Override
+  public final JSXLexerComment comment()
+  {
+    if (this.kind != JSXLexerTokenKind.COMMENT) {
+      throw new IllegalStateException("The current token is not a comment");
+    }
+    return this.buffer_comment;
+  }
+
+  @Override
+  public final int line()
+  {
+    return this.token_line;
+  }
+
+  @Override
+  public final int column()
+  {
+    return this.token_column;
+  }
+
+  @Override
+  public final LexicalPosition<URI> lexical()
+  {
+    return LexicalPosition.of(
+      this.token_line, this.token_column, this.config.file());
+  }
+
+  /*
+   * It is not realistically possible to reduce the cyclomatic complexity
+   * of this function, so Checkstyle must be disabled.
+   */
+
+  // CHECKSTYLE:OFF
+  private JSXLexerTokenKind tokenRead()
+    throws
+    IOException,
+    JSXLexerException
+  {
+    while (true) {
+      switch (this.state) {
+        case STATE_IN_COMMENT -> {
+          this.column += this.scanRun(
+            JSXLexerCharacterClasses.COMMENT_RUN, this.buffer);
+          final int c = this.readChar();
+          if (c == -1) {
+            return this.completeComment();
+          }
+          if (c == (int) '\n') {
+            this.completeNewline();
+            return this.completeComment();
+          }
+          if (c == (int) '\r') {
+            this.state = JSXLexerState.STATE_IN_CRLF;
+            return this.completeComment();
+          }
+
+          this.buffer.appendCodePoint(c);
+        }
+        case STATE_IN_COMMENT_SKIPPED -> {
+          this.column += this.skipRun(JSXLexerCharacterClasses.COMMENT_RUN);
+          final int c = this.readChar();
+          if (c == -1) {
+            this.state = JSXLexerState.STATE_INITIAL;
+            return this.markToken(JSXLexerTokenKind.EOF);
+          }
+          if (c == (int) '\n') {
+            this.completeNewline();
+          }
+          if (c == (int) '\r') {
+            this.state = JSXLexerState.STATE_IN_CRLF;
+          }
+        }
+        case STATE_INITIAL -> {
+          final int c = this.readChar();
+          switch (JSXLexerCharacterClasses.classify(this.classes, c)) {
+            case JSXLexerCharacterClasses.EOF -> {
+              return this.markToken(JSXLexerTokenKind.EOF);
+            }
+            case JSXLexerCharacterClasses.NEWLINE -> this.completeNewline();
+            case JSXLexerCharacterClasses.CARRIAGE_RETURN ->
+              this.state = JSXLexerState.STATE_IN_CRLF;
+            case JSXLexerCharacterClasses.QUOTE -> this.startQuotedString();
+            case JSXLexerCharacterClasses.COMMENT -> {
+              if (this.commentTokens) {
+                this.startComment(JSXLexerCharacterClasses.commentFor(c));
+              } else {
+                this.state = JSXLexerState.STATE_IN_COMMENT_SKIPPED;
+              }
+            }
+            case JSXLexerCharacterClasses.LEFT_PARENTHESIS -> {
+              return this.markToken(JSXLexerTokenKind.LEFT_PARENTHESIS);
+            }
+            case JSXLexerCharacterClasses.RIGHT_PARENTHESIS -> {
+              return this.markToken(JSXLexerTokenKind.RIGHT_PARENTHESIS);
+            }
+            case JSXLexerCharacterClasses.LEFT_SQUARE -> {
+              return this.markToken(JSXLexerTokenKind.LEFT_SQUARE);
+            }
+            case JSXLexerCharacterClasses.RIGHT_SQUARE -> {
+              return this.markToken(JSXLexerTokenKind.RIGHT_SQUARE);
+            }
+            case JSXLexerCharacterClasses.SPACE -> {
+
+            }
+            default -> this.startSymbol(c);
+          }
+        }
+        case STATE_IN_CRLF -> {
+          final int c = this.readCharNotEOF();
+
+          if (c == (int) '\n') {
+            this.completeNewline();
+            continue;
+          }
+
+          throw this.errorBareCarriageReturn();
+        }
+        case STATE_IN_STRING_QUOTED -> {
+          this.column += this.scanRun(
+            JSXLexerCharacterClasses.STRING_RUN, this.buffer);
+          final int c = this.readCharNotEOF();
+          if (c == (int) '\\') {
+            this.parseEscape();
+            continue;
+          }
+          if ((c == (int) '\r') || (c == (int) '\n')) {
+            if (!this.config.newlinesInQuotedStrings()) {
+              throw this.errorNewLinesNotInQuotedStrings();
+            }
+          }
+          if (c == (int) '"') {
+            return this.completeQuotedString();
+          }
+
+          this.buffer.appendCodePoint(c);
+        }
+        case STATE_IN_SYMBOL -> {
+          this.column += this.scanRun(this.symbolRun, this.buffer);
+          final int c = this.readChar();
+          switch (JSXLexerCharacterClasses.classify(this.classes, c)) {
+            case JSXLexerCharacterClasses.EOF,
+                 JSXLexerCharacterClasses.SPACE -> {
+              return this.completeSymbol();
+            }
+            case JSXLexerCharacterClasses.NEWLINE -> {
+              this.completeNewline();
+              return this.completeSymbol();
+            }
+            case JSXLexerCharacterClasses.CARRIAGE_RETURN -> {
+              this.state = JSXLexerState.STATE_IN_CRLF;
+              return this.completeSymbol();
+            }
+            case JSXLexerCharacterClasses.QUOTE,
+                 JSXLexerCharacterClasses.LEFT_PARENTHESIS,
+                 JSXLexerCharacterClasses.RIGHT_PARENTHESIS,
+                 JSXLexerCharacterClasses.LEFT_SQUARE,
+                 JSXLexerCharacterClasses.RIGHT_SQUARE -> {
+              this.pushCodePoint(c);
+              return this.completeSymbol();
+            }
+            default -> this.buffer.appendCodePoint(c);
+          }
+        }
+      }
+    }
+  }
+  // CHECKSTYLE:ON
+
+  private LexicalPosition<URI> snapshotPosition()
+  {
+    return LexicalPosition.of(this.line, this.column, this.config.file());
+  }
+
+  /*
+   * Record the position of a token that starts at the current position.
+   */
+
+  private JSXLexerTokenKind markToken(
+    final JSXLexerTokenKind k)
+  {
+    this.token_line = this.line;
+    this.token_column = this.column;
+    return k;
+  }
+
+  /*
+   * Record the position of a token that started at the beginning of the
+   * buffer.
+   */
+
+  private void markBufferToken()
+  {
+    this.token_line = this.buffer_line;
+    this.token_column = this.buffer_column;
+  }
+
+  @Override
+  public final void setLexicalPositionsEnabled(
+    final boolean enabled)
+  {
+    this.positions = enabled;
+  }
+
+  @Override
+  public final void setCommentTokensEnabled(
+    final boolean enabled)
+  {
+    this.commentTokens = enabled;
+  }
+
+  @Override
+  public final LexicalPosition<URI> tokenLexical(
+    final TokenType token)
+  {
+    if (this.positions) {
+      return token.lexical();
+    }
+    return this.lexical();
+  }
+}
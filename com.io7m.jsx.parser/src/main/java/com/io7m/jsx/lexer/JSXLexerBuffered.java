@@ -0,0 +1,164 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * A lexer that reads large blocks of characters from a {@link Reader} and
+ * scans them directly, rather than reading one code point at a time through
+ * a {@link com.io7m.jeucreader.UnicodeCharacterReaderPushBackType}. The
+ * tokens and errors produced are identical to those produced by
+ * {@link JSXLexer}.
+ */
+
+public final class JSXLexerBuffered extends JSXLexerAbstract
+{
+  /**
+   * The default size of the character buffer.
+   */
+
+  public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+  private final JSXLexerCharBuffer input;
+
+  JSXLexerBuffered(
+    final JSXLexerConfiguration c,
+    final Reader r,
+    final int size)
+  {
+    this(c, r, size, 0);
+  }
+
+  JSXLexerBuffered(
+    final JSXLexerConfiguration c,
+    final Reader r,
+    final int size,
+    final int startColumn)
+  {
+    super(c, startColumn);
+    this.input = new JSXLexerCharBuffer(r, size);
+  }
+
+  /**
+   * Construct a new lexer.
+   *
+   * @param c The lexer configuration
+   * @param r The reader
+   *
+   * @return A new lexer
+   */
+
+  public static JSXLexerType newLexer(
+    final JSXLexerConfiguration c,
+    final Reader r)
+  {
+    return new JSXLexerBuffered(c, r, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Construct a new lexer.
+   *
+   * @param c    The lexer configuration
+   * @param r    The reader
+   * @param size The size of the character buffer
+   *
+   * @return A new lexer
+   */
+
+  public static JSXLexerType newLexerWithBufferSize(
+    final JSXLexerConfiguration c,
+    final Reader r,
+    final int size)
+  {
+    return new JSXLexerBuffered(c, r, size);
+  }
+
+  /**
+   * Construct a new lexer that reads only the given region of the given
+   * text, producing exactly the lexical positions that a lexer reading the
+   * whole text would have produced. The region must have been produced by
+   * {@link JSXLexerRegions#scanText(JSXLexerConfiguration, CharSequence,
+   * int, int, int)}.
+   *
+   * @param c      The lexer configuration
+   * @param text   The text
+   * @param region The region
+   *
+   * @return A new lexer
+   */
+
+  public static JSXLexerType newLexerForTextRegion(
+    final JSXLexerConfiguration c,
+    final CharSequence text,
+    final JSXLexerRegion region)
+  {
+    final int start = Math.toIntExact(region.offset());
+    final int end = Math.toIntExact(region.offset() + region.size());
+    final int size =
+      Math.max(2, Math.min(end - start, DEFAULT_BUFFER_SIZE));
+
+    return new JSXLexerBuffered(
+      region.configurationFor(c),
+      new StringReader(text.subSequence(start, end).toString()),
+      size,
+      region.column()
+    );
+  }
+
+  @Override
+  public void reset(
+    final Reader r)
+  {
+    this.input.reset(r);
+    this.resetState();
+  }
+
+  @Override
+  int readCodePoint()
+    throws IOException
+  {
+    return this.input.readCodePoint();
+  }
+
+  @Override
+  int scanRun(
+    final boolean[] run,
+    final StringBuilder out)
+  {
+    return this.input.scanRun(run, out);
+  }
+
+  @Override
+  int skipRun(
+    final boolean[] run)
+  {
+    return this.input.skipRun(run);
+  }
+
+  @Override
+  void pushCodePoint(
+    final int c)
+  {
+    this.input.pushCodePoint();
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jeucreader.UnicodeCharacterReaderPushBackType;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerSupplierType;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import org.osgi.service.component.annotations.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * A lexer supplier that produces {@link JSXLexerBuffered} lexers for readers
+ * and streams, and {@link JSXLexerUTF8} lexers for UTF-8 encoded streams and
+ * files. Files are mapped into memory rather than being read.
+ */
+
+@Component
+public final class JSXLexerBufferedSupplier implements JSXLexerSupplierType
+{
+  private final JSXLexerThreadLocal<JSXLexerBuffered> threadLocal;
+
+  /**
+   * Create a new lexer supplier.
+   *
+   * Note: This constructor must be public and zero-arg for OSGi compatibility.
+   */
+
+  public JSXLexerBufferedSupplier()
+  {
+    this.threadLocal =
+      new JSXLexerThreadLocal<>((c, r) -> {
+        return new JSXLexerBuffered(c, r, JSXLexerBuffered.DEFAULT_BUFFER_SIZE);
+      });
+  }
+
+  /**
+   * Lexers obtained from this method are {@link JSXLexerBuffered} lexers,
+   * one per thread, which are reset and reused for as long as the given
+   * configuration does not change.
+   *
+   * @param configuration The configuration
+   * @param reader        The reader
+   *
+   * @return A lexer owned by the current thread
+   */
+
+  @Override
+  public JSXLexerType createForCurrentThread(
+    final JSXLexerConfiguration configuration,
+    final Reader reader)
+  {
+    return this.threadLocal.lexerFor(configuration, reader);
+  }
+
+  /**
+   * Code point readers cannot be scanned in blocks, and so lexers created
+   * from them are the default {@link JSXLexer} implementation.
+   *
+   * @param configuration The configuration
+   * @param reader        The reader
+   *
+   * @return A new lexer
+   */
+
+  @Override
+  public JSXLexerType create(
+    final JSXLexerConfiguration configuration,
+    final UnicodeCharacterReaderPushBackType reader)
+  {
+    return JSXLexer.newLexer(configuration, reader);
+  }
+
+  @Override
+  public JSXLexerType createFromReader(
+    final JSXLexerConfiguration configuration,
+    final Reader reader)
+  {
+    Objects.requireNonNull(configuration, "Configuration");
+    Objects.requireNonNull(reader, "Reader");
+    return JSXLexerBuffered.newLexer(configuration, reader);
+  }
+
+  @Override
+  public JSXLexerType createFromStream(
+    final JSXLexerConfiguration configuration,
+    final Charset charset,
+    final InputStream stream)
+  {
+    Objects.requireNonNull(configuration, "Configuration");
+    Objects.requireNonNull(charset, "Charset");
+    Objects.requireNonNull(stream, "Stream");
+
+    if (StandardCharsets.UTF_8.equals(charset)) {
+      return JSXLexerUTF8.newLexer(configuration, stream);
+    }
+    return JSXLexerSupplierType.super.createFromStream(
+      configuration, charset, stream);
+  }
+
+  @Override
+  public JSXLexerType createFromFileUTF8(
+    final JSXLexerConfiguration configuration,
+    final FileChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(configuration, "Configuration");
+    Objects.requireNonNull(channel, "Channel");
+    return JSXLexerUTF8.newLexerFromChannel(configuration, channel);
+  }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * A byte source that maps successive regions of a file into memory. Files
+ * larger than the maximum size of a single mapping are mapped in multiple
+ * chunks, each of which is mapped only when the previous chunk has been
+ * consumed.
+ */
+
+final class JSXLexerByteSourceMapped implements JSXLexerByteSourceType
+{
+  private final FileChannel channel;
+  private final long end;
+  private final int chunkSize;
+  private long offset;
+
+  JSXLexerByteSourceMapped(
+    final FileChannel inChannel,
+    final int inChunkSize)
+    throws IOException
+  {
+    this(inChannel, inChannel.position(), inChannel.size(), inChunkSize);
+  }
+
+  JSXLexerByteSourceMapped(
+    final FileChannel inChannel,
+    final long inStart,
+    final long inEnd,
+    final int inChunkSize)
+  {
+    this.channel = Objects.requireNonNull(inChannel, "Channel");
+
+    if (inChunkSize < 1) {
+      throw new IllegalArgumentException(
+        "Chunk size must be at least 1 (got %d)".formatted(
+          Integer.valueOf(inChunkSize)));
+    }
+
+    this.chunkSize = inChunkSize;
+    this.offset = inStart;
+    this.end = inEnd;
+  }
+
+  @Override
+  public ByteBuffer nextChunk()
+    throws IOException
+  {
+    final long size = Math.min((long) this.chunkSize, this.end - this.offset);
+    if (size <= 0L) {
+      return ByteBuffer.allocate(0);
+    }
+
+    final ByteBuffer chunk =
+      this.channel.map(FileChannel.MapMode.READ_ONLY, this.offset, size);
+    this.offset += size;
+    return chunk;
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A source of successive chunks of bytes for the {@link JSXLexerUTF8} lexer.
+ */
+
+interface JSXLexerByteSourceType
+{
+  /**
+   * Fetch the next chunk of bytes. The bytes between the position and limit
+   * of the returned buffer are the next bytes of the input. The lexer does not
+   * modify the position or limit of the returned buffer, and does not access
+   * it again after requesting another chunk.
+   *
+   * @return The next chunk, or a chunk with no remaining bytes on EOF
+   *
+   * @throws IOException On I/O errors
+   */
+
+  ByteBuffer nextChunk()
+    throws IOException;
+}
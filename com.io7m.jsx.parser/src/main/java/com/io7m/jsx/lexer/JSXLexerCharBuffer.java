@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jeucreader.InvalidSurrogatePair;
+import com.io7m.jeucreader.MissingLowSurrogate;
+import com.io7m.jeucreader.OrphanLowSurrogate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Objects;
+
+/**
+ * Characters read in large blocks from a {@link Reader}. Code points and
+ * runs of ASCII text are taken directly from the buffer. This is the input
+ * of {@link JSXLexerBuffered}, and of a {@link JSXLexerUTF8} lexer that has
+ * been reset with a reader.
+ */
+
+final class JSXLexerCharBuffer
+{
+  private final char[] chars;
+  private Reader reader;
+  private int index;
+  private int limit;
+
+  JSXLexerCharBuffer(
+    final Reader r,
+    final int size)
+  {
+    this.reader = Objects.requireNonNull(r, "Reader");
+
+    if (size < 2) {
+      throw new IllegalArgumentException(
+        "Buffer size must be at least 2 (got %d)".formatted(
+          Integer.valueOf(size)));
+    }
+
+    this.chars = new char[size];
+    this.index = 0;
+    this.limit = 0;
+  }
+
+  void reset(
+    final Reader r)
+  {
+    this.reader = Objects.requireNonNull(r, "Reader");
+    this.index = 0;
+    this.limit = 0;
+  }
+
+  private boolean fill()
+    throws IOException
+  {
+    while (true) {
+      final int r = this.reader.read(this.chars, 0, this.chars.length);
+      if (r == -1) {
+        /*
+         * Release the reader so that a lexer held for reuse (such as by
+         * JSXLexerThreadLocal) does not keep it reachable.
+         */
+
+        this.reader = Reader.nullReader();
+        this.index = 0;
+        this.limit = 0;
+        return false;
+      }
+      if (r > 0) {
+        this.index = 0;
+        this.limit = r;
+        return true;
+      }
+    }
+  }
+
+  int readCodePoint()
+    throws IOException
+  {
+    if (this.index >= this.limit) {
+      if (!this.fill()) {
+        return -1;
+      }
+    }
+
+    final char c = this.chars[this.index];
+    ++this.index;
+
+    if (Character.isSurrogate(c)) {
+      return this.readSurrogatePair(c);
+    }
+    return c;
+  }
+
+  private int readSurrogatePair(
+    final char high)
+    throws IOException
+  {
+    if (Character.isLowSurrogate(high)) {
+      throw new OrphanLowSurrogate(
+        "Low surrogate received without high surrogate");
+    }
+
+    if (this.index >= this.limit) {
+      if (!this.fill()) {
+        throw new MissingLowSurrogate("EOF reached before low surrogate");
+      }
+    }
+
+    final char low = this.chars[this.index];
+    ++this.index;
+
+    if (Character.isLowSurrogate(low)) {
+      return Character.toCodePoint(high, low);
+    }
+    throw new InvalidSurrogatePair(
+      "Invalid character received after high surrogate");
+  }
+
+  private int runEnd(
+    final boolean[] run)
+  {
+    int end = this.index;
+    while (end < this.limit) {
+      final char c = this.chars[end];
+      if (c >= 0x80 || !run[c]) {
+        break;
+      }
+      ++end;
+    }
+    return end;
+  }
+
+  int scanRun(
+    final boolean[] run,
+    final StringBuilder out)
+  {
+    final int start = this.index;
+    final int end = this.runEnd(run);
+    final int count = end - start;
+    if (count > 0) {
+      out.append(this.chars, start, count);
+    }
+    this.index = end;
+    return count;
+  }
+
+  int skipRun(
+    final boolean[] run)
+  {
+    final int start = this.index;
+    this.index = this.runEnd(run);
+    return this.index - start;
+  }
+
+  void pushCodePoint()
+  {
+    /*
+     * The lexer only ever pushes back the single-char code point that it
+     * has just read, and so the character is still present in the buffer.
+     */
+
+    --this.index;
+  }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+
+import java.util.Objects;
+
+/**
+ * <p>Precomputed classifications of the ASCII characters for each lexer
+ * configuration.</p>
+ *
+ * <p>The only parts of a configuration that affect the classification of a
+ * character are the enabled comment characters and whether square brackets
+ * are enabled, and so there are only a small fixed number of distinct
+ * tables. All of them are computed once, and a lexer selects the table for
+ * its configuration when it is constructed. Characters outside of the ASCII
+ * range are classified by {@link #classify(byte[], int)} without a
+ * table.</p>
+ *
+ * <p>The run tables give, for each ASCII character, whether the character
+ * can be copied directly into the text of a token in a given lexer state.
+ * Characters outside of the ASCII range never belong to a run.</p>
+ */
+
+final class JSXLexerCharacterClasses
+{
+  /**
+   * The end of the input.
+   */
+
+  static final byte EOF = 0;
+
+  /**
+   * A line feed.
+   */
+
+  static final byte NEWLINE = 1;
+
+  /**
+   * A carriage return.
+   */
+
+  static final byte CARRIAGE_RETURN = 2;
+
+  /**
+   * A double quote.
+   */
+
+  static final byte QUOTE = 3;
+
+  /**
+   * A character that starts a comment in the configuration.
+   */
+
+  static final byte COMMENT = 4;
+
+  /**
+   * A left parenthesis.
+   */
+
+  static final byte LEFT_PARENTHESIS = 5;
+
+  /**
+   * A right parenthesis.
+   */
+
+  static final byte RIGHT_PARENTHESIS = 6;
+
+  /**
+   * A left square bracket, if square brackets are enabled.
+   */
+
+  static final byte LEFT_SQUARE = 7;
+
+  /**
+   * A right square bracket, if square brackets are enabled.
+   */
+
+  static final byte RIGHT_SQUARE = 8;
+
+  /**
+   * A space character, as defined by {@link Character#isSpaceChar(int)}.
+   */
+
+  static final byte SPACE = 9;
+
+  /**
+   * Any other character, which may appear in a symbol.
+   */
+
+  static final byte SYMBOL = 10;
+
+  /**
+   * The ASCII characters that may appear in a run of quoted string text that
+   * needs no further interpretation.
+   */
+
+  static final boolean[] STRING_RUN = makeRun("\"\\\r\n");
+
+  /**
+   * The ASCII characters that may appear in a run of comment text.
+   */
+
+  static final boolean[] COMMENT_RUN = makeRun("\r\n");
+
+  private static final int ASCII_SIZE = 128;
+  private static final JSXLexerComment[] COMMENTS =
+    JSXLexerComment.values();
+  private static final byte[][] TABLES = makeTables();
+  private static final boolean[][] SYMBOL_RUNS = makeSymbolRuns();
+
+  private JSXLexerCharacterClasses()
+  {
+
+  }
+
+  /*
+   * Tables are indexed by a bit for each enabled comment character, with a
+   * final bit for square brackets.
+   */
+
+  private static byte[][] makeTables()
+  {
+    final int count = 1 << (COMMENTS.length + 1);
+    final byte[][] tables = new byte[count][];
+    for (int index = 0; index < count; ++index) {
+      tables[index] = makeTable(index);
+    }
+    return tables;
+  }
+
+  private static boolean[][] makeSymbolRuns()
+  {
+    final boolean[][] runs = new boolean[TABLES.length][];
+    for (int index = 0; index < TABLES.length; ++index) {
+      final byte[] table = TABLES[index];
+      final boolean[] run = new boolean[ASCII_SIZE];
+      for (int c = 0; c < ASCII_SIZE; ++c) {
+        run[c] = table[c] == SYMBOL || table[c] == COMMENT;
+      }
+      runs[index] = run;
+    }
+    return runs;
+  }
+
+  private static boolean[] makeRun(
+    final String stops)
+  {
+    final boolean[] run = new boolean[ASCII_SIZE];
+    for (int c = 0; c < ASCII_SIZE; ++c) {
+      run[c] = stops.indexOf(c) == -1;
+    }
+    return run;
+  }
+
+  /*
+   * The classes are assigned in the reverse of the order in which the
+   * lexer has always tested for them, so that the earlier tests take
+   * precedence.
+   */
+
+  private static byte[] makeTable(
+    final int index)
+  {
+    final byte[] table = new byte[ASCII_SIZE];
+    for (int c = 0; c < ASCII_SIZE; ++c) {
+      table[c] = Character.isSpaceChar(c) ? SPACE : SYMBOL;
+    }
+
+    if ((index & (1 << COMMENTS.length)) != 0) {
+      table['['] = LEFT_SQUARE;
+      table[']'] = RIGHT_SQUARE;
+    }
+    table['('] = LEFT_PARENTHESIS;
+    table[')'] = RIGHT_PARENTHESIS;
+
+    for (final JSXLexerComment comment : COMMENTS) {
+      if ((index & (1 << comment.ordinal())) != 0) {
+        table[comment.token()] = COMMENT;
+      }
+    }
+
+    table['"'] = QUOTE;
+    table['\r'] = CARRIAGE_RETURN;
+    table['\n'] = NEWLINE;
+    return table;
+  }
+
+  /**
+   * @param c The lexer configuration
+   *
+   * @return The classification table for the given configuration
+   */
+
+  static byte[] tableFor(
+    final JSXLexerConfiguration c)
+  {
+    return TABLES[tableIndex(c)];
+  }
+
+  /**
+   * @param c The lexer configuration
+   *
+   * @return The ASCII characters that continue a symbol in the given
+   * configuration
+   */
+
+  static boolean[] symbolRunFor(
+    final JSXLexerConfiguration c)
+  {
+    return SYMBOL_RUNS[tableIndex(c)];
+  }
+
+  private static int tableIndex(
+    final JSXLexerConfiguration c)
+  {
+    Objects.requireNonNull(c, "Configuration");
+
+    int index = 0;
+    for (final JSXLexerComment comment : c.comments()) {
+      index |= 1 << comment.ordinal();
+    }
+    if (c.squareBrackets()) {
+      index |= 1 << COMMENTS.length;
+    }
+    return index;
+  }
+
+  /**
+   * Classify a code point.
+   *
+   * @param table The table returned by {@link #tableFor(JSXLexerConfiguration)}
+   * @param c     The code point, or {@code -1} for the end of the input
+   *
+   * @return The class of the code point
+   */
+
+  static byte classify(
+    final byte[] table,
+    final int c)
+  {
+    if ((c & ~0x7f) == 0) {
+      return table[c];
+    }
+    if (c == -1) {
+      return EOF;
+    }
+    return Character.isSpaceChar(c) ? SPACE : SYMBOL;
+  }
+
+  /**
+   * @param c A character classified as {@link #COMMENT}
+   *
+   * @return The comment type that the character starts
+   */
+
+  static JSXLexerComment commentFor(
+    final int c)
+  {
+    for (final JSXLexerComment comment : COMMENTS) {
+      if (comment.token() == c) {
+        return comment;
+      }
+    }
+    throw new IllegalArgumentException(
+      "Not a comment character: U+" + Integer.toHexString(c));
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jeucreader.InvalidSurrogatePair;
+import com.io7m.jeucreader.MissingLowSurrogate;
+import com.io7m.jeucreader.OrphanLowSurrogate;
+import com.io7m.jeucreader.UnicodeCharacterReaderPushBackType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A code point reader that can be pointed at a new {@link Reader}, so that
+ * a {@link JSXLexer} can be reset without allocating a new reader. Code
+ * points are decoded exactly as {@link com.io7m.jeucreader.UnicodeCharacterReader}
+ * decodes them, reading one character at a time, and so no characters
+ * beyond those consumed by the lexer are read from the underlying reader.
+ */
+
+final class JSXLexerCodePointReader
+  implements UnicodeCharacterReaderPushBackType
+{
+  private Reader reader;
+  private int[] pushed;
+  private int pushedCount;
+
+  JSXLexerCodePointReader(
+    final Reader inReader)
+  {
+    this.reader = Objects.requireNonNull(inReader, "Reader");
+    this.pushed = new int[4];
+    this.pushedCount = 0;
+  }
+
+  void reset(
+    final Reader inReader)
+  {
+    this.reader = Objects.requireNonNull(inReader, "Reader");
+    this.pushedCount = 0;
+  }
+
+  @Override
+  public void pushCodePoint(
+    final int c)
+  {
+    if (this.pushedCount == this.pushed.length) {
+      this.pushed = Arrays.copyOf(this.pushed, this.pushed.length * 2);
+    }
+    this.pushed[this.pushedCount] = c;
+    ++this.pushedCount;
+  }
+
+  @Override
+  public int readCodePoint()
+    throws IOException
+  {
+    if (this.pushedCount > 0) {
+      --this.pushedCount;
+      return this.pushed[this.pushedCount];
+    }
+
+    final int r = this.reader.read();
+    if (r == -1) {
+      /*
+       * Release the reader so that a lexer held for reuse (such as by
+       * JSXLexerThreadLocal) does not keep it reachable.
+       */
+
+      this.reader = Reader.nullReader();
+      return -1;
+    }
+
+    final char c = (char) r;
+    if (Character.isLowSurrogate(c)) {
+      throw new OrphanLowSurrogate(
+        "Low surrogate received without high surrogate");
+    }
+    if (!Character.isHighSurrogate(c)) {
+      return c;
+    }
+
+    final int low = this.reader.read();
+    if (low == -1) {
+      throw new MissingLowSurrogate("EOF reached before low surrogate");
+    }
+    if (Character.isLowSurrogate((char) low)) {
+      return Character.toCodePoint(c, (char) low);
+    }
+    throw new InvalidSurrogatePair(
+      "Invalid character received after high surrogate");
+  }
+}
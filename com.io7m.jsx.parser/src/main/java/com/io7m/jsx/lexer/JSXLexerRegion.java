@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+
+/**
+ * A region of UTF-8 encoded input that begins at the start of a top-level
+ * expression, along with the lexical position at which it begins.
+ *
+ * @param offset The byte offset of the start of the region
+ * @param size   The size of the region in bytes
+ * @param line   The line number at the start of the region
+ * @param column The column number of the character preceding the region
+ *
+ * @see JSXLexerRegions
+ */
+
+public record JSXLexerRegion(
+  long offset,
+  long size,
+  int line,
+  int column)
+{
+  /**
+   * A region of UTF-8 encoded input.
+   *
+   * @param offset The byte offset of the start of the region
+   * @param size   The size of the region in bytes
+   * @param line   The line number at the start of the region
+   * @param column The column number of the character preceding the region
+   */
+
+  public JSXLexerRegion
+  {
+    if (offset < 0L || size < 0L) {
+      throw new IllegalArgumentException(
+        "Offset and size must be non-negative (got %d, %d)".formatted(
+          Long.valueOf(offset), Long.valueOf(size)));
+    }
+  }
+
+  JSXLexerConfiguration configurationFor(
+    final JSXLexerConfiguration c)
+  {
+    return new JSXLexerConfiguration(
+      c.squareBrackets(),
+      c.newlinesInQuotedStrings(),
+      c.file(),
+      c.comments(),
+      this.line,
+      c.symbols()
+    );
+  }
+}
@@ -0,0 +1,512 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>Functions to divide UTF-8 encoded input, or text, into regions that each
+ * begin at the start of a top-level expression, so that the regions can be
+ * lexed and parsed independently.</p>
+ *
+ * <p>The input is scanned with the same states and character classes as the
+ * lexer uses for quoted strings, escapes, comments and line endings, but
+ * without producing tokens. A region may end immediately after any list
+ * that closes at the top level. The line and column tracked by the scan are
+ * identical to those of the lexer, and so a lexer started at a region
+ * produces the same lexical positions as a lexer that had read the input
+ * from the beginning.</p>
+ *
+ * <p>Malformed input is not rejected by the scan. Up to the first error in
+ * the input, the scan agrees exactly with the lexer, and so the region that
+ * contains the first error reports exactly the error that a single lexer
+ * would have reported.</p>
+ */
+
+public final class JSXLexerRegions
+{
+  private JSXLexerRegions()
+  {
+
+  }
+
+  /**
+   * Scan the given file channel, starting at the channel's current position
+   * and ending at the current size of the file. The position of the channel
+   * is not modified.
+   *
+   * @param c          The lexer configuration
+   * @param channel    The file channel
+   * @param targetSize The minimum size of each region, excepting the last
+   *
+   * @return The regions, in order, with offsets relative to the start of the
+   * file
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static List<JSXLexerRegion> scanFile(
+    final JSXLexerConfiguration c,
+    final FileChannel channel,
+    final long targetSize)
+    throws IOException
+  {
+    Objects.requireNonNull(c, "Configuration");
+    Objects.requireNonNull(channel, "Channel");
+
+    final long start = channel.position();
+    final long end = channel.size();
+    final var lexer =
+      new JSXLexerUTF8(
+        c,
+        new JSXLexerByteSourceMapped(
+          channel, start, end, JSXLexerUTF8.DEFAULT_MAP_CHUNK_SIZE));
+
+    return new Scanner(c, lexer, start, targetSize).scan();
+  }
+
+  /**
+   * Scan the remaining bytes of the given buffer. The position and limit of
+   * the buffer are not modified.
+   *
+   * @param c          The lexer configuration
+   * @param buffer     The buffer
+   * @param targetSize The minimum size of each region, excepting the last
+   *
+   * @return The regions, in order, with offsets relative to the position of
+   * the buffer
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static List<JSXLexerRegion> scanBuffer(
+    final JSXLexerConfiguration c,
+    final ByteBuffer buffer,
+    final long targetSize)
+    throws IOException
+  {
+    Objects.requireNonNull(c, "Configuration");
+    Objects.requireNonNull(buffer, "Buffer");
+
+    final var lexer =
+      (JSXLexerUTF8) JSXLexerUTF8.newLexerFromBuffer(c, buffer);
+
+    return new Scanner(c, lexer, 0L, targetSize).scan();
+  }
+
+  /**
+   * Scan the given text lazily, starting at {@code offset}. The text at
+   * {@code offset} must not be inside a token or a list; this is always the
+   * case at the start of the text and at the start of any region previously
+   * returned for the same text. Regions are only scanned as they are
+   * requested from the returned iterator, and so a caller that needs only
+   * the regions that follow a given point can stop early. Each region
+   * ends immediately after a list that closes at the top level, except for
+   * the final region, which ends at the end of the text.
+   *
+   * @param c      The lexer configuration
+   * @param text   The text
+   * @param offset The offset of the first character to scan
+   * @param line   The line number at {@code offset}
+   * @param column The column number of the character preceding
+   *               {@code offset}
+   *
+   * @return The regions, in order, with offsets in characters relative to
+   * the start of the text
+   */
+
+  public static Iterator<JSXLexerRegion> scanText(
+    final JSXLexerConfiguration c,
+    final CharSequence text,
+    final int offset,
+    final int line,
+    final int column)
+  {
+    Objects.requireNonNull(c, "Configuration");
+    Objects.requireNonNull(text, "Text");
+    Objects.checkIndex(offset, text.length() + 1);
+
+    final Scanner scanner =
+      new Scanner(c, new TextSource(text, offset), 0L, line, column, 0L);
+
+    return new Iterator<>()
+    {
+      private JSXLexerRegion next = scanner.nextText();
+
+      @Override
+      public boolean hasNext()
+      {
+        return this.next != null;
+      }
+
+      @Override
+      public JSXLexerRegion next()
+      {
+        final JSXLexerRegion region = this.next;
+        if (region == null) {
+          throw new NoSuchElementException();
+        }
+        this.next = scanner.nextText();
+        return region;
+      }
+    };
+  }
+
+  /**
+   * A source of code points for the scanner.
+   */
+
+  private interface SourceType
+  {
+    int read()
+      throws IOException;
+
+    void push(int c);
+
+    long offset();
+  }
+
+  private static final class UTF8Source implements SourceType
+  {
+    private final JSXLexerUTF8 lexer;
+
+    UTF8Source(
+      final JSXLexerUTF8 inLexer)
+    {
+      this.lexer = inLexer;
+    }
+
+    @Override
+    public int read()
+      throws IOException
+    {
+      return this.lexer.readCodePoint();
+    }
+
+    @Override
+    public void push(
+      final int c)
+    {
+      this.lexer.pushCodePoint(c);
+    }
+
+    @Override
+    public long offset()
+    {
+      return this.lexer.offset();
+    }
+  }
+
+  /*
+   * Text is read a code point at a time. Unpaired surrogates are returned
+   * as they are; the lexer will reject them when the region is lexed.
+   */
+
+  private static final class TextSource implements SourceType
+  {
+    private final CharSequence text;
+    private int index;
+
+    TextSource(
+      final CharSequence inText,
+      final int inIndex)
+    {
+      this.text = inText;
+      this.index = inIndex;
+    }
+
+    @Override
+    public int read()
+    {
+      if (this.index >= this.text.length()) {
+        return -1;
+      }
+      final int c = Character.codePointAt(this.text, this.index);
+      this.index += Character.charCount(c);
+      return c;
+    }
+
+    @Override
+    public void push(
+      final int c)
+    {
+      --this.index;
+    }
+
+    @Override
+    public long offset()
+    {
+      return (long) this.index;
+    }
+  }
+
+  private static final class Scanner
+  {
+    private final byte[] classes;
+    private final SourceType source;
+    private final long base;
+    private final long targetSize;
+    private JSXLexerState state;
+    private JSXLexerRegion completed;
+    private boolean finished;
+    private int count;
+    private int line;
+    private int column;
+    private int depth;
+    private long regionStart;
+    private int regionLine;
+    private int regionColumn;
+
+    Scanner(
+      final JSXLexerConfiguration inConfig,
+      final SourceType inSource,
+      final long inBase,
+      final int inLine,
+      final int inColumn,
+      final long inTargetSize)
+    {
+      this.classes = JSXLexerCharacterClasses.tableFor(inConfig);
+      this.source = inSource;
+      this.base = inBase;
+      this.targetSize = inTargetSize;
+      this.state = JSXLexerState.STATE_INITIAL;
+      this.line = inLine;
+      this.column = inColumn;
+      this.depth = 0;
+      this.regionStart = inBase + inSource.offset();
+      this.regionLine = inLine;
+      this.regionColumn = inColumn;
+    }
+
+    Scanner(
+      final JSXLexerConfiguration inConfig,
+      final JSXLexerUTF8 inLexer,
+      final long inBase,
+      final long inTargetSize)
+    {
+      this(
+        inConfig,
+        new UTF8Source(inLexer),
+        inBase,
+        inConfig.startAtLine(),
+        0,
+        inTargetSize);
+    }
+
+    private int read()
+      throws IOException
+    {
+      final int c = this.source.read();
+      if (c != -1) {
+        ++this.column;
+      }
+      return c;
+    }
+
+    private void newline()
+    {
+      ++this.line;
+      this.column = 0;
+    }
+
+    private void closeList()
+    {
+      --this.depth;
+      if (this.depth < 0) {
+        this.depth = 0;
+        return;
+      }
+      if (this.depth == 0) {
+        final long offset = this.base + this.source.offset();
+        if (offset - this.regionStart >= this.targetSize) {
+          this.completed = new JSXLexerRegion(
+            this.regionStart,
+            offset - this.regionStart,
+            this.regionLine,
+            this.regionColumn);
+          this.regionStart = offset;
+          this.regionLine = this.line;
+          this.regionColumn = this.column;
+        }
+      }
+    }
+
+    private JSXLexerRegion finish()
+    {
+      this.finished = true;
+      final long end = this.base + this.source.offset();
+      if (end > this.regionStart || this.count == 0) {
+        return new JSXLexerRegion(
+          this.regionStart,
+          end - this.regionStart,
+          this.regionLine,
+          this.regionColumn);
+      }
+      return null;
+    }
+
+    List<JSXLexerRegion> scan()
+      throws IOException
+    {
+      final ArrayList<JSXLexerRegion> regions = new ArrayList<>(16);
+      while (true) {
+        final JSXLexerRegion region = this.next();
+        if (region == null) {
+          return List.copyOf(regions);
+        }
+        regions.add(region);
+      }
+    }
+
+    /*
+     * Scan until the next region is complete, returning null once the
+     * input and the final region have been consumed.
+     */
+
+    JSXLexerRegion next()
+      throws IOException
+    {
+      if (this.finished) {
+        return null;
+      }
+
+      final JSXLexerRegion region = this.nextRegion();
+      if (region != null) {
+        ++this.count;
+      }
+      return region;
+    }
+
+    /*
+     * Text sources never raise I/O errors.
+     */
+
+    JSXLexerRegion nextText()
+    {
+      try {
+        return this.next();
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    /*
+     * This mirrors the state machine in JSXLexerAbstract, including the
+     * points at which characters are pushed back, and classifies characters
+     * with the same tables. Comments are always skipped. It is not
+     * realistically possible to reduce the cyclomatic complexity of this
+     * function.
+     */
+
+    // CHECKSTYLE:OFF
+    private JSXLexerRegion nextRegion()
+      throws IOException
+    {
+      while (true) {
+        final int c = this.read();
+        if (c == -1) {
+          return this.finish();
+        }
+
+        switch (this.state) {
+          case STATE_INITIAL -> {
+            switch (JSXLexerCharacterClasses.classify(this.classes, c)) {
+              case JSXLexerCharacterClasses.NEWLINE -> this.newline();
+              case JSXLexerCharacterClasses.CARRIAGE_RETURN ->
+                this.state = JSXLexerState.STATE_IN_CRLF;
+              case JSXLexerCharacterClasses.QUOTE ->
+                this.state = JSXLexerState.STATE_IN_STRING_QUOTED;
+              case JSXLexerCharacterClasses.COMMENT ->
+                this.state = JSXLexerState.STATE_IN_COMMENT_SKIPPED;
+              case JSXLexerCharacterClasses.LEFT_PARENTHESIS,
+                   JSXLexerCharacterClasses.LEFT_SQUARE -> ++this.depth;
+              case JSXLexerCharacterClasses.RIGHT_PARENTHESIS,
+                   JSXLexerCharacterClasses.RIGHT_SQUARE -> this.closeList();
+              case JSXLexerCharacterClasses.SPACE -> {
+
+              }
+              default -> this.state = JSXLexerState.STATE_IN_SYMBOL;
+            }
+          }
+          case STATE_IN_CRLF -> {
+            if (c == (int) '\n') {
+              this.newline();
+            }
+            this.state = JSXLexerState.STATE_INITIAL;
+          }
+          case STATE_IN_STRING_QUOTED -> {
+            if (c == (int) '\\') {
+              if (this.read() == -1) {
+                return this.finish();
+              }
+            } else if (c == (int) '"') {
+              this.state = JSXLexerState.STATE_INITIAL;
+            }
+          }
+          case STATE_IN_COMMENT, STATE_IN_COMMENT_SKIPPED -> {
+            if (c == (int) '\n') {
+              this.newline();
+              this.state = JSXLexerState.STATE_INITIAL;
+            } else if (c == (int) '\r') {
+              this.state = JSXLexerState.STATE_IN_CRLF;
+            }
+          }
+          case STATE_IN_SYMBOL -> {
+            switch (JSXLexerCharacterClasses.classify(this.classes, c)) {
+              case JSXLexerCharacterClasses.SPACE ->
+                this.state = JSXLexerState.STATE_INITIAL;
+              case JSXLexerCharacterClasses.NEWLINE -> {
+                this.newline();
+                this.state = JSXLexerState.STATE_INITIAL;
+              }
+              case JSXLexerCharacterClasses.CARRIAGE_RETURN ->
+                this.state = JSXLexerState.STATE_IN_CRLF;
+              case JSXLexerCharacterClasses.QUOTE,
+                   JSXLexerCharacterClasses.LEFT_PARENTHESIS,
+                   JSXLexerCharacterClasses.RIGHT_PARENTHESIS,
+                   JSXLexerCharacterClasses.LEFT_SQUARE,
+                   JSXLexerCharacterClasses.RIGHT_SQUARE -> {
+                this.source.push(c);
+                this.state = JSXLexerState.STATE_INITIAL;
+              }
+              default -> {
+
+              }
+            }
+          }
+        }
+
+        if (this.completed != null) {
+          final JSXLexerRegion region = this.completed;
+          this.completed = null;
+          return region;
+        }
+      }
+    }
+    // CHECKSTYLE:ON
+  }
+}
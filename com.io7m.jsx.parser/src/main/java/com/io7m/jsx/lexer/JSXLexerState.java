@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+/**
+ * The states of the lexer state machine. The same states are used by
+ * {@link JSXLexerAbstract} when producing tokens, and by
+ * {@link JSXLexerRegions} when scanning input without producing tokens.
+ */
+
+enum JSXLexerState
+{
+  /**
+   * A carriage return has been read, and a line feed must follow.
+   */
+
+  STATE_IN_CRLF,
+
+  /**
+   * The opening quote of a quoted string has been read.
+   */
+
+  STATE_IN_STRING_QUOTED,
+
+  /**
+   * The first character of a symbol has been read.
+   */
+
+  STATE_IN_SYMBOL,
+
+  /**
+   * A comment character has been read, and the comment is being collected.
+   */
+
+  STATE_IN_COMMENT,
+
+  /**
+   * A comment character has been read, and the comment is being skipped.
+   */
+
+  STATE_IN_COMMENT_SKIPPED,
+
+  /**
+   * Between tokens.
+   */
+
+  STATE_INITIAL
+}
@@ -22,13 +22,21 @@ import com.io7m.jsx.api.lexer.JSXLexerSupplierType;
 import com.io7m.jsx.api.lexer.JSXLexerType;
 import org.osgi.service.component.annotations.Component;
 
+import java.io.Reader;
+
 /**
- * A lexer supplier.
+ * A lexer supplier that produces {@link JSXLexer} lexers. Lexers obtained
+ * from {@link #createForCurrentThread(JSXLexerConfiguration, Reader)} are
+ * also {@link JSXLexer} lexers, and so the pooled and unpooled entry points
+ * produce the same tokens and errors, and read the same number of
+ * characters from their readers.
  */
 
 @Component
 public final class JSXLexerSupplier implements JSXLexerSupplierType
 {
+  private final JSXLexerThreadLocal<JSXLexer> threadLocal;
+
   /**
    * Create a new lexer supplier.
    *
@@ -37,7 +45,34 @@ public final class JSXLexerSupplier implements JSXLexerSupplierType
 
   public JSXLexerSupplier()
   {
+    this.threadLocal = new JSXLexerThreadLocal<>(JSXLexer::newLexerFromReader);
+  }
+
+  /**
+   * Lexers obtained from this method are {@link JSXLexer} lexers,
+   * one per thread, which are reset and reused for as long as the given
+   * configuration does not change.
+   *
+   * @param configuration The configuration
+   * @param reader        The reader
+   *
+   * @return A lexer owned by the current thread
+   */
+
+  @Override
+  public JSXLexerType createForCurrentThread(
+    final JSXLexerConfiguration configuration,
+    final Reader reader)
+  {
+    return this.threadLocal.lexerFor(configuration, reader);
+  }
 
+  @Override
+  public JSXLexerType createFromReader(
+    final JSXLexerConfiguration configuration,
+    final Reader reader)
+  {
+    return JSXLexer.newLexerFromReader(configuration, reader);
   }
 
   @Override
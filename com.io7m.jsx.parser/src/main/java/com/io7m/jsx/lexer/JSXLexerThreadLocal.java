@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+
+import java.io.Reader;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * A per-thread cache of lexers. Each thread holds at most one lexer, which
+ * is reset and returned for as long as the requested configuration does
+ * not change. A cached lexer releases its reader on reaching the end of the
+ * input, and so readers are not kept reachable by the cache once they have
+ * been consumed.
+ *
+ * @param <T> The type of lexers
+ */
+
+final class JSXLexerThreadLocal<T extends JSXLexerAbstract>
+{
+  private final ThreadLocal<T> lexers;
+  private final BiFunction<JSXLexerConfiguration, Reader, T> factory;
+
+  JSXLexerThreadLocal(
+    final BiFunction<JSXLexerConfiguration, Reader, T> inFactory)
+  {
+    this.lexers = new ThreadLocal<>();
+    this.factory = Objects.requireNonNull(inFactory, "Factory");
+  }
+
+  JSXLexerType lexerFor(
+    final JSXLexerConfiguration configuration,
+    final Reader reader)
+  {
+    Objects.requireNonNull(configuration, "Configuration");
+    Objects.requireNonNull(reader, "Reader");
+
+    final T existing = this.lexers.get();
+    if (existing != null && existing.configuration().equals(configuration)) {
+      existing.reset(reader);
+      return existing;
+    }
+
+    final T created = this.factory.apply(configuration, reader);
+    this.lexers.set(created);
+    return created;
+  }
+}
@@ -0,0 +1,569 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * A lexer that operates directly on UTF-8 encoded bytes. ASCII bytes, which
+ * include all of the structural characters of the language, are returned to
+ * the lexer directly; only bytes that begin multi-byte sequences are decoded.
+ * Malformed sequences are replaced with {@code U+FFFD} in the same manner as
+ * the standard UTF-8 decoder, and so the tokens produced are identical to
+ * those produced by {@link JSXLexer} reading from an
+ * {@link java.io.InputStreamReader}.
+ *
+ * A lexer reset with {@link #reset(Reader)} has no bytes to decode, and so
+ * it reads the characters of the reader directly in the same manner as
+ * {@link JSXLexerBuffered}, until it is next reset with a stream.
+ */
+
+public final class JSXLexerUTF8 extends JSXLexerAbstract
+{
+  /**
+   * The default size of the byte buffer used when reading streams.
+   */
+
+  public static final int DEFAULT_BUFFER_SIZE = 65536;
+
+  /**
+   * The default size of the regions mapped into memory when reading files.
+   */
+
+  public static final int DEFAULT_MAP_CHUNK_SIZE = 1 << 30;
+
+  private static final int REPLACEMENT = 0xFFFD;
+  private static final int RUN_SIZE = 4096;
+
+  private JSXLexerByteSourceType source;
+  private ByteBuffer chunk;
+  private int index;
+  private int limit;
+  private int chunkStart;
+  private final char[] runText;
+  private long chunkOffset;
+  private JSXLexerCharBuffer chars;
+  private boolean textInput;
+
+  JSXLexerUTF8(
+    final JSXLexerConfiguration c,
+    final JSXLexerByteSourceType inSource)
+  {
+    this(c, inSource, 0);
+  }
+
+  JSXLexerUTF8(
+    final JSXLexerConfiguration c,
+    final JSXLexerByteSourceType inSource,
+    final int startColumn)
+  {
+    super(c, startColumn);
+    this.source = Objects.requireNonNull(inSource, "Source");
+    this.chunk = ByteBuffer.allocate(0);
+    this.index = 0;
+    this.limit = 0;
+    this.chunkStart = 0;
+    this.chunkOffset = 0L;
+    this.runText = new char[RUN_SIZE];
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from the given stream.
+   *
+   * @param c The lexer configuration
+   * @param s The stream
+   *
+   * @return A new lexer
+   */
+
+  public static JSXLexerType newLexer(
+    final JSXLexerConfiguration c,
+    final InputStream s)
+  {
+    return newLexerWithBufferSize(c, s, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from the given stream.
+   *
+   * @param c    The lexer configuration
+   * @param s    The stream
+   * @param size The size of the byte buffer
+   *
+   * @return A new lexer
+   */
+
+  public static JSXLexerType newLexerWithBufferSize(
+    final JSXLexerConfiguration c,
+    final InputStream s,
+    final int size)
+  {
+    return new JSXLexerUTF8(c, new StreamSource(s, size));
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from the remaining bytes of
+   * the given buffer. The position and limit of the buffer are not modified.
+   *
+   * @param c The lexer configuration
+   * @param b The buffer
+   *
+   * @return A new lexer
+   */
+
+  public static JSXLexerType newLexerFromBuffer(
+    final JSXLexerConfiguration c,
+    final ByteBuffer b)
+  {
+    return new JSXLexerUTF8(c, new BufferSource(b));
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from the given file channel,
+   * starting at the channel's current position and ending at the current
+   * size of the file. The file is mapped into memory and the lexer operates
+   * directly on the mapped pages. The channel must remain open until lexing
+   * has completed, and the position of the channel is not modified.
+   *
+   * @param c       The lexer configuration
+   * @param channel The file channel
+   *
+   * @return A new lexer
+   *
+   * @throws IOException On I/O errors
+   */
+
+  public static JSXLexerType newLexerFromChannel(
+    final JSXLexerConfiguration c,
+    final FileChannel channel)
+    throws IOException
+  {
+    return newLexerFromChannelWithChunkSize(c, channel, DEFAULT_MAP_CHUNK_SIZE);
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from the given file channel.
+   *
+   * @param c         The lexer configuration
+   * @param channel   The file channel
+   * @param chunkSize The maximum size of each region mapped into memory
+   *
+   * @return A new lexer
+   *
+   * @throws IOException On I/O errors
+   *
+   * @see #newLexerFromChannel(JSXLexerConfiguration, FileChannel)
+   */
+
+  public static JSXLexerType newLexerFromChannelWithChunkSize(
+    final JSXLexerConfiguration c,
+    final FileChannel channel,
+    final int chunkSize)
+    throws IOException
+  {
+    return new JSXLexerUTF8(
+      c, new JSXLexerByteSourceMapped(channel, chunkSize));
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from a region of the given
+   * file channel. The lexer begins at the line and column of the region, and
+   * so produces the same lexical positions as a lexer that had read the file
+   * from the start of the scan that produced the region.
+   *
+   * @param c       The lexer configuration used for the scan
+   * @param channel The file channel
+   * @param region  The region
+   *
+   * @return A new lexer
+   *
+   * @see JSXLexerRegions#scanFile(JSXLexerConfiguration, FileChannel, long)
+   */
+
+  public static JSXLexerType newLexerForFileRegion(
+    final JSXLexerConfiguration c,
+    final FileChannel channel,
+    final JSXLexerRegion region)
+  {
+    return new JSXLexerUTF8(
+      region.configurationFor(c),
+      new JSXLexerByteSourceMapped(
+        channel,
+        region.offset(),
+        region.offset() + region.size(),
+        DEFAULT_MAP_CHUNK_SIZE),
+      region.column()
+    );
+  }
+
+  /**
+   * Construct a new lexer that reads UTF-8 data from a region of the given
+   * buffer. Region offsets are relative to the position of the buffer, and
+   * the position and limit of the buffer are not modified.
+   *
+   * @param c      The lexer configuration used for the scan
+   * @param buffer The buffer
+   * @param region The region
+   *
+   * @return A new lexer
+   *
+   * @see JSXLexerRegions#scanBuffer(JSXLexerConfiguration, ByteBuffer, long)
+   */
+
+  public static JSXLexerType newLexerForBufferRegion(
+    final JSXLexerConfiguration c,
+    final ByteBuffer buffer,
+    final JSXLexerRegion region)
+  {
+    final ByteBuffer slice =
+      buffer.slice(
+        Math.toIntExact(buffer.position() + region.offset()),
+        Math.toIntExact(region.size()));
+
+    return new JSXLexerUTF8(
+      region.configurationFor(c), new BufferSource(slice), region.column());
+  }
+
+  /**
+   * Reset the lexer so that it reads UTF-8 data from the given stream. The
+   * byte buffer of the previous stream is reused, if there was one.
+   *
+   * @param s The new stream
+   */
+
+  public void reset(
+    final InputStream s)
+  {
+    Objects.requireNonNull(s, "Stream");
+
+    if (this.source instanceof final StreamSource streamSource) {
+      streamSource.reset(s);
+    } else {
+      this.source = new StreamSource(s, DEFAULT_BUFFER_SIZE);
+    }
+    this.textInput = false;
+    this.resetInput();
+  }
+
+  /**
+   * Reset the lexer so that it reads the characters of the given reader
+   * directly, without encoding them as UTF-8. The character buffer of the
+   * previous reader is reused, if there was one.
+   *
+   * @param r The new reader
+   */
+
+  @Override
+  public void reset(
+    final Reader r)
+  {
+    Objects.requireNonNull(r, "Reader");
+
+    if (this.chars == null) {
+      this.chars = new JSXLexerCharBuffer(r, JSXLexerBuffered.DEFAULT_BUFFER_SIZE);
+    } else {
+      this.chars.reset(r);
+    }
+    this.textInput = true;
+    this.releaseSource();
+    this.resetInput();
+  }
+
+  /*
+   * Release the byte input, so that a lexer reading text does not keep a
+   * stream or a mapped file reachable. A stream buffer is retained for
+   * reuse.
+   */
+
+  private void releaseSource()
+  {
+    if (this.source instanceof final StreamSource streamSource) {
+      streamSource.reset(InputStream.nullInputStream());
+    } else {
+      this.source = new BufferSource(ByteBuffer.allocate(0));
+    }
+  }
+
+  private void resetInput()
+  {
+    this.chunk = ByteBuffer.allocate(0);
+    this.index = 0;
+    this.limit = 0;
+    this.chunkStart = 0;
+    this.chunkOffset = 0L;
+    this.resetState();
+  }
+
+  /**
+   * @return The number of bytes consumed so far
+   */
+
+  long offset()
+  {
+    return this.chunkOffset + (long) (this.index - this.chunkStart);
+  }
+
+  private boolean fill()
+    throws IOException
+  {
+    this.chunkOffset += (long) (this.limit - this.chunkStart);
+    this.chunk = this.source.nextChunk();
+    this.index = this.chunk.position();
+    this.limit = this.chunk.limit();
+    this.chunkStart = this.index;
+    return this.index < this.limit;
+  }
+
+  private int readByte()
+    throws IOException
+  {
+    if (this.index >= this.limit) {
+      if (!this.fill()) {
+        return -1;
+      }
+    }
+
+    final int b = (int) this.chunk.get(this.index) & 0xff;
+    ++this.index;
+    return b;
+  }
+
+  @Override
+  int readCodePoint()
+    throws IOException
+  {
+    if (this.textInput) {
+      return this.chars.readCodePoint();
+    }
+
+    final int b = this.readByte();
+    if (b < 0x80) {
+      return b;
+    }
+    return this.readMultiByte(b);
+  }
+
+  /*
+   * Decode a multi-byte sequence. The accepted ranges of the second byte
+   * exclude overlong encodings and values above U+10FFFF. On encountering an
+   * unacceptable byte, the bytes read so far are replaced with a single
+   * U+FFFD and the unacceptable byte is returned to the input to be read
+   * again. An encoded surrogate is replaced as a whole with a single U+FFFD,
+   * as the standard decoder does.
+   */
+
+  private int readMultiByte(
+    final int b0)
+    throws IOException
+  {
+    final int count;
+    int cp;
+    int low = 0x80;
+    int high = 0xbf;
+
+    if (b0 >= 0xc2 && b0 <= 0xdf) {
+      count = 1;
+      cp = b0 & 0x1f;
+    } else if (b0 >= 0xe0 && b0 <= 0xef) {
+      count = 2;
+      cp = b0 & 0x0f;
+      low = b0 == 0xe0 ? 0xa0 : low;
+    } else if (b0 >= 0xf0 && b0 <= 0xf4) {
+      count = 3;
+      cp = b0 & 0x07;
+      low = b0 == 0xf0 ? 0x90 : low;
+      high = b0 == 0xf4 ? 0x8f : high;
+    } else {
+      return REPLACEMENT;
+    }
+
+    for (int k = 0; k < count; ++k) {
+      final int b = this.readByte();
+      if (b < low || b > high) {
+        if (b != -1) {
+          --this.index;
+        }
+        return REPLACEMENT;
+      }
+      cp = (cp << 6) | (b & 0x3f);
+      low = 0x80;
+      high = 0xbf;
+    }
+    return replaceSurrogate(cp);
+  }
+
+  private static int replaceSurrogate(
+    final int cp)
+  {
+    if (cp >= (int) Character.MIN_SURROGATE
+      && cp <= (int) Character.MAX_SURROGATE) {
+      return REPLACEMENT;
+    }
+    return cp;
+  }
+
+  /*
+   * ASCII bytes are widened into a scratch array as they are scanned, so
+   * that the run can be appended to the output in a single operation.
+   * Bytes outside of the ASCII range are negative when read as signed
+   * values, and end the run.
+   */
+
+  @Override
+  int scanRun(
+    final boolean[] run,
+    final StringBuilder out)
+  {
+    if (this.textInput) {
+      return this.chars.scanRun(run, out);
+    }
+
+    final ByteBuffer b = this.chunk;
+    final char[] text = this.runText;
+    final int start = this.index;
+    final int end = Math.min(this.limit, start + text.length);
+
+    int i = start;
+    while (i < end) {
+      final int c = (int) b.get(i);
+      if (c < 0 || !run[c]) {
+        break;
+      }
+      text[i - start] = (char) c;
+      ++i;
+    }
+
+    final int count = i - start;
+    if (count > 0) {
+      out.append(text, 0, count);
+    }
+    this.index = i;
+    return count;
+  }
+
+  @Override
+  int skipRun(
+    final boolean[] run)
+  {
+    if (this.textInput) {
+      return this.chars.skipRun(run);
+    }
+
+    final ByteBuffer b = this.chunk;
+    final int start = this.index;
+
+    int i = start;
+    while (i < this.limit) {
+      final int c = (int) b.get(i);
+      if (c < 0 || !run[c]) {
+        break;
+      }
+      ++i;
+    }
+
+    this.index = i;
+    return i - start;
+  }
+
+  @Override
+  void pushCodePoint(
+    final int c)
+  {
+    if (this.textInput) {
+      this.chars.pushCodePoint();
+      return;
+    }
+
+    /*
+     * The lexer only ever pushes back the ASCII code point that it has just
+     * read, and so the byte is still present in the current chunk.
+     */
+
+    --this.index;
+  }
+
+  private static final class StreamSource implements JSXLexerByteSourceType
+  {
+    private InputStream stream;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+
+    StreamSource(
+      final InputStream inStream,
+      final int size)
+    {
+      this.stream = Objects.requireNonNull(inStream, "Stream");
+
+      if (size < 1) {
+        throw new IllegalArgumentException(
+          "Buffer size must be at least 1 (got %d)".formatted(
+            Integer.valueOf(size)));
+      }
+
+      this.bytes = new byte[size];
+      this.buffer = ByteBuffer.wrap(this.bytes);
+    }
+
+    void reset(
+      final InputStream inStream)
+    {
+      this.stream = inStream;
+    }
+
+    @Override
+    public ByteBuffer nextChunk()
+      throws IOException
+    {
+      while (true) {
+        final int r = this.stream.read(this.bytes, 0, this.bytes.length);
+        if (r == -1) {
+          return this.buffer.limit(0);
+        }
+        if (r > 0) {
+          return this.buffer.position(0).limit(r);
+        }
+      }
+    }
+  }
+
+  private static final class BufferSource implements JSXLexerByteSourceType
+  {
+    private ByteBuffer buffer;
+
+    BufferSource(
+      final ByteBuffer inBuffer)
+    {
+      this.buffer = Objects.requireNonNull(inBuffer, "Buffer");
+    }
+
+    @Override
+    public ByteBuffer nextChunk()
+    {
+      final ByteBuffer b = this.buffer;
+      this.buffer = b.slice(b.limit(), 0);
+      return b;
+    }
+  }
+}
@@ -18,28 +18,23 @@ package com.io7m.jsx.parser;
 
 import com.io7m.jlexing.core.LexicalPosition;
 import com.io7m.jsx.SExpressionType;
-import com.io7m.jsx.SExpressionType.SList;
+import com.io7m.jsx.SExpressionType.SListType;
 import com.io7m.jsx.SExpressionType.SQuotedString;
 import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.lexer.JSXLexerCursorType;
 import com.io7m.jsx.api.lexer.JSXLexerException;
+import com.io7m.jsx.api.lexer.JSXLexerTokenKind;
 import com.io7m.jsx.api.lexer.JSXLexerType;
 import com.io7m.jsx.api.parser.JSXParserConfiguration;
 import com.io7m.jsx.api.parser.JSXParserException;
 import com.io7m.jsx.api.parser.JSXParserGrammarException;
 import com.io7m.jsx.api.parser.JSXParserLexicalException;
 import com.io7m.jsx.api.parser.JSXParserType;
-import com.io7m.jsx.api.tokens.TokenComment;
-import com.io7m.jsx.api.tokens.TokenEOF;
-import com.io7m.jsx.api.tokens.TokenLeftParenthesis;
-import com.io7m.jsx.api.tokens.TokenLeftSquare;
-import com.io7m.jsx.api.tokens.TokenQuotedString;
-import com.io7m.jsx.api.tokens.TokenRightParenthesis;
-import com.io7m.jsx.api.tokens.TokenRightSquare;
-import com.io7m.jsx.api.tokens.TokenSymbol;
-import com.io7m.jsx.api.tokens.TokenType;
 import com.io7m.junreachable.UnreachableCodeException;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
@@ -48,41 +43,39 @@ import java.util.Optional;
 
 /**
  * The default implementation of the {@link JSXParserType} type.
+ *
+ * The parser reads tokens through the lexer's cursor (see
+ * {@link JSXLexerType#cursor()}), and so does not require the lexer to
+ * allocate a token object for each token.
  */
 
 public final class JSXParser implements JSXParserType
 {
-  private static final LexicalPosition<URI> LEX_DEFAULT =
+  static final LexicalPosition<URI> LEX_DEFAULT =
     LexicalPosition.of(1, 0, Optional.empty());
 
   private final JSXParserConfiguration config;
   private final JSXLexerType lexer;
+  private final JSXLexerCursorType cursor;
+  private final ArrayList<ListBuilder> open;
+  private final ArrayList<SExpressionType> elements;
 
-  private JSXParser(
+  JSXParser(
     final JSXParserConfiguration in_config,
     final JSXLexerType in_lexer)
   {
     this.config = Objects.requireNonNull(in_config, "Configuration");
     this.lexer = Objects.requireNonNull(in_lexer, "Lexer");
+    this.lexer.setLexicalPositionsEnabled(this.config.preserveLexical());
+    this.lexer.setCommentTokensEnabled(false);
+    this.cursor = this.lexer.cursor();
+    this.open = new ArrayList<>(16);
+    this.elements = new ArrayList<>(64);
   }
 
-  private static SQuotedString completeQuotedString(
-    final JSXParserConfiguration c,
-    final TokenQuotedString t)
-  {
-    return new SQuotedString(getTokenLexical(c, t), t.text());
-  }
-
-  private static SExpressionType completeSymbol(
-    final JSXParserConfiguration c,
-    final TokenSymbol t)
-  {
-    return new SSymbol(getTokenLexical(c, t), t.text());
-  }
-
-  private static LexicalPosition<URI> getTokenLexical(
+  static LexicalPosition<URI> getTokenLexical(
     final JSXParserConfiguration c,
-    final TokenType t)
+    final JSXLexerCursorType t)
   {
     final LexicalPosition<URI> lex;
     if (!c.preserveLexical()) {
@@ -93,47 +86,51 @@ public final class JSXParser implements JSXParserType
     return lex;
   }
 
-  private static JSXParserGrammarException errorUnexpectedEOF(
+  static JSXParserGrammarException errorUnexpectedEOF(
     final LexicalPosition<URI> lexical)
   {
     return new JSXParserGrammarException(
       lexical, "Unexpected EOF during list parsing");
   }
 
-  private static JSXParserGrammarException errorUnexpectedRightParen(
-    final TokenRightParenthesis t)
+  static JSXParserGrammarException errorUnexpectedRightParen(
+    final LexicalPosition<URI> lexical)
   {
     return new JSXParserGrammarException(
-      t.lexical(), "Unbalanced parentheses (unexpected ')')");
+      lexical, "Unbalanced parentheses (unexpected ')')");
   }
 
-  private static JSXParserGrammarException
+  static JSXParserGrammarException
   errorUnexpectedRightParenWantedSquare(
-    final TokenRightParenthesis t)
+    final LexicalPosition<URI> lexical)
   {
     return new JSXParserGrammarException(
-      t.lexical(),
+      lexical,
       "Attempted to end a list started with '[' with ')' - unbalanced round/square brackets");
   }
 
-  private static JSXParserGrammarException errorUnexpectedRightSquare(
-    final TokenRightSquare t)
+  static JSXParserGrammarException errorUnexpectedRightSquare(
+    final LexicalPosition<URI> lexical)
   {
     return new JSXParserGrammarException(
-      t.lexical(), "Unbalanced parentheses (unexpected ']')");
+      lexical, "Unbalanced parentheses (unexpected ']')");
   }
 
-  private static JSXParserGrammarException
+  static JSXParserGrammarException
   errorUnexpectedRightSquareWantedParens(
-    final TokenRightSquare t)
+    final LexicalPosition<URI> lexical)
   {
     return new JSXParserGrammarException(
-      t.lexical(),
+      lexical,
       "Attempted to end a list started with '(' with ']' - unbalanced round/square brackets");
   }
 
   /**
-   * Construct a new parser.
+   * Construct a new parser. If the configuration does not preserve lexical
+   * information, lexical positions are disabled on the given lexer (see
+   * {@link JSXLexerType#setLexicalPositionsEnabled(boolean)}). The parser
+   * discards comments, and so comment tokens are disabled on the given lexer
+   * (see {@link JSXLexerType#setCommentTokensEnabled(boolean)}).
    *
    * @param pc  The parser configuration
    * @param lex A lexer
@@ -148,95 +145,128 @@ public final class JSXParser implements JSXParserType
     return new JSXParser(pc, lex);
   }
 
-  private static SExpressionType parseExpressionPeeked(
+  static JSXParserGrammarException errorMaximumDepth(
     final JSXParserConfiguration c,
-    final JSXLexerType lexer,
-    final TokenType peek)
+    final LexicalPosition<URI> lexical)
+  {
+    return new JSXParserGrammarException(
+      lexical,
+      "Maximum list nesting depth exceeded (maximum %d)".formatted(
+        Integer.valueOf(c.maxDepth())));
+  }
+
+  private SExpressionType parseExpressionPeeked(
+    final JSXLexerTokenKind peek)
     throws JSXLexerException, IOException, JSXParserGrammarException
   {
-    if (peek instanceof TokenLeftParenthesis) {
-      return parseListParens(c, lexer, (TokenLeftParenthesis) peek);
-    }
-    if (peek instanceof TokenLeftSquare) {
-      return parseListSquares(c, lexer, (TokenLeftSquare) peek);
-    }
-    if (peek instanceof TokenRightSquare) {
-      throw errorUnexpectedRightSquare((TokenRightSquare) peek);
-    }
-    if (peek instanceof TokenRightParenthesis) {
-      throw errorUnexpectedRightParen((TokenRightParenthesis) peek);
-    }
-    if (peek instanceof TokenQuotedString) {
-      return completeQuotedString(c, (TokenQuotedString) peek);
-    }
-    if (peek instanceof TokenSymbol) {
-      return completeSymbol(c, (TokenSymbol) peek);
-    }
-    if (peek instanceof TokenEOF) {
-      throw errorUnexpectedEOF(peek.lexical());
-    }
+    return switch (peek) {
+      case LEFT_PARENTHESIS -> this.parseList(false);
+      case LEFT_SQUARE -> this.parseList(true);
+      case RIGHT_SQUARE ->
+        throw errorUnexpectedRightSquare(this.cursor.lexical());
+      case RIGHT_PARENTHESIS ->
+        throw errorUnexpectedRightParen(this.cursor.lexical());
+      case EOF -> throw errorUnexpectedEOF(this.cursor.lexical());
+      case SYMBOL, QUOTED_STRING, COMMENT -> this.parseAtom(peek);
+    };
+  }
 
-    throw new UnreachableCodeException();
+  private SExpressionType parseAtom(
+    final JSXLexerTokenKind kind)
+  {
+    final JSXLexerCursorType t = this.cursor;
+    return switch (kind) {
+      case SYMBOL -> new SSymbol(
+        getTokenLexical(this.config, t), t.textAsString());
+      case QUOTED_STRING -> new SQuotedString(
+        getTokenLexical(this.config, t), t.textAsString());
+      default -> throw new UnreachableCodeException();
+    };
   }
 
-  private static SExpressionType parseListParens(
-    final JSXParserConfiguration c,
-    final JSXLexerType lexer,
-    final TokenLeftParenthesis peek)
+  /*
+   * Parse a list without recursion. The lists that are still open are held
+   * in an explicit stack, and so the nesting depth is limited by the
+   * configured maximum depth rather than by the size of the thread stack.
+   *
+   * The elements of all open lists are accumulated in a single shared
+   * stack; when a list is closed, its elements are popped from the top of
+   * the stack and copied into an exact-size compact list. Both stacks are
+   * retained by the parser and reused for each list.
+   */
+
+  private SExpressionType parseList(
+    final boolean square)
     throws JSXLexerException, IOException, JSXParserGrammarException
   {
-    final var subExpressions =
-      new ArrayList<SExpressionType>(16);
-    final var initialLocation =
-      getTokenLexical(c, peek);
+    final JSXParserConfiguration c = this.config;
+    final JSXLexerCursorType t = this.cursor;
+
+    this.open.clear();
+    this.elements.clear();
+    ListBuilder current =
+      new ListBuilder(getTokenLexical(c, t), square, 0);
 
     while (true) {
-      final TokenType t = lexer.token();
-      if (t instanceof TokenEOF) {
-        throw errorUnexpectedEOF(initialLocation);
+      final JSXLexerTokenKind kind = t.next();
+      if (kind == JSXLexerTokenKind.EOF) {
+        throw errorUnexpectedEOF(current.lexical);
       }
-      if (t instanceof TokenComment) {
+      if (kind == JSXLexerTokenKind.COMMENT) {
+        continue;
+      }
+
+      final boolean leftParen = kind == JSXLexerTokenKind.LEFT_PARENTHESIS;
+      if (leftParen || kind == JSXLexerTokenKind.LEFT_SQUARE) {
+        if (this.open.size() + 1 >= c.maxDepth()) {
+          throw errorMaximumDepth(c, t.lexical());
+        }
+        this.open.add(current);
+        current = new ListBuilder(
+          getTokenLexical(c, t), !leftParen, this.elements.size());
         continue;
       }
-      if (t instanceof TokenRightParenthesis) {
-        return new SList(initialLocation, false, subExpressions);
+
+      if (!current.isClosedBy(t, kind)) {
+        this.elements.add(this.parseAtom(kind));
+        continue;
       }
-      if (t instanceof TokenRightSquare) {
-        throw errorUnexpectedRightSquareWantedParens(
-          (TokenRightSquare) t);
+
+      final SListType completed = current.complete(this.elements);
+      if (this.open.isEmpty()) {
+        return completed;
       }
-      subExpressions.add(parseExpressionPeeked(c, lexer, t));
+      current = this.open.remove(this.open.size() - 1);
+      this.elements.add(completed);
     }
   }
 
-  private static SExpressionType parseListSquares(
-    final JSXParserConfiguration c,
-    final JSXLexerType lexer,
-    final TokenLeftSquare peek)
-    throws JSXLexerException, IOException, JSXParserGrammarException
+  @Override
+  public void reset(
+    final Reader reader)
   {
-    final var subExpressions =
-      new ArrayList<SExpressionType>(16);
-    final var initialLocation =
-      getTokenLexical(c, peek);
+    this.lexer.reset(reader);
+    this.resetState();
+  }
 
-    while (true) {
-      final TokenType t = lexer.token();
-      if (t instanceof TokenEOF) {
-        throw errorUnexpectedEOF(initialLocation);
-      }
-      if (t instanceof TokenComment) {
-        continue;
-      }
-      if (t instanceof TokenRightParenthesis) {
-        throw errorUnexpectedRightParenWantedSquare(
-          (TokenRightParenthesis) t);
-      }
-      if (t instanceof TokenRightSquare) {
-        return new SList(initialLocation, true, subExpressions);
-      }
-      subExpressions.add(parseExpressionPeeked(c, lexer, t));
-    }
+  /*
+   * Clear any state left over from a previous parse, assuming that the
+   * lexer has already been reset.
+   */
+
+  void resetState()
+  {
+    this.lexer.setLexicalPositionsEnabled(this.config.preserveLexical());
+    this.lexer.setCommentTokensEnabled(false);
+    this.open.clear();
+    this.elements.clear();
+  }
+
+  boolean isReusableWith(
+    final JSXParserConfiguration c,
+    final JSXLexerType l)
+  {
+    return this.lexer == l && this.config.equals(c);
   }
 
   @Override
@@ -244,8 +274,7 @@ public final class JSXParser implements JSXParserType
     throws JSXParserException, IOException
   {
     try {
-      final TokenType peek = this.lexer.token();
-      return parseExpressionPeeked(this.config, this.lexer, peek);
+      return this.parseExpressionPeeked(this.cursor.next());
     } catch (final JSXLexerException e) {
       throw new JSXParserLexicalException(e);
     }
@@ -257,15 +286,14 @@ public final class JSXParser implements JSXParserType
   {
     try {
       while (true) {
-        final TokenType peek = this.lexer.token();
-        if (peek instanceof TokenEOF) {
+        final JSXLexerTokenKind peek = this.cursor.next();
+        if (peek == JSXLexerTokenKind.EOF) {
           return Optional.empty();
         }
-        if (peek instanceof TokenComment) {
+        if (peek == JSXLexerTokenKind.COMMENT) {
           continue;
         }
-        return Optional.of(
-          parseExpressionPeeked(this.config, this.lexer, peek));
+        return Optional.of(this.parseExpressionPeeked(peek));
       }
     } catch (final JSXLexerException e) {
       throw new JSXParserLexicalException(e);
@@ -279,17 +307,75 @@ public final class JSXParser implements JSXParserType
     try {
       final List<SExpressionType> xs = new ArrayList<>(64);
       while (true) {
-        final TokenType peek = this.lexer.token();
-        if (peek instanceof TokenEOF) {
+        final JSXLexerTokenKind peek = this.cursor.next();
+        if (peek == JSXLexerTokenKind.EOF) {
           return xs;
         }
-        if (peek instanceof TokenComment) {
+        if (peek == JSXLexerTokenKind.COMMENT) {
           continue;
         }
-        xs.add(parseExpressionPeeked(this.config, this.lexer, peek));
+        xs.add(this.parseExpressionPeeked(peek));
       }
     } catch (final JSXLexerException e) {
       throw new JSXParserLexicalException(e);
     }
   }
+
+  private static final class ListBuilder
+  {
+    private final LexicalPosition<URI> lexical;
+    private final boolean square;
+    private final int start;
+
+    ListBuilder(
+      final LexicalPosition<URI> inLexical,
+      final boolean inSquare,
+      final int inStart)
+    {
+      this.lexical = inLexical;
+      this.square = inSquare;
+      this.start = inStart;
+    }
+
+    /*
+     * Determine whether the given token closes this list, raising an error
+     * if the token is a closing bracket of the wrong kind.
+     */
+
+    boolean isClosedBy(
+      final JSXLexerCursorType cursor,
+      final JSXLexerTokenKind kind)
+      throws JSXParserGrammarException
+    {
+      if (kind == JSXLexerTokenKind.RIGHT_PARENTHESIS) {
+        if (this.square) {
+          throw errorUnexpectedRightParenWantedSquare(cursor.lexical());
+        }
+        return true;
+      }
+      if (kind == JSXLexerTokenKind.RIGHT_SQUARE) {
+        if (!this.square) {
+          throw errorUnexpectedRightSquareWantedParens(cursor.lexical());
+        }
+        return true;
+      }
+      return false;
+    }
+
+    /*
+     * Complete the list, removing its elements from the top of the shared
+     * element stack.
+     */
+
+    SListType complete(
+      final ArrayList<SExpressionType> elements)
+    {
+      final List<SExpressionType> items =
+        elements.subList(this.start, elements.size());
+      final SListType list =
+        SLists.of(this.lexical, this.square, items);
+      items.clear();
+      return list;
+    }
+  }
 }
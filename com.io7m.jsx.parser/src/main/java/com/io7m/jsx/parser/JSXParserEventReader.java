@@ -0,0 +1,240 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.parser;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerCursorType;
+import com.io7m.jsx.api.lexer.JSXLexerException;
+import com.io7m.jsx.api.lexer.JSXLexerTokenKind;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserEventKind;
+import com.io7m.jsx.api.parser.JSXParserEventReaderType;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.api.parser.JSXParserGrammarException;
+import com.io7m.jsx.api.parser.JSXParserLexicalException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * The default implementation of the {@link JSXParserEventReaderType} type.
+ */
+
+public final class JSXParserEventReader implements JSXParserEventReaderType
+{
+  private final JSXParserConfiguration config;
+  private final JSXLexerType lexer;
+  private final JSXLexerCursorType cursor;
+  private final ArrayList<LexicalPosition<URI>> openPositions;
+  private final BitSet openSquare;
+  private JSXParserEventKind kind;
+  private LexicalPosition<URI> lexical;
+  private String text;
+  private boolean square;
+  private JSXLexerComment comment;
+
+  private JSXParserEventReader(
+    final JSXParserConfiguration in_config,
+    final JSXLexerType in_lexer)
+  {
+    this.config = Objects.requireNonNull(in_config, "Configuration");
+    this.lexer = Objects.requireNonNull(in_lexer, "Lexer");
+    this.lexer.setLexicalPositionsEnabled(this.config.preserveLexical());
+    this.lexer.setCommentTokensEnabled(true);
+    this.cursor = this.lexer.cursor();
+    this.openPositions = new ArrayList<>(16);
+    this.openSquare = new BitSet();
+    this.kind = JSXParserEventKind.EOF;
+    this.lexical = JSXParser.LEX_DEFAULT;
+    this.text = "";
+  }
+
+  /**
+   * Construct a new event reader. If the configuration does not preserve
+   * lexical information, lexical positions are disabled on the given lexer
+   * (see {@link JSXLexerType#setLexicalPositionsEnabled(boolean)}). Comment
+   * tokens are enabled on the given lexer, so that comments are reported as
+   * events (see {@link JSXLexerType#setCommentTokensEnabled(boolean)}).
+   *
+   * @param pc  The parser configuration
+   * @param lex A lexer
+   *
+   * @return A new event reader
+   */
+
+  public static JSXParserEventReaderType newEventReader(
+    final JSXParserConfiguration pc,
+    final JSXLexerType lex)
+  {
+    return new JSXParserEventReader(pc, lex);
+  }
+
+  @Override
+  public JSXParserEventKind next()
+    throws JSXParserException, IOException
+  {
+    try {
+      return this.nextToken(this.cursor.next());
+    } catch (final JSXLexerException e) {
+      throw new JSXParserLexicalException(e);
+    }
+  }
+
+  private JSXParserEventKind nextToken(
+    final JSXLexerTokenKind t)
+    throws JSXParserGrammarException
+  {
+    this.text = "";
+    this.square = false;
+    this.comment = null;
+
+    return switch (t) {
+      case LEFT_PARENTHESIS -> this.startList(false);
+      case LEFT_SQUARE -> this.startList(true);
+      case RIGHT_PARENTHESIS -> this.endListParens();
+      case RIGHT_SQUARE -> this.endListSquares();
+      case SYMBOL -> {
+        this.text = this.cursor.textAsString();
+        yield this.event(JSXParserEventKind.SYMBOL);
+      }
+      case QUOTED_STRING -> {
+        this.text = this.cursor.textAsString();
+        yield this.event(JSXParserEventKind.QUOTED_STRING);
+      }
+      case COMMENT -> {
+        this.text = this.cursor.textAsString();
+        this.comment = this.cursor.comment();
+        yield this.event(JSXParserEventKind.COMMENT);
+      }
+      case EOF -> this.eof();
+    };
+  }
+
+  private JSXParserEventKind event(
+    final JSXParserEventKind k)
+  {
+    this.kind = k;
+    this.lexical = JSXParser.getTokenLexical(this.config, this.cursor);
+    return k;
+  }
+
+  private JSXParserEventKind eof()
+    throws JSXParserGrammarException
+  {
+    final int depth = this.openPositions.size();
+    if (depth > 0) {
+      throw JSXParser.errorUnexpectedEOF(this.openPositions.get(depth - 1));
+    }
+    return this.event(JSXParserEventKind.EOF);
+  }
+
+  private JSXParserEventKind startList(
+    final boolean isSquare)
+    throws JSXParserGrammarException
+  {
+    final int depth = this.openPositions.size();
+    if (depth >= this.config.maxDepth()) {
+      throw JSXParser.errorMaximumDepth(this.config, this.cursor.lexical());
+    }
+
+    this.event(JSXParserEventKind.LIST_START);
+    this.openPositions.add(this.lexical);
+    this.openSquare.set(depth, isSquare);
+    this.square = isSquare;
+    return this.kind;
+  }
+
+  private JSXParserEventKind endListParens()
+    throws JSXParserGrammarException
+  {
+    final int depth = this.openPositions.size();
+    if (depth == 0) {
+      throw JSXParser.errorUnexpectedRightParen(this.cursor.lexical());
+    }
+    if (this.openSquare.get(depth - 1)) {
+      throw JSXParser.errorUnexpectedRightParenWantedSquare(
+        this.cursor.lexical());
+    }
+    return this.endList(false);
+  }
+
+  private JSXParserEventKind endListSquares()
+    throws JSXParserGrammarException
+  {
+    final int depth = this.openPositions.size();
+    if (depth == 0) {
+      throw JSXParser.errorUnexpectedRightSquare(this.cursor.lexical());
+    }
+    if (!this.openSquare.get(depth - 1)) {
+      throw JSXParser.errorUnexpectedRightSquareWantedParens(
+        this.cursor.lexical());
+    }
+    return this.endList(true);
+  }
+
+  private JSXParserEventKind endList(
+    final boolean isSquare)
+  {
+    this.openPositions.remove(this.openPositions.size() - 1);
+    this.square = isSquare;
+    return this.event(JSXParserEventKind.LIST_END);
+  }
+
+  @Override
+  public JSXParserEventKind kind()
+  {
+    return this.kind;
+  }
+
+  @Override
+  public LexicalPosition<URI> lexical()
+  {
+    return this.lexical;
+  }
+
+  @Override
+  public String text()
+  {
+    return this.text;
+  }
+
+  @Override
+  public boolean isSquare()
+  {
+    return this.square;
+  }
+
+  @Override
+  public JSXLexerComment comment()
+  {
+    if (this.comment == null) {
+      throw new IllegalStateException("The current event is not a comment");
+    }
+    return this.comment;
+  }
+
+  @Override
+  public int depth()
+  {
+    return this.openPositions.size();
+  }
+}
@@ -0,0 +1,505 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.parser;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.lexer.JSXLexerRegion;
+import com.io7m.jsx.lexer.JSXLexerRegions;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * <p>The result of parsing a text, which can be updated incrementally as the
+ * text is edited.</p>
+ *
+ * <p>The text is divided into regions at top-level expression boundaries with
+ * {@link JSXLexerRegions#scanText(JSXLexerConfiguration, CharSequence, int,
+ * int, int)}, and each region is parsed separately. When the text is
+ * edited, scanning resumes at the region that contains the edit, and
+ * regions are parsed until the scan reaches a region boundary after the edit
+ * that was also a boundary before the edit. The text after that boundary is
+ * unchanged, and so the remaining regions are reused. Their offsets are
+ * shifted by the change in the length of the text. If the edit changed the
+ * number of lines before them, the change is recorded against each reused
+ * region, and the expressions of the region are only rebuilt with shifted
+ * lexical positions when they are next retrieved with
+ * {@link #expressions()}. Line changes from successive edits accumulate, so
+ * edits that cancel out (such as inserting and then removing a line break)
+ * restore the original expressions without rebuilding anything.</p>
+ *
+ * <p>The resulting expressions, their lexical positions, and any errors
+ * raised are identical to those that would be produced by
+ * {@link JSXParser#parseExpressions()} parsing the whole text. Values of
+ * this type are immutable, and editing a value returns a new value that
+ * shares any unchanged expressions with the original.</p>
+ */
+
+public final class JSXParserIncremental
+{
+  private final JSXParserConfiguration parserConfig;
+  private final JSXLexerConfiguration lexerConfig;
+  private final String text;
+  private final List<Region> regions;
+
+  private JSXParserIncremental(
+    final JSXParserConfiguration inParserConfig,
+    final JSXLexerConfiguration inLexerConfig,
+    final String inText,
+    final List<Region> inRegions)
+  {
+    this.parserConfig = inParserConfig;
+    this.lexerConfig = inLexerConfig;
+    this.text = inText;
+    this.regions = inRegions;
+  }
+
+  /**
+   * Parse the given text.
+   *
+   * @param pc   The parser configuration
+   * @param lc   The lexer configuration
+   * @param text The text
+   *
+   * @return The result of parsing the text
+   */
+
+  public static JSXParserIncremental parse(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final String text)
+  {
+    Objects.requireNonNull(pc, "Parser configuration");
+    Objects.requireNonNull(lc, "Lexer configuration");
+    Objects.requireNonNull(text, "Text");
+
+    final Iterator<JSXLexerRegion> scan =
+      JSXLexerRegions.scanText(lc, text, 0, lc.startAtLine(), 0);
+
+    final ArrayList<Region> regions = new ArrayList<>(64);
+    while (scan.hasNext()) {
+      regions.add(parseRegion(pc, lc, text, scan.next()));
+    }
+    return new JSXParserIncremental(pc, lc, text, regions);
+  }
+
+  private static Region parseRegion(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final String text,
+    final JSXLexerRegion region)
+  {
+    final var parser =
+      JSXParser.newParser(
+        pc, JSXLexerBuffered.newLexerForTextRegion(lc, text, region));
+
+    try {
+      return new Region(region, parser.parseExpressions(), 0, null, null);
+    } catch (final JSXParserException e) {
+      return new Region(region, List.of(), 0, e, null);
+    } catch (final IOException e) {
+      return new Region(region, List.of(), 0, null, e);
+    }
+  }
+
+  /**
+   * @return The parsed text
+   */
+
+  public String text()
+  {
+    return this.text;
+  }
+
+  /**
+   * Retrieve the expressions in the text. The list is assembled from the
+   * expressions of each region on each call. The expressions of regions
+   * whose lines have moved since they were parsed are rebuilt with shifted
+   * lexical positions on the first call, and reused by later calls.
+   *
+   * @return All the expressions in the text, in order
+   *
+   * @throws JSXParserException On parse errors
+   * @throws IOException        On errors decoding the text
+   */
+
+  public List<SExpressionType> expressions()
+    throws JSXParserException, IOException
+  {
+    final var results = new ArrayList<SExpressionType>(this.regions.size());
+    for (final Region region : this.regions) {
+      region.rethrow();
+      results.addAll(region.expressions());
+    }
+    return results;
+  }
+
+  /**
+   * Replace {@code removed} characters of the text starting at
+   * {@code offset} with {@code inserted}, and parse the result.
+   *
+   * @param offset   The offset of the first character to replace
+   * @param removed  The number of characters to remove
+   * @param inserted The text to insert at {@code offset}
+   *
+   * @return The result of parsing the edited text
+   *
+   * @throws IndexOutOfBoundsException If the removed characters are not
+   *                                   within the text
+   */
+
+  public JSXParserIncremental edit(
+    final int offset,
+    final int removed,
+    final String inserted)
+  {
+    Objects.checkFromIndexSize(offset, removed, this.text.length());
+    Objects.requireNonNull(inserted, "Inserted");
+
+    final String edited =
+      new StringBuilder(this.text.length() - removed + inserted.length())
+        .append(this.text, 0, offset)
+        .append(inserted)
+        .append(this.text, offset + removed, this.text.length())
+        .toString();
+
+    final int delta = inserted.length() - removed;
+    final int editEnd = offset + inserted.length();
+    final int first = this.regionAt(offset);
+    final JSXLexerRegion start = this.regions.get(first).region;
+
+    final ArrayList<Region> results =
+      new ArrayList<>(this.regions.size() + 16);
+    results.addAll(this.regions.subList(0, first));
+
+    final Iterator<JSXLexerRegion> scan =
+      JSXLexerRegions.scanText(
+        this.lexerConfig,
+        edited,
+        Math.toIntExact(start.offset()),
+        start.line(),
+        start.column());
+
+    int old = first;
+    while (scan.hasNext()) {
+      final JSXLexerRegion region = scan.next();
+
+      /*
+       * A region that starts after the edit, at a point where a region
+       * also started before the edit, starts the unchanged remainder of
+       * the text.
+       */
+
+      if (region.offset() >= (long) editEnd) {
+        final long oldOffset = region.offset() - (long) delta;
+        while (old < this.regions.size()
+          && this.regions.get(old).region.offset() < oldOffset) {
+          ++old;
+        }
+        if (old < this.regions.size()) {
+          final JSXLexerRegion oldRegion = this.regions.get(old).region;
+          if (oldRegion.offset() == oldOffset
+            && (oldRegion.column() == region.column()
+            || startsWithNewline(edited, region.offset()))) {
+            this.reuseFrom(results, edited, old, delta, region);
+            break;
+          }
+        }
+      }
+
+      results.add(
+        parseRegion(this.parserConfig, this.lexerConfig, edited, region));
+    }
+
+    return new JSXParserIncremental(
+      this.parserConfig, this.lexerConfig, edited, results);
+  }
+
+  /*
+   * Find the last region that starts at or before the given offset.
+   */
+
+  private int regionAt(
+    final int offset)
+  {
+    int low = 0;
+    int high = this.regions.size() - 1;
+    while (low < high) {
+      final int middle = (low + high + 1) >>> 1;
+      if (this.regions.get(middle).region.offset() <= (long) offset) {
+        low = middle;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return low;
+  }
+
+  /*
+   * The column at which a region starts only affects the positions within
+   * the region if the region contains something other than whitespace
+   * before its first line ending.
+   */
+
+  private static boolean startsWithNewline(
+    final String text,
+    final long offset)
+  {
+    for (int index = Math.toIntExact(offset); index < text.length(); ++index) {
+      final char c = text.charAt(index);
+      if (c == '\n') {
+        return true;
+      }
+      if (c == '\r') {
+        return index + 1 < text.length() && text.charAt(index + 1) == '\n';
+      }
+      if (!Character.isSpaceChar(c)) {
+        return false;
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Reuse the regions starting at index old, the first of which now starts
+   * at the given region. Only the first region can have moved to a
+   * different column. The expressions of each region are reused as they
+   * are, and any change in lines is added to the region's pending line
+   * shift. Errors are never shifted: a region that failed is parsed again
+   * if its lines have moved, so that the error carries the correct
+   * position.
+   */
+
+  private void reuseFrom(
+    final ArrayList<Region> results,
+    final String edited,
+    final int old,
+    final int delta,
+    final JSXLexerRegion first)
+  {
+    final int lineDelta = first.line() - this.regions.get(old).region.line();
+    final boolean shiftLines =
+      lineDelta != 0 && this.parserConfig.preserveLexical();
+
+    for (int index = old; index < this.regions.size(); ++index) {
+      final Region existing = this.regions.get(index);
+      final JSXLexerRegion r = existing.region;
+      final int column = index == old ? first.column() : r.column();
+      if (delta == 0 && lineDelta == 0 && column == r.column()) {
+        results.add(existing);
+        continue;
+      }
+
+      final JSXLexerRegion shifted =
+        new JSXLexerRegion(
+          r.offset() + (long) delta,
+          r.size(),
+          r.line() + lineDelta,
+          column);
+
+      if (existing.failed() && lineDelta != 0) {
+        results.add(parseRegion(
+          this.parserConfig, this.lexerConfig, edited, shifted));
+      } else if (shiftLines) {
+        results.add(new Region(
+          shifted,
+          existing.parsed,
+          existing.lineShift + lineDelta,
+          null,
+          null));
+      } else {
+        results.add(new Region(
+          shifted,
+          existing.parsed,
+          existing.lineShift,
+          existing.parseError,
+          existing.ioError));
+      }
+    }
+  }
+
+  private static List<SExpressionType> shiftLines(
+    final List<SExpressionType> expressions,
+    final int lineDelta)
+  {
+    final var shifter = new LineShifter(lineDelta);
+    final var results = new ArrayList<SExpressionType>(expressions.size());
+    for (final SExpressionType expression : expressions) {
+      SExpressions.traverse(expression, shifter);
+      results.add(shifter.result);
+    }
+    return List.copyOf(results);
+  }
+
+  /**
+   * A parsed region. The expressions are held as they were parsed, along
+   * with the number of lines by which the region has moved since then. The
+   * shifted expressions are built when first requested.
+   */
+
+  private static final class Region
+  {
+    private final JSXLexerRegion region;
+    private final List<SExpressionType> parsed;
+    private final int lineShift;
+    private final JSXParserException parseError;
+    private final IOException ioError;
+    private List<SExpressionType> shifted;
+
+    Region(
+      final JSXLexerRegion inRegion,
+      final List<SExpressionType> inParsed,
+      final int inLineShift,
+      final JSXParserException inParseError,
+      final IOException inIoError)
+    {
+      this.region = inRegion;
+      this.parsed = inParsed;
+      this.lineShift = inLineShift;
+      this.parseError = inParseError;
+      this.ioError = inIoError;
+    }
+
+    /*
+     * The shifted list is immutable, and so publishing it through a
+     * non-volatile field is safe: a thread that does not see it simply
+     * builds an identical list.
+     */
+
+    List<SExpressionType> expressions()
+    {
+      if (this.lineShift == 0) {
+        return this.parsed;
+      }
+      List<SExpressionType> result = this.shifted;
+      if (result == null) {
+        result = shiftLines(this.parsed, this.lineShift);
+        this.shifted = result;
+      }
+      return result;
+    }
+
+    boolean failed()
+    {
+      return this.parseError != null || this.ioError != null;
+    }
+
+    void rethrow()
+      throws JSXParserException, IOException
+    {
+      if (this.parseError != null) {
+        throw this.parseError;
+      }
+      if (this.ioError != null) {
+        throw this.ioError;
+      }
+    }
+  }
+
+  /**
+   * A visitor that rebuilds an expression with every lexical position moved
+   * by a fixed number of lines. The elements of the lists that are still
+   * open are held in an explicit stack, as with the traversal itself.
+   */
+
+  private static final class LineShifter
+    implements SExpressionVisitorType<RuntimeException>
+  {
+    private final int lineDelta;
+    private final ArrayList<ArrayList<SExpressionType>> open;
+    private SExpressionType result;
+
+    LineShifter(
+      final int inLineDelta)
+    {
+      this.lineDelta = inLineDelta;
+      this.open = new ArrayList<>(16);
+    }
+
+    private LexicalPosition<URI> shift(
+      final LexicalPosition<URI> lexical)
+    {
+      return LexicalPosition.of(
+        lexical.line() + this.lineDelta, lexical.column(), lexical.file());
+    }
+
+    private void complete(
+      final SExpressionType expression)
+    {
+      if (this.open.isEmpty()) {
+        this.result = expression;
+      } else {
+        this.open.get(this.open.size() - 1).add(expression);
+      }
+    }
+
+    @Override
+    public void listStart(
+      final SListType list)
+    {
+      this.open.add(new ArrayList<>(list.size()));
+    }
+
+    @Override
+    public void listElement(
+      final SListType list,
+      final int index)
+    {
+
+    }
+
+    @Override
+    public void listEnd(
+      final SListType list)
+    {
+      final ArrayList<SExpressionType> elements =
+        this.open.remove(this.open.size() - 1);
+      this.complete(
+        SLists.of(this.shift(list.lexical()), list.isSquare(), elements));
+    }
+
+    @Override
+    public void quotedString(
+      final SQuotedString string)
+    {
+      this.complete(
+        new SQuotedString(this.shift(string.lexical()), string.text()));
+    }
+
+    @Override
+    public void symbol(
+      final SSymbol symbol)
+    {
+      this.complete(new SSymbol(this.shift(symbol.lexical()), symbol.text()));
+    }
+  }
+}
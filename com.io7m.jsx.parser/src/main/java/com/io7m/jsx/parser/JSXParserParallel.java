@@ -0,0 +1,241 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.parser;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.lexer.JSXLexerRegion;
+import com.io7m.jsx.lexer.JSXLexerRegions;
+import com.io7m.jsx.lexer.JSXLexerUTF8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Functions to parse large UTF-8 encoded inputs in parallel.</p>
+ *
+ * <p>The input is first divided into regions at top-level expression
+ * boundaries with {@link JSXLexerRegions}, and the regions are then lexed and
+ * parsed concurrently on a fork-join pool. The resulting expressions, their
+ * lexical positions, and any errors raised are identical to those that
+ * would be produced by {@link JSXParser#parseExpressions()} parsing the same
+ * input sequentially: if any region fails, the error raised by the earliest
+ * failing region is rethrown.</p>
+ */
+
+public final class JSXParserParallel
+{
+  /**
+   * The smallest region size that will be used, in bytes.
+   */
+
+  public static final long MINIMUM_REGION_SIZE = 65536L;
+
+  private JSXParserParallel()
+  {
+
+  }
+
+  /**
+   * Determine a region size for the given input size and pool. Inputs are
+   * divided into several regions per worker so that the load can be balanced
+   * when regions take different amounts of time to parse.
+   *
+   * @param size The input size
+   * @param pool The pool
+   *
+   * @return A region size
+   */
+
+  private static long regionSizeFor(
+    final long size,
+    final ForkJoinPool pool)
+  {
+    final long regions = (long) pool.getParallelism() * 4L;
+    return Math.max(MINIMUM_REGION_SIZE, size / regions);
+  }
+
+  /**
+   * Parse all expressions in the given file channel, starting at the
+   * channel's current position.
+   *
+   * @param pc      The parser configuration
+   * @param lc      The lexer configuration
+   * @param channel The file channel
+   * @param pool    The pool on which to parse regions
+   *
+   * @return All the expressions in the file, in order
+   *
+   * @throws JSXParserException On parse errors
+   * @throws IOException        On I/O errors
+   */
+
+  public static List<SExpressionType> parseExpressionsFromFile(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final FileChannel channel,
+    final ForkJoinPool pool)
+    throws JSXParserException, IOException
+  {
+    Objects.requireNonNull(pc, "Parser configuration");
+    Objects.requireNonNull(lc, "Lexer configuration");
+    Objects.requireNonNull(channel, "Channel");
+    Objects.requireNonNull(pool, "Pool");
+
+    final long size = channel.size() - channel.position();
+    final List<JSXLexerRegion> regions =
+      JSXLexerRegions.scanFile(lc, channel, regionSizeFor(size, pool));
+
+    return parseRegions(
+      pc,
+      regions,
+      region -> JSXLexerUTF8.newLexerForFileRegion(lc, channel, region),
+      pool
+    );
+  }
+
+  /**
+   * Parse all expressions in the remaining bytes of the given buffer. The
+   * position and limit of the buffer are not modified.
+   *
+   * @param pc     The parser configuration
+   * @param lc     The lexer configuration
+   * @param buffer The buffer
+   * @param pool   The pool on which to parse regions
+   *
+   * @return All the expressions in the buffer, in order
+   *
+   * @throws JSXParserException On parse errors
+   * @throws IOException        On I/O errors
+   */
+
+  public static List<SExpressionType> parseExpressionsFromBuffer(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final ByteBuffer buffer,
+    final ForkJoinPool pool)
+    throws JSXParserException, IOException
+  {
+    Objects.requireNonNull(pc, "Parser configuration");
+    Objects.requireNonNull(lc, "Lexer configuration");
+    Objects.requireNonNull(buffer, "Buffer");
+    Objects.requireNonNull(pool, "Pool");
+
+    final List<JSXLexerRegion> regions =
+      JSXLexerRegions.scanBuffer(
+        lc, buffer, regionSizeFor(buffer.remaining(), pool));
+
+    return parseRegions(
+      pc,
+      regions,
+      region -> JSXLexerUTF8.newLexerForBufferRegion(lc, buffer, region),
+      pool
+    );
+  }
+
+  private static List<SExpressionType> parseRegions(
+    final JSXParserConfiguration pc,
+    final List<JSXLexerRegion> regions,
+    final LexerForRegionType lexers,
+    final ForkJoinPool pool)
+    throws JSXParserException, IOException
+  {
+    final var tasks = new ArrayList<RegionTask>(regions.size());
+    for (final JSXLexerRegion region : regions) {
+      tasks.add(new RegionTask(pc, lexers, region));
+    }
+
+    pool.invoke(new RecursiveAction()
+    {
+      @Override
+      protected void compute()
+      {
+        invokeAll(tasks);
+      }
+    });
+
+    final var results = new ArrayList<SExpressionType>();
+    for (final RegionTask task : tasks) {
+      task.rethrow();
+      results.addAll(task.expressions);
+    }
+    return results;
+  }
+
+  private interface LexerForRegionType
+  {
+    JSXLexerType create(JSXLexerRegion region);
+  }
+
+  private static final class RegionTask extends RecursiveAction
+  {
+    private static final long serialVersionUID = 1L;
+
+    private final transient JSXParserConfiguration config;
+    private final transient LexerForRegionType lexers;
+    private final transient JSXLexerRegion region;
+    private transient List<SExpressionType> expressions;
+    private transient JSXParserException parseError;
+    private transient IOException ioError;
+
+    RegionTask(
+      final JSXParserConfiguration inConfig,
+      final LexerForRegionType inLexers,
+      final JSXLexerRegion inRegion)
+    {
+      this.config = inConfig;
+      this.lexers = inLexers;
+      this.region = inRegion;
+      this.expressions = List.of();
+    }
+
+    @Override
+    protected void compute()
+    {
+      final var parser =
+        JSXParser.newParser(this.config, this.lexers.create(this.region));
+
+      try {
+        this.expressions = parser.parseExpressions();
+      } catch (final JSXParserException e) {
+        this.parseError = e;
+      } catch (final IOException e) {
+        this.ioError = e;
+      }
+    }
+
+    void rethrow()
+      throws JSXParserException, IOException
+    {
+      if (this.parseError != null) {
+        throw this.parseError;
+      }
+      if (this.ioError != null) {
+        throw this.ioError;
+      }
+    }
+  }
+}
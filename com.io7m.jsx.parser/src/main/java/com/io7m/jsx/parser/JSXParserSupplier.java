@@ -16,12 +16,17 @@
 
 package com.io7m.jsx.parser;
 
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerSupplierType;
 import com.io7m.jsx.api.lexer.JSXLexerType;
 import com.io7m.jsx.api.parser.JSXParserConfiguration;
 import com.io7m.jsx.api.parser.JSXParserSupplierType;
 import com.io7m.jsx.api.parser.JSXParserType;
 import org.osgi.service.component.annotations.Component;
 
+import java.io.Reader;
+import java.util.Objects;
+
 /**
  * The default implementation of the {@link JSXParserSupplierType} interface.
  */
@@ -29,6 +34,8 @@ import org.osgi.service.component.annotations.Component;
 @Component
 public final class JSXParserSupplier implements JSXParserSupplierType
 {
+  private final ThreadLocal<JSXParser> parsers;
+
   /**
    * Create a new parser supplier.
    *
@@ -37,7 +44,7 @@ public final class JSXParserSupplier implements JSXParserSupplierType
 
   public JSXParserSupplier()
   {
-
+    this.parsers = new ThreadLocal<>();
   }
 
   @Override
@@ -47,4 +54,43 @@ public final class JSXParserSupplier implements JSXParserSupplierType
   {
     return JSXParser.newParser(configuration, lexer);
   }
+
+  /**
+   * Each thread holds at most one parser, which is reused for as long as
+   * the given parser configuration does not change and the lexer supplier
+   * returns the same lexer.
+   *
+   * @param parser_configuration The parser configuration
+   * @param lexer_configuration  A lexer configuration
+   * @param lexer_supplier       A lexer supplier
+   * @param reader               The reader
+   *
+   * @return A parser owned by the current thread
+   */
+
+  @Override
+  public JSXParserType createForCurrentThread(
+    final JSXParserConfiguration parser_configuration,
+    final JSXLexerConfiguration lexer_configuration,
+    final JSXLexerSupplierType lexer_supplier,
+    final Reader reader)
+  {
+    Objects.requireNonNull(parser_configuration, "Parser configuration");
+    Objects.requireNonNull(lexer_configuration, "Lexer configuration");
+    Objects.requireNonNull(lexer_supplier, "Lexer supplier");
+    Objects.requireNonNull(reader, "Reader");
+
+    final JSXLexerType lexer =
+      lexer_supplier.createForCurrentThread(lexer_configuration, reader);
+
+    final JSXParser existing = this.parsers.get();
+    if (existing != null && existing.isReusableWith(parser_configuration, lexer)) {
+      existing.resetState();
+      return existing;
+    }
+
+    final JSXParser created = new JSXParser(parser_configuration, lexer);
+    this.parsers.set(created);
+    return created;
+  }
 }
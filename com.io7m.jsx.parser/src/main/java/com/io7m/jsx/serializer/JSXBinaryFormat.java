@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.serializer;
+
+/**
+ * Constants describing the binary expression format shared by
+ * {@link JSXSerializerBinary} and {@link JSXDeserializerBinary}.
+ *
+ * A document consists of the four bytes {@code JSXB}, a version byte, a
+ * flags byte, the length of the body as a varint, and the body. The body is
+ * a single expression written in prefix order: each node is a tag byte,
+ * followed by the node's position if the document has positions, followed
+ * by the node's contents.
+ *
+ * <ul>
+ *   <li>{@link #TAG_SYMBOL_NEW}: the length and UTF-8 bytes of a symbol,
+ *   which is appended to the document's symbol table</li>
+ *   <li>{@link #TAG_SYMBOL}: the index of a symbol in the symbol table</li>
+ *   <li>{@link #TAG_STRING}: the length and UTF-8 bytes of a quoted
+ *   string</li>
+ *   <li>{@link #TAG_LIST_ROUND} and {@link #TAG_LIST_SQUARE}: the number of
+ *   elements in the list, followed by the elements</li>
+ * </ul>
+ *
+ * A position is the difference between the node's line and the line of the
+ * previous node as a zigzag-encoded varint, the column as a varint, and a
+ * file varint: {@code 0} if the position has no file, {@code 1} if the
+ * length and UTF-8 bytes of a new file URI follow (and are appended to the
+ * document's file table), or {@code n + 2} for the file at index {@code n}
+ * in the file table. Varints are unsigned LEB128 encodings of 32-bit values.
+ */
+
+final class JSXBinaryFormat
+{
+  static final byte MAGIC_0 = 'J';
+  static final byte MAGIC_1 = 'S';
+  static final byte MAGIC_2 = 'X';
+  static final byte MAGIC_3 = 'B';
+  static final byte VERSION = 1;
+
+  static final int FLAG_POSITIONS = 0b1;
+
+  static final int TAG_SYMBOL_NEW = 1;
+  static final int TAG_SYMBOL = 2;
+  static final int TAG_STRING = 3;
+  static final int TAG_LIST_ROUND = 4;
+  static final int TAG_LIST_SQUARE = 5;
+
+  static final int FILE_NONE = 0;
+  static final int FILE_NEW = 1;
+  static final int FILE_INDEX_BASE = 2;
+
+  /**
+   * The size of the header preceding the varint body length.
+   */
+
+  static final int HEADER_FIXED_SIZE = 6;
+
+  /**
+   * The maximum size of a header, including the body length.
+   */
+
+  static final int HEADER_MAXIMUM_SIZE = HEADER_FIXED_SIZE + 5;
+
+  private JSXBinaryFormat()
+  {
+
+  }
+}
@@ -0,0 +1,504 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.serializer;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.serializer.JSXDeserializerType;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FILE_INDEX_BASE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FILE_NEW;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FILE_NONE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FLAG_POSITIONS;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.HEADER_FIXED_SIZE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_LIST_ROUND;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_LIST_SQUARE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_STRING;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_SYMBOL;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_SYMBOL_NEW;
+
+/**
+ * A reader for documents written by {@link JSXSerializerBinary}.
+ *
+ * Documents are decoded with an explicit stack, and so expressions may be
+ * nested to any depth. Lists are constructed with {@link SLists}. If a
+ * document does not contain lexical information, every expression is given
+ * the same position that {@link com.io7m.jsx.parser.JSXParser} gives
+ * expressions when lexical information is not preserved.
+ *
+ * Deserializers reuse their internal buffers and are therefore not
+ * thread-safe; each thread should use its own deserializer.
+ */
+
+public final class JSXDeserializerBinary implements JSXDeserializerType
+{
+  private static final LexicalPosition<URI> DEFAULT_LEXICAL =
+    LexicalPosition.of(1, 0, Optional.empty());
+
+  private final ArrayList<String> symbols;
+  private final ArrayList<Optional<URI>> files;
+  private final ArrayList<SExpressionType> elements;
+  private LexicalPosition<?>[] frameLexical;
+  private boolean[] frameSquare;
+  private int[] frameRemaining;
+  private int[] frameStart;
+  private byte[] scratch;
+  private byte[] data;
+  private int position;
+  private int limit;
+  private boolean positions;
+  private int line;
+
+  private JSXDeserializerBinary()
+  {
+    this.symbols = new ArrayList<>(64);
+    this.files = new ArrayList<>(4);
+    this.elements = new ArrayList<>(64);
+    this.frameLexical = new LexicalPosition<?>[16];
+    this.frameSquare = new boolean[16];
+    this.frameRemaining = new int[16];
+    this.frameStart = new int[16];
+    this.scratch = new byte[0];
+  }
+
+  /**
+   * @return A new deserializer
+   */
+
+  public static JSXDeserializerBinary newDeserializer()
+  {
+    return new JSXDeserializerBinary();
+  }
+
+  private static StreamCorruptedException corrupt(
+    final String message)
+  {
+    return new StreamCorruptedException(message);
+  }
+
+  /**
+   * Read a single document from the given stream. Exactly the bytes of the
+   * document are consumed, and so a stream may contain several documents
+   * written one after another.
+   *
+   * @param stream The input stream
+   *
+   * @return The expression
+   *
+   * @throws EOFException              If the stream ends before the
+   *                                   document does
+   * @throws StreamCorruptedException If the document is malformed
+   * @throws IOException               On I/O errors
+   */
+
+  @Override
+  public SExpressionType deserialize(
+    final InputStream stream)
+    throws IOException
+  {
+    Objects.requireNonNull(stream, "Stream");
+
+    final byte[] header = stream.readNBytes(HEADER_FIXED_SIZE);
+    if (header.length != HEADER_FIXED_SIZE) {
+      throw new EOFException("Unexpected EOF in document header");
+    }
+    this.checkHeader(header);
+
+    final int bodySize = readStreamVarint(stream);
+    if (this.scratch.length < bodySize) {
+      this.scratch = new byte[bodySize];
+    }
+    final int read = stream.readNBytes(this.scratch, 0, bodySize);
+    if (read != bodySize) {
+      throw new EOFException("Unexpected EOF in document body");
+    }
+    return this.decode(this.scratch, 0, bodySize);
+  }
+
+  /**
+   * Read a single document from the given buffer, starting at the buffer's
+   * position. On return, the buffer is positioned immediately after the
+   * document.
+   *
+   * @param buffer The buffer
+   *
+   * @return The expression
+   *
+   * @throws EOFException              If the buffer ends before the
+   *                                   document does
+   * @throws StreamCorruptedException If the document is malformed
+   */
+
+  @Override
+  public SExpressionType deserialize(
+    final ByteBuffer buffer)
+    throws IOException
+  {
+    Objects.requireNonNull(buffer, "Buffer");
+
+    if (buffer.remaining() < HEADER_FIXED_SIZE) {
+      throw new EOFException("Unexpected EOF in document header");
+    }
+
+    final byte[] header = new byte[HEADER_FIXED_SIZE];
+    buffer.get(header);
+    this.checkHeader(header);
+
+    final int bodySize = readBufferVarint(buffer);
+    if (buffer.remaining() < bodySize) {
+      throw new EOFException("Unexpected EOF in document body");
+    }
+
+    final SExpressionType result;
+    if (buffer.hasArray()) {
+      result = this.decode(
+        buffer.array(),
+        buffer.arrayOffset() + buffer.position(),
+        bodySize);
+    } else {
+      if (this.scratch.length < bodySize) {
+        this.scratch = new byte[bodySize];
+      }
+      buffer.get(buffer.position(), this.scratch, 0, bodySize);
+      result = this.decode(this.scratch, 0, bodySize);
+    }
+
+    buffer.position(buffer.position() + bodySize);
+    return result;
+  }
+
+  /**
+   * Read a single document from the Base64 text written by
+   * {@link JSXSerializerBinary#serializeText(SExpressionType, Appendable)}.
+   *
+   * @param text The text
+   *
+   * @return The expression
+   *
+   * @throws EOFException              If the text ends before the
+   *                                   document does
+   * @throws StreamCorruptedException If the text is not valid Base64, or
+   *                                   the document is malformed
+   */
+
+  @Override
+  public SExpressionType deserializeText(
+    final CharSequence text)
+    throws IOException
+  {
+    Objects.requireNonNull(text, "Text");
+
+    final byte[] bytes;
+    try {
+      bytes = Base64.getDecoder().decode(text.toString());
+    } catch (final IllegalArgumentException e) {
+      throw corrupt("Malformed Base64 text: " + e.getMessage());
+    }
+    return this.deserialize(ByteBuffer.wrap(bytes));
+  }
+
+  private static int readStreamVarint(
+    final InputStream stream)
+    throws IOException
+  {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift = shift + 7) {
+      final int b = stream.read();
+      if (b == -1) {
+        throw new EOFException("Unexpected EOF in varint");
+      }
+      result = result | ((b & 0x7f) << shift);
+      if ((b & 0x80) == 0) {
+        return checkSize(result);
+      }
+    }
+    throw corrupt("Malformed varint");
+  }
+
+  private static int readBufferVarint(
+    final ByteBuffer buffer)
+    throws IOException
+  {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift = shift + 7) {
+      if (!buffer.hasRemaining()) {
+        throw new EOFException("Unexpected EOF in varint");
+      }
+      final int b = buffer.get() & 0xff;
+      result = result | ((b & 0x7f) << shift);
+      if ((b & 0x80) == 0) {
+        return checkSize(result);
+      }
+    }
+    throw corrupt("Malformed varint");
+  }
+
+  private static int checkSize(
+    final int size)
+    throws StreamCorruptedException
+  {
+    if (size < 0) {
+      throw corrupt("Size out of range: " + Integer.toUnsignedString(size));
+    }
+    return size;
+  }
+
+  private void checkHeader(
+    final byte[] header)
+    throws StreamCorruptedException
+  {
+    if (header[0] != JSXBinaryFormat.MAGIC_0
+      || header[1] != JSXBinaryFormat.MAGIC_1
+      || header[2] != JSXBinaryFormat.MAGIC_2
+      || header[3] != JSXBinaryFormat.MAGIC_3) {
+      throw corrupt("Not a binary expression document");
+    }
+    if (header[4] != JSXBinaryFormat.VERSION) {
+      throw corrupt("Unsupported document version: " + header[4]);
+    }
+
+    final int flags = header[5];
+    if ((flags & ~FLAG_POSITIONS) != 0) {
+      throw corrupt("Unsupported document flags: " + flags);
+    }
+    this.positions = (flags & FLAG_POSITIONS) != 0;
+  }
+
+  private SExpressionType decode(
+    final byte[] inData,
+    final int offset,
+    final int length)
+    throws IOException
+  {
+    this.data = inData;
+    this.position = offset;
+    this.limit = offset + length;
+    this.line = 0;
+    this.symbols.clear();
+    this.files.clear();
+    this.elements.clear();
+
+    try {
+      final SExpressionType result = this.decodeExpression();
+      if (this.position != this.limit) {
+        throw corrupt("Trailing data after expression");
+      }
+      return result;
+    } finally {
+      this.data = null;
+      this.elements.clear();
+      Arrays.fill(this.frameLexical, null);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private SExpressionType decodeExpression()
+    throws IOException
+  {
+    int depth = -1;
+
+    while (true) {
+      final int tag = this.readByte();
+      final LexicalPosition<URI> lexical = this.readLexical();
+
+      SExpressionType value;
+      if (tag == TAG_LIST_ROUND || tag == TAG_LIST_SQUARE) {
+        final int count = checkSize(this.readVarint());
+        final boolean square = tag == TAG_LIST_SQUARE;
+        if (count > 0) {
+          if (count > this.limit - this.position) {
+            throw corrupt("List size exceeds the document size: " + count);
+          }
+          depth = depth + 1;
+          this.pushFrame(depth, lexical, square, count);
+          continue;
+        }
+        value = SLists.of(lexical, square, List.of());
+      } else {
+        value = this.decodeAtom(tag, lexical);
+      }
+
+      while (depth >= 0) {
+        this.elements.add(value);
+        final int remaining = this.frameRemaining[depth] - 1;
+        this.frameRemaining[depth] = remaining;
+        if (remaining > 0) {
+          break;
+        }
+
+        final List<SExpressionType> sub =
+          this.elements.subList(this.frameStart[depth], this.elements.size());
+        value = SLists.of(
+          (LexicalPosition<URI>) this.frameLexical[depth],
+          this.frameSquare[depth],
+          sub);
+        sub.clear();
+        this.frameLexical[depth] = null;
+        depth = depth - 1;
+      }
+
+      if (depth < 0) {
+        return value;
+      }
+    }
+  }
+
+  private void pushFrame(
+    final int depth,
+    final LexicalPosition<URI> lexical,
+    final boolean square,
+    final int count)
+  {
+    if (depth == this.frameLexical.length) {
+      final int grown = depth * 2;
+      this.frameLexical = Arrays.copyOf(this.frameLexical, grown);
+      this.frameSquare = Arrays.copyOf(this.frameSquare, grown);
+      this.frameRemaining = Arrays.copyOf(this.frameRemaining, grown);
+      this.frameStart = Arrays.copyOf(this.frameStart, grown);
+    }
+    this.frameLexical[depth] = lexical;
+    this.frameSquare[depth] = square;
+    this.frameRemaining[depth] = count;
+    this.frameStart[depth] = this.elements.size();
+  }
+
+  private SExpressionType decodeAtom(
+    final int tag,
+    final LexicalPosition<URI> lexical)
+    throws IOException
+  {
+    return switch (tag) {
+      case TAG_SYMBOL_NEW -> {
+        final String text = this.readText();
+        this.symbols.add(text);
+        yield new SSymbol(lexical, text);
+      }
+      case TAG_SYMBOL -> {
+        final int index = checkSize(this.readVarint());
+        if (index >= this.symbols.size()) {
+          throw corrupt("Symbol index out of range: " + index);
+        }
+        yield new SSymbol(lexical, this.symbols.get(index));
+      }
+      case TAG_STRING -> new SQuotedString(lexical, this.readText());
+      default -> throw corrupt("Unrecognized tag: " + tag);
+    };
+  }
+
+  private LexicalPosition<URI> readLexical()
+    throws IOException
+  {
+    if (!this.positions) {
+      return DEFAULT_LEXICAL;
+    }
+
+    final int zigzag = this.readVarint();
+    this.line = this.line + ((zigzag >>> 1) ^ -(zigzag & 1));
+    final int column = this.readVarint();
+    return LexicalPosition.of(this.line, column, this.readFile());
+  }
+
+  private Optional<URI> readFile()
+    throws IOException
+  {
+    final int code = checkSize(this.readVarint());
+    if (code == FILE_NONE) {
+      return Optional.empty();
+    }
+
+    if (code == FILE_NEW) {
+      final String text = this.readText();
+      try {
+        final Optional<URI> file = Optional.of(new URI(text));
+        this.files.add(file);
+        return file;
+      } catch (final URISyntaxException e) {
+        throw corrupt("Malformed file URI: " + e.getMessage());
+      }
+    }
+
+    final int index = code - FILE_INDEX_BASE;
+    if (index >= this.files.size()) {
+      throw corrupt("File index out of range: " + index);
+    }
+    return this.files.get(index);
+  }
+
+  private int readByte()
+    throws EOFException
+  {
+    if (this.position >= this.limit) {
+      throw new EOFException("Unexpected end of document");
+    }
+    final int b = this.data[this.position] & 0xff;
+    this.position = this.position + 1;
+    return b;
+  }
+
+  /*
+   * Varints are read as unsigned 32-bit values; column numbers and line
+   * deltas may legitimately use the sign bit, and so only sizes are checked
+   * to be non-negative.
+   */
+
+  private int readVarint()
+    throws IOException
+  {
+    int result = 0;
+    for (int shift = 0; shift < 35; shift = shift + 7) {
+      final int b = this.readByte();
+      result = result | ((b & 0x7f) << shift);
+      if ((b & 0x80) == 0) {
+        return result;
+      }
+    }
+    throw corrupt("Malformed varint");
+  }
+
+  private String readText()
+    throws IOException
+  {
+    final int length = checkSize(this.readVarint());
+    if (length > this.limit - this.position) {
+      throw new EOFException("Unexpected end of document");
+    }
+    // CHECKSTYLE:OFF
+    final String text =
+      new String(this.data, this.position, length, StandardCharsets.UTF_8);
+    // CHECKSTYLE:ON
+    this.position = this.position + length;
+    return text;
+  }
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.serializer;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FILE_INDEX_BASE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FILE_NEW;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FILE_NONE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.FLAG_POSITIONS;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.HEADER_MAXIMUM_SIZE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_LIST_ROUND;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_LIST_SQUARE;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_STRING;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_SYMBOL;
+import static com.io7m.jsx.serializer.JSXBinaryFormat.TAG_SYMBOL_NEW;
+
+/**
+ * A serializer that writes expressions in a compact binary format that can
+ * be loaded with {@link JSXDeserializerBinary} without lexing or parsing.
+ *
+ * Each call to {@link #serialize(SExpressionType, OutputStream)} writes one
+ * self-contained document. Each distinct symbol in a document is written
+ * once and is referred to by index thereafter. If lexical information is
+ * preserved, the line, column, and file of every node are written; as with
+ * compact lists, the column end of a position is not retained.
+ *
+ * Serializers reuse their internal buffers and are therefore not
+ * thread-safe; each thread should use its own serializer.
+ *
+ * The text written by {@link #serializeText(SExpressionType, Appendable)}
+ * is the Base64 encoding of the document.
+ */
+
+public final class JSXSerializerBinary implements JSXSerializerType
+{
+  private final boolean preserveLexical;
+  private final Map<String, Integer> symbols;
+  private final Map<URI, Integer> files;
+  private final Visitor visitor;
+  private byte[] data;
+  private int size;
+  private int line;
+
+  private JSXSerializerBinary(
+    final boolean inPreserveLexical)
+  {
+    this.preserveLexical = inPreserveLexical;
+    this.symbols = new HashMap<>(64);
+    this.files = new HashMap<>(4);
+    this.visitor = new Visitor();
+    this.data = new byte[4096];
+  }
+
+  /**
+   * @return A new serializer that preserves lexical information
+   */
+
+  public static JSXSerializerType newSerializer()
+  {
+    return new JSXSerializerBinary(true);
+  }
+
+  /**
+   * @param preserveLexical {@code true} if the positions of expressions
+   *                        should be written
+   *
+   * @return A new serializer
+   */
+
+  public static JSXSerializerType newSerializer(
+    final boolean preserveLexical)
+  {
+    return new JSXSerializerBinary(preserveLexical);
+  }
+
+  @Override
+  public void serialize(
+    final SExpressionType e,
+    final OutputStream s)
+    throws IOException
+  {
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(s, "Stream");
+
+    final int start = this.encode(e);
+    s.write(this.data, start, this.size - start);
+    s.flush();
+  }
+
+  @Override
+  public void serialize(
+    final SExpressionType e,
+    final WritableByteChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(channel, "Channel");
+
+    final int start = this.encode(e);
+    final ByteBuffer buffer =
+      ByteBuffer.wrap(this.data, start, this.size - start);
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /**
+   * Binary documents have no textual representation of their own, and so
+   * the text written is the encoded document in the standard Base64
+   * alphabet, without line breaks. The text can be read with
+   * {@link JSXDeserializerBinary#deserializeText(CharSequence)}.
+   *
+   * @param e   The expression
+   * @param out The output
+   *
+   * @throws IOException On I/O errors
+   */
+
+  @Override
+  public void serializeText(
+    final SExpressionType e,
+    final Appendable out)
+    throws IOException
+  {
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(out, "Output");
+
+    final int start = this.encode(e);
+    out.append(
+      Base64.getEncoder()
+        .encodeToString(Arrays.copyOfRange(this.data, start, this.size)));
+  }
+
+  /*
+   * Encode a document. The body is written after enough space for the
+   * largest possible header, and then the header is written immediately
+   * before the body so that the whole document is contiguous.
+   *
+   * Returns the offset of the start of the document.
+   */
+
+  private int encode(
+    final SExpressionType e)
+    throws IOException
+  {
+    this.symbols.clear();
+    this.files.clear();
+    this.line = 0;
+    this.size = HEADER_MAXIMUM_SIZE;
+
+    SExpressions.traverse(e, this.visitor);
+
+    final int bodySize = this.size - HEADER_MAXIMUM_SIZE;
+    final int start =
+      HEADER_MAXIMUM_SIZE - JSXBinaryFormat.HEADER_FIXED_SIZE - varintSize(bodySize);
+
+    final byte[] d = this.data;
+    int p = start;
+    d[p] = JSXBinaryFormat.MAGIC_0;
+    d[p + 1] = JSXBinaryFormat.MAGIC_1;
+    d[p + 2] = JSXBinaryFormat.MAGIC_2;
+    d[p + 3] = JSXBinaryFormat.MAGIC_3;
+    d[p + 4] = JSXBinaryFormat.VERSION;
+    d[p + 5] = (byte) (this.preserveLexical ? FLAG_POSITIONS : 0);
+    p = p + JSXBinaryFormat.HEADER_FIXED_SIZE;
+    writeVarint(d, p, bodySize);
+    return start;
+  }
+
+  private static int varintSize(
+    final int value)
+  {
+    final int bits = 32 - Integer.numberOfLeadingZeros(value);
+    return Math.max(1, (bits + 6) / 7);
+  }
+
+  private static int writeVarint(
+    final byte[] d,
+    final int offset,
+    final int value)
+  {
+    int p = offset;
+    int v = value;
+    while ((v & ~0x7f) != 0) {
+      d[p] = (byte) ((v & 0x7f) | 0x80);
+      p = p + 1;
+      v = v >>> 7;
+    }
+    d[p] = (byte) v;
+    return p + 1;
+  }
+
+  private static int utf8Length(
+    final String text)
+  {
+    final int length = text.length();
+    int bytes = length;
+    for (int index = 0; index < length; ++index) {
+      if (text.charAt(index) >= 0x80) {
+        bytes = bytes + utf8ExtraBytes(text, index);
+      }
+    }
+    return bytes;
+  }
+
+  /*
+   * The number of bytes beyond the first required to encode the character
+   * at the given index. A valid surrogate pair occupies two characters and
+   * four bytes, and so the high surrogate requires two extra bytes and the
+   * low surrogate requires none. An unpaired surrogate is encoded as '?'.
+   */
+
+  private static int utf8ExtraBytes(
+    final String text,
+    final int index)
+  {
+    final char c = text.charAt(index);
+    if (c < 0x800) {
+      return 1;
+    }
+    if (Character.isSurrogate(c)) {
+      if (Character.isHighSurrogate(c)
+        && index + 1 < text.length()
+        && Character.isLowSurrogate(text.charAt(index + 1))) {
+        return 2;
+      }
+      return 0;
+    }
+    return 2;
+  }
+
+  private void reserve(
+    final int count)
+  {
+    final int required = this.size + count;
+    if (required > this.data.length) {
+      final int grown = Math.max(required, this.data.length * 2);
+      if (grown < 0) {
+        throw new OutOfMemoryError("Document too large");
+      }
+      this.data = Arrays.copyOf(this.data, grown);
+    }
+  }
+
+  private void putByte(
+    final int value)
+  {
+    this.reserve(1);
+    this.data[this.size] = (byte) value;
+    this.size = this.size + 1;
+  }
+
+  private void putVarint(
+    final int value)
+  {
+    this.reserve(5);
+    this.size = writeVarint(this.data, this.size, value);
+  }
+
+  private void putText(
+    final String text)
+  {
+    final int bytes = utf8Length(text);
+    this.putVarint(bytes);
+    this.reserve(bytes);
+
+    final byte[] d = this.data;
+    final int length = text.length();
+    int p = this.size;
+    int index = 0;
+    while (index < length) {
+      final char c = text.charAt(index);
+      if (c < 0x80) {
+        d[p] = (byte) c;
+        p = p + 1;
+        index = index + 1;
+      } else {
+        final int step = this.putNonASCII(text, index, p);
+        p = p + step;
+        index = index + (step == 4 ? 2 : 1);
+      }
+    }
+    this.size = p;
+  }
+
+  private int putNonASCII(
+    final String text,
+    final int index,
+    final int p)
+  {
+    final byte[] d = this.data;
+    final char c = text.charAt(index);
+
+    if (c < 0x800) {
+      d[p] = (byte) (0xc0 | (c >> 6));
+      d[p + 1] = (byte) (0x80 | (c & 0x3f));
+      return 2;
+    }
+
+    if (Character.isSurrogate(c)) {
+      if (utf8ExtraBytes(text, index) == 0) {
+        d[p] = (byte) '?';
+        return 1;
+      }
+      final int cp = Character.toCodePoint(c, text.charAt(index + 1));
+      d[p] = (byte) (0xf0 | (cp >> 18));
+      d[p + 1] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+      d[p + 2] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+      d[p + 3] = (byte) (0x80 | (cp & 0x3f));
+      return 4;
+    }
+
+    d[p] = (byte) (0xe0 | (c >> 12));
+    d[p + 1] = (byte) (0x80 | ((c >> 6) & 0x3f));
+    d[p + 2] = (byte) (0x80 | (c & 0x3f));
+    return 3;
+  }
+
+  private void putNode(
+    final int tag,
+    final LexicalPosition<URI> lexical)
+  {
+    this.putNode(tag, lexical.line(), lexical.column(), lexical.file());
+  }
+
+  private void putNode(
+    final int tag,
+    final int nodeLine,
+    final int nodeColumn,
+    final Optional<URI> nodeFile)
+  {
+    this.putByte(tag);
+
+    if (this.preserveLexical) {
+      final int delta = nodeLine - this.line;
+      this.line = nodeLine;
+      this.putVarint((delta << 1) ^ (delta >> 31));
+      this.putVarint(nodeColumn);
+      this.putFile(nodeFile);
+    }
+  }
+
+  private void putFile(
+    final Optional<URI> file)
+  {
+    if (file.isEmpty()) {
+      this.putVarint(FILE_NONE);
+      return;
+    }
+
+    final URI uri = file.get();
+    final Integer existing = this.files.get(uri);
+    if (existing != null) {
+      this.putVarint(existing.intValue() + FILE_INDEX_BASE);
+      return;
+    }
+
+    this.files.put(uri, Integer.valueOf(this.files.size()));
+    this.putVarint(FILE_NEW);
+    this.putText(uri.toString());
+  }
+
+  private final class Visitor
+    implements SExpressionVisitorType<IOException>
+  {
+    Visitor()
+    {
+
+    }
+
+    @Override
+    public void listStart(
+      final SListType list)
+    {
+      final JSXSerializerBinary s = JSXSerializerBinary.this;
+      s.putNode(
+        list.isSquare() ? TAG_LIST_SQUARE : TAG_LIST_ROUND,
+        SLists.line(list),
+        SLists.column(list),
+        SLists.file(list));
+      s.putVarint(list.size());
+    }
+
+    @Override
+    public void listElement(
+      final SListType list,
+      final int index)
+    {
+
+    }
+
+    @Override
+    public void listEnd(
+      final SListType list)
+    {
+
+    }
+
+    @Override
+    public void quotedString(
+      final SQuotedString string)
+    {
+      final JSXSerializerBinary s = JSXSerializerBinary.this;
+      s.putNode(TAG_STRING, string.lexical());
+      s.putText(string.text());
+    }
+
+    @Override
+    public void symbol(
+      final SSymbol symbol)
+    {
+      final JSXSerializerBinary s = JSXSerializerBinary.this;
+      final String text = symbol.text();
+      final Integer existing = s.symbols.get(text);
+
+      if (existing != null) {
+        s.putNode(TAG_SYMBOL, symbol.lexical());
+        s.putVarint(existing.intValue());
+      } else {
+        s.symbols.put(text, Integer.valueOf(s.symbols.size()));
+        s.putNode(TAG_SYMBOL_NEW, symbol.lexical());
+        s.putText(text);
+      }
+    }
+  }
+}
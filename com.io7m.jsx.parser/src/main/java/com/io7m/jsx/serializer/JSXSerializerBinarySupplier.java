@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.serializer;
+
+import com.io7m.jsx.api.serializer.JSXSerializerSupplierType;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * A supplier that supplies {@link JSXSerializerBinary} serializers that preserve
+ * lexical information.
+ */
+
+@Component
+public final class JSXSerializerBinarySupplier
+  implements JSXSerializerSupplierType
+{
+  /**
+   * Instantiate a supplier.
+   */
+
+  public JSXSerializerBinarySupplier()
+  {
+
+  }
+
+  /**
+   * @return A new serializer supplier
+   */
+
+  public static JSXSerializerSupplierType createSupplier()
+  {
+    return new JSXSerializerBinarySupplier();
+  }
+
+  @Override
+  public JSXSerializerType create()
+  {
+    return JSXSerializerBinary.newSerializer();
+  }
+}
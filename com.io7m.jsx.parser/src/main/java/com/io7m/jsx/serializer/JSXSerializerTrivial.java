@@ -17,21 +17,29 @@
 package com.io7m.jsx.serializer;
 
 import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SListType;
 import com.io7m.jsx.SExpressionType.SQuotedString;
 import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
 import com.io7m.jsx.api.lexer.JSXLexerEscapes;
 import com.io7m.jsx.api.serializer.JSXSerializerType;
 
-import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.io.PrintWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
  * A trivial serializer with no features.
+ *
+ * Expressions are written directly to the output without any intermediate
+ * strings or format strings, and so serializing to a caller-owned
+ * {@link Appendable} with {@link #serializeText(SExpressionType, Appendable)}
+ * allocates nothing beyond what the output itself allocates. Expressions
+ * are traversed with an explicit stack, and so may be nested to any depth.
  */
 
 public final class JSXSerializerTrivial implements JSXSerializerType
@@ -50,20 +58,12 @@ public final class JSXSerializerTrivial implements JSXSerializerType
     return new JSXSerializerTrivial();
   }
 
-  private static void serializeWithWriter(
+  static void serializeExpression(
     final SExpressionType e,
-    final PrintWriter w)
+    final Appendable out)
     throws IOException
   {
-    final var matcher = new SerializingMatcher(w);
-
-    if (e instanceof SExpressionType.SList list) {
-      matcher.list(list);
-    } else if (e instanceof SExpressionType.SSymbol symbol) {
-      matcher.symbol(symbol);
-    } else if (e instanceof SExpressionType.SQuotedString quotedString) {
-      matcher.quotedString(quotedString);
-    }
+    SExpressions.traverse(e, new TextVisitor(out));
   }
 
   @Override
@@ -72,63 +72,80 @@ public final class JSXSerializerTrivial implements JSXSerializerType
     final OutputStream s)
     throws IOException
   {
-    final BufferedOutputStream bs =
-      new BufferedOutputStream(s);
-    final OutputStreamWriter os =
-      new OutputStreamWriter(bs, StandardCharsets.UTF_8);
-    final PrintWriter w = new PrintWriter(os);
-    serializeWithWriter(e, w);
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(s, "Stream");
+
+    final Writer w = new OutputStreamWriter(s, StandardCharsets.UTF_8);
+    serializeExpression(e, w);
     w.flush();
   }
 
-  private static final class SerializingMatcher
+  @Override
+  public void serializeText(
+    final SExpressionType e,
+    final Appendable out)
+    throws IOException
   {
-    private final PrintWriter writer;
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(out, "Output");
 
-    SerializingMatcher(final PrintWriter in_writer)
+    serializeExpression(e, out);
+  }
+
+  private static final class TextVisitor
+    implements SExpressionVisitorType<IOException>
+  {
+    private final Appendable out;
+
+    TextVisitor(
+      final Appendable inOut)
     {
-      this.writer = Objects.requireNonNull(in_writer, "writer");
+      this.out = inOut;
     }
 
-    public void list(
-      final SExpressionType.SList xs)
+    @Override
+    public void listStart(
+      final SListType list)
       throws IOException
     {
-      if (xs.isSquare()) {
-        this.writer.print("[");
-      } else {
-        this.writer.print("(");
-      }
-
-      final int max = xs.size();
-      for (int index = 0; index < max; ++index) {
-        final SExpressionType es = xs.get(index);
-        serializeWithWriter(es, this.writer);
-        if ((index + 1) < max) {
-          this.writer.print(" ");
-        }
-      }
+      this.out.append(list.isSquare() ? '[' : '(');
+    }
 
-      if (xs.isSquare()) {
-        this.writer.print("]");
-      } else {
-        this.writer.print(")");
+    @Override
+    public void listElement(
+      final SListType list,
+      final int index)
+      throws IOException
+    {
+      if (index > 0) {
+        this.out.append(' ');
       }
+    }
 
+    @Override
+    public void listEnd(
+      final SListType list)
+      throws IOException
+    {
+      this.out.append(list.isSquare() ? ']' : ')');
     }
 
+    @Override
     public void quotedString(
-      final SQuotedString qs)
+      final SQuotedString string)
+      throws IOException
     {
-      this.writer.print(
-        "\"%s\"".formatted(JSXLexerEscapes.escapeString(qs.text()))
-      );
+      this.out.append('"');
+      JSXLexerEscapes.appendEscaped(this.out, string.text());
+      this.out.append('"');
     }
 
+    @Override
     public void symbol(
-      final SSymbol ss)
+      final SSymbol symbol)
+      throws IOException
     {
-      this.writer.print(ss.text());
+      this.out.append(symbol.text());
     }
   }
 }
@@ -0,0 +1,363 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.serializer;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
+import com.io7m.jsx.api.lexer.JSXLexerEscapes;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Objects;
+
+/**
+ * A serializer that produces the same output as {@link JSXSerializerTrivial},
+ * but that encodes UTF-8 itself directly into a reusable byte buffer rather
+ * than going through a {@link java.io.Writer} and a charset encoder. The
+ * buffer is written to the output each time it fills, and once more when
+ * the expression has been serialized.
+ *
+ * Serializers hold a buffer and are therefore not thread-safe; each thread
+ * should use its own serializer. If the buffer is a direct buffer, writing
+ * to a {@link java.nio.channels.FileChannel} or a socket channel with
+ * {@link #serialize(SExpressionType, WritableByteChannel)} does not copy the
+ * encoded bytes again.
+ *
+ * Expressions are traversed with an explicit stack, and so may be nested to
+ * any depth.
+ *
+ * Unpaired surrogate characters are encoded as {@code ?}, as they would be
+ * by the standard UTF-8 encoder.
+ */
+
+public final class JSXSerializerUTF8 implements JSXSerializerType
+{
+  /**
+   * The default size in bytes of the buffer used by serializers created
+   * with {@link #newSerializer()}.
+   */
+
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * The minimum size in bytes of the buffer passed to
+   * {@link #newSerializer(ByteBuffer)}.
+   */
+
+  public static final int MINIMUM_BUFFER_SIZE = 16;
+
+  private final ByteBuffer buffer;
+  private final Visitor visitor;
+  private DrainType drain;
+
+  private JSXSerializerUTF8(
+    final ByteBuffer inBuffer)
+  {
+    this.buffer = Objects.requireNonNull(inBuffer, "Buffer");
+    this.visitor = new Visitor();
+  }
+
+  /**
+   * @return A new serializer using a heap buffer of
+   * {@link #DEFAULT_BUFFER_SIZE} bytes
+   */
+
+  public static JSXSerializerType newSerializer()
+  {
+    return new JSXSerializerUTF8(ByteBuffer.allocate(DEFAULT_BUFFER_SIZE));
+  }
+
+  /**
+   * Create a new serializer that encodes into the given buffer. The buffer
+   * is cleared and overwritten each time an expression is serialized, and
+   * must not be used by anything else for as long as the serializer is in
+   * use.
+   *
+   * @param buffer The buffer
+   *
+   * @return A new serializer
+   *
+   * @throws IllegalArgumentException If the buffer capacity is less than
+   *                                  {@link #MINIMUM_BUFFER_SIZE}, or the
+   *                                  buffer is read-only
+   */
+
+  public static JSXSerializerType newSerializer(
+    final ByteBuffer buffer)
+  {
+    Objects.requireNonNull(buffer, "Buffer");
+
+    if (buffer.capacity() < MINIMUM_BUFFER_SIZE) {
+      throw new IllegalArgumentException(
+        new StringBuilder(64)
+          .append("Buffer capacity must be >= ")
+          .append(MINIMUM_BUFFER_SIZE)
+          .append(" (got ")
+          .append(buffer.capacity())
+          .append(")")
+          .toString());
+    }
+    if (buffer.isReadOnly()) {
+      throw new IllegalArgumentException("Buffer must be writable");
+    }
+    return new JSXSerializerUTF8(buffer);
+  }
+
+  private static void writeArray(
+    final OutputStream stream,
+    final ByteBuffer data)
+    throws IOException
+  {
+    stream.write(
+      data.array(),
+      data.arrayOffset() + data.position(),
+      data.remaining());
+    data.position(data.limit());
+  }
+
+  private static void writeChannel(
+    final WritableByteChannel channel,
+    final ByteBuffer data)
+    throws IOException
+  {
+    while (data.hasRemaining()) {
+      channel.write(data);
+    }
+  }
+
+  @Override
+  public void serialize(
+    final SExpressionType e,
+    final OutputStream s)
+    throws IOException
+  {
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(s, "Stream");
+
+    if (this.buffer.hasArray()) {
+      this.run(e, data -> writeArray(s, data));
+    } else {
+      final WritableByteChannel channel = Channels.newChannel(s);
+      this.run(e, data -> writeChannel(channel, data));
+    }
+    s.flush();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * The channel must be in blocking mode.
+   */
+
+  @Override
+  public void serialize(
+    final SExpressionType e,
+    final WritableByteChannel channel)
+    throws IOException
+  {
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(channel, "Channel");
+
+    this.run(e, data -> writeChannel(channel, data));
+  }
+
+  @Override
+  public void serializeText(
+    final SExpressionType e,
+    final Appendable out)
+    throws IOException
+  {
+    Objects.requireNonNull(e, "Expression");
+    Objects.requireNonNull(out, "Output");
+
+    JSXSerializerTrivial.serializeExpression(e, out);
+  }
+
+  private void run(
+    final SExpressionType e,
+    final DrainType inDrain)
+    throws IOException
+  {
+    this.buffer.clear();
+    this.drain = inDrain;
+    try {
+      SExpressions.traverse(e, this.visitor);
+      this.flush();
+    } finally {
+      this.drain = null;
+      this.buffer.clear();
+    }
+  }
+
+  private void flush()
+    throws IOException
+  {
+    this.buffer.flip();
+    if (this.buffer.hasRemaining()) {
+      this.drain.drain(this.buffer);
+    }
+    this.buffer.clear();
+  }
+
+  private void putByte(
+    final char c)
+    throws IOException
+  {
+    if (!this.buffer.hasRemaining()) {
+      this.flush();
+    }
+    this.buffer.put((byte) c);
+  }
+
+  /*
+   * Encode the given text. Each iteration reserves enough space for the
+   * longest possible encoding of a single character (four bytes for a
+   * surrogate pair, or two bytes for an escape), and so the buffer is only
+   * checked once per character.
+   */
+
+  private void putText(
+    final String text,
+    final boolean escape)
+    throws IOException
+  {
+    final ByteBuffer b = this.buffer;
+    final int length = text.length();
+
+    int index = 0;
+    while (index < length) {
+      if (b.remaining() < 4) {
+        this.flush();
+      }
+
+      final char c = text.charAt(index);
+      if (c < 0x80) {
+        final char escaped = escape ? JSXLexerEscapes.escapeOf(c) : 0;
+        if (escaped != 0) {
+          b.put((byte) '\\');
+          b.put((byte) escaped);
+        } else {
+          b.put((byte) c);
+        }
+      } else if (c < 0x800) {
+        b.put((byte) (0xc0 | (c >> 6)));
+        b.put((byte) (0x80 | (c & 0x3f)));
+      } else if (Character.isSurrogate(c)) {
+        index = this.putSurrogate(text, index);
+        continue;
+      } else {
+        b.put((byte) (0xe0 | (c >> 12)));
+        b.put((byte) (0x80 | ((c >> 6) & 0x3f)));
+        b.put((byte) (0x80 | (c & 0x3f)));
+      }
+      index = index + 1;
+    }
+  }
+
+  private int putSurrogate(
+    final String text,
+    final int index)
+  {
+    final ByteBuffer b = this.buffer;
+    final char high = text.charAt(index);
+    final int next = index + 1;
+
+    if (Character.isHighSurrogate(high) && next < text.length()) {
+      final char low = text.charAt(next);
+      if (Character.isLowSurrogate(low)) {
+        final int cp = Character.toCodePoint(high, low);
+        b.put((byte) (0xf0 | (cp >> 18)));
+        b.put((byte) (0x80 | ((cp >> 12) & 0x3f)));
+        b.put((byte) (0x80 | ((cp >> 6) & 0x3f)));
+        b.put((byte) (0x80 | (cp & 0x3f)));
+        return next + 1;
+      }
+    }
+
+    b.put((byte) '?');
+    return next;
+  }
+
+  private final class Visitor
+    implements SExpressionVisitorType<IOException>
+  {
+    Visitor()
+    {
+
+    }
+
+    @Override
+    public void listStart(
+      final SListType list)
+      throws IOException
+    {
+      JSXSerializerUTF8.this.putByte(list.isSquare() ? '[' : '(');
+    }
+
+    @Override
+    public void listElement(
+      final SListType list,
+      final int index)
+      throws IOException
+    {
+      if (index > 0) {
+        JSXSerializerUTF8.this.putByte(' ');
+      }
+    }
+
+    @Override
+    public void listEnd(
+      final SListType list)
+      throws IOException
+    {
+      JSXSerializerUTF8.this.putByte(list.isSquare() ? ']' : ')');
+    }
+
+    @Override
+    public void quotedString(
+      final SQuotedString string)
+      throws IOException
+    {
+      JSXSerializerUTF8.this.putByte('"');
+      JSXSerializerUTF8.this.putText(string.text(), true);
+      JSXSerializerUTF8.this.putByte('"');
+    }
+
+    @Override
+    public void symbol(
+      final SSymbol symbol)
+      throws IOException
+    {
+      JSXSerializerUTF8.this.putText(symbol.text(), false);
+    }
+  }
+
+  @FunctionalInterface
+  private interface DrainType
+  {
+    void drain(ByteBuffer data)
+      throws IOException;
+  }
+}
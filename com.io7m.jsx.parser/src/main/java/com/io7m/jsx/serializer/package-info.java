@@ -15,11 +15,11 @@
  */
 
 /**
- * A trivial serializer.
+ * Serializer implementations.
  */
 
 @Export
-@Version("3.0.0")
+@Version("3.1.0")
 package com.io7m.jsx.serializer;
 
 import org.osgi.annotation.bundle.Export;
@@ -35,9 +35,14 @@ module com.io7m.jsx.parser
   exports com.io7m.jsx.lexer;
 
   provides com.io7m.jsx.api.lexer.JSXLexerSupplierType
-    with com.io7m.jsx.lexer.JSXLexerSupplier;
+    with com.io7m.jsx.lexer.JSXLexerSupplier,
+      com.io7m.jsx.lexer.JSXLexerBufferedSupplier;
   provides com.io7m.jsx.api.parser.JSXParserSupplierType
     with com.io7m.jsx.parser.JSXParserSupplier;
   provides com.io7m.jsx.api.serializer.JSXSerializerSupplierType
-    with com.io7m.jsx.serializer.JSXSerializerTrivialSupplier;
+    with com.io7m.jsx.serializer.JSXSerializerTrivialSupplier,
+      com.io7m.jsx.serializer.JSXSerializerUTF8Supplier,
+      com.io7m.jsx.serializer.JSXSerializerBinarySupplier;
+  provides com.io7m.jsx.api.serializer.JSXDeserializerSupplierType
+    with com.io7m.jsx.serializer.JSXDeserializerBinarySupplier;
 }
\ No newline at end of file
@@ -20,6 +20,8 @@ import com.io7m.jsx.SExpressionType;
 import com.io7m.jsx.SExpressionType.SListType;
 import com.io7m.jsx.SExpressionType.SQuotedString;
 import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
 import com.io7m.jsx.api.lexer.JSXLexerEscapes;
 import de.uka.ilkd.pp.Layouter;
 import de.uka.ilkd.pp.WriterBackend;
@@ -72,7 +74,7 @@ public final class JSXPrettyPrinterCodeStyle implements JSXPrettyPrinterType
   public void print(final SExpressionType e)
     throws IOException
   {
-    this.matcher.match(e);
+    SExpressions.traverse(e, this.matcher);
   }
 
   @Override
@@ -83,6 +85,7 @@ public final class JSXPrettyPrinterCodeStyle implements JSXPrettyPrinterType
   }
 
   private static final class PrinterMatcher
+    implements SExpressionVisitorType<IOException>
   {
     private final int indent;
     private final Layouter<IOException> layout;
@@ -95,73 +98,51 @@ public final class JSXPrettyPrinterCodeStyle implements JSXPrettyPrinterType
       this.indent = in_indent;
     }
 
-    public Void match(
-      final SExpressionType e)
+    @Override
+    public void listStart(
+      final SListType list)
       throws IOException
     {
-      if (e instanceof final SQuotedString quotedString) {
-        return this.quotedString(quotedString);
-      } else if (e instanceof final SSymbol symbol) {
-        return this.symbol(symbol);
-      } else if (e instanceof final SListType list) {
-        return this.list(list);
-      } else {
-        throw new IllegalStateException();
-      }
-    }
-
-    public Void list(final SListType e)
-      throws IOException
-    {
-      final Layouter<IOException> x = this.layout;
-
-      x.begin(
+      this.layout.begin(
         Layouter.BreakConsistency.CONSISTENT,
         Layouter.IndentationBase.FROM_POS,
         0);
+      this.layout.print(list.isSquare() ? "[" : "(");
+    }
 
-      if (e.isSquare()) {
-        x.print("[");
-      } else {
-        x.print("(");
-      }
-
-      final int size = e.size();
-      if (size > 0) {
-        for (int index = 0; index < size; ++index) {
-          final SExpressionType current = e.get(index);
-          this.match(current);
-          if (index + 1 < size) {
-            x.brk(1, this.indent);
-          }
-        }
-      }
-
-      if (e.isSquare()) {
-        x.print("]");
-      } else {
-        x.print(")");
+    @Override
+    public void listElement(
+      final SListType list,
+      final int index)
+      throws IOException
+    {
+      if (index > 0) {
+        this.layout.brk(1, this.indent);
       }
+    }
 
-      x.end();
-      return null;
+    @Override
+    public void listEnd(
+      final SListType list)
+      throws IOException
+    {
+      this.layout.print(list.isSquare() ? "]" : ")");
+      this.layout.end();
     }
 
-    public Void quotedString(
+    @Override
+    public void quotedString(
       final SQuotedString e)
       throws IOException
     {
-      this.layout.print(
-        "\"%s\"".formatted(JSXLexerEscapes.escapeString(e.text()))
-      );
-      return null;
+      this.layout.print(JSXLexerEscapes.quoteString(e.text()));
     }
 
-    public Void symbol(final SSymbol e)
+    @Override
+    public void symbol(final SSymbol e)
       throws IOException
     {
       this.layout.print(e.text());
-      return null;
     }
   }
 }
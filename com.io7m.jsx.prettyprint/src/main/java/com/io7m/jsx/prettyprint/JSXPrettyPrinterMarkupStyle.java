@@ -17,8 +17,11 @@
 package com.io7m.jsx.prettyprint;
 
 import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SListType;
 import com.io7m.jsx.SExpressionType.SQuotedString;
 import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
 import com.io7m.jsx.api.lexer.JSXLexerEscapes;
 import de.uka.ilkd.pp.Layouter;
 import de.uka.ilkd.pp.WriterBackend;
@@ -71,7 +74,7 @@ public final class JSXPrettyPrinterMarkupStyle implements JSXPrettyPrinterType
   public void print(final SExpressionType e)
     throws IOException
   {
-    this.matcher.match(e);
+    SExpressions.traverse(e, this.matcher);
   }
 
   @Override
@@ -82,6 +85,7 @@ public final class JSXPrettyPrinterMarkupStyle implements JSXPrettyPrinterType
   }
 
   private static final class PrinterMatcher
+    implements SExpressionVisitorType<IOException>
   {
     private final Layouter<IOException> layout;
 
@@ -91,22 +95,9 @@ public final class JSXPrettyPrinterMarkupStyle implements JSXPrettyPrinterType
       this.layout = Objects.requireNonNull(in_layout, "Layout");
     }
 
-    public Void match(
-      final SExpressionType e)
-      throws IOException
-    {
-      if (e instanceof final SQuotedString quotedString) {
-        return this.quotedString(quotedString);
-      } else if (e instanceof final SSymbol symbol) {
-        return this.symbol(symbol);
-      } else if (e instanceof final SExpressionType.SListType list) {
-        return this.list(list);
-      } else {
-        throw new IllegalStateException();
-      }
-    }
-
-    public Void list(final SExpressionType.SListType e)
+    @Override
+    public void listStart(
+      final SListType list)
       throws IOException
     {
       final Layouter<IOException> x = this.layout;
@@ -115,56 +106,54 @@ public final class JSXPrettyPrinterMarkupStyle implements JSXPrettyPrinterType
         Layouter.BreakConsistency.INCONSISTENT,
         Layouter.IndentationBase.FROM_POS,
         0);
+      x.print(list.isSquare() ? "[" : "(");
 
-      if (e.isSquare()) {
-        x.print("[");
-      } else {
-        x.print("(");
-      }
-
-      final int size = e.size();
-      if (size > 0) {
+      if (list.size() > 0) {
         x.begin(
           Layouter.BreakConsistency.INCONSISTENT,
           Layouter.IndentationBase.FROM_POS,
           0);
-
-        for (int index = 0; index < size; ++index) {
-          final SExpressionType current = e.get(index);
-          this.match(current);
-          if (index + 1 < size) {
-            x.brk();
-          }
-        }
-
-        x.end();
       }
+    }
 
-      if (e.isSquare()) {
-        x.print("]");
-      } else {
-        x.print(")");
+    @Override
+    public void listElement(
+      final SListType list,
+      final int index)
+      throws IOException
+    {
+      if (index > 0) {
+        this.layout.brk();
       }
+    }
+
+    @Override
+    public void listEnd(
+      final SListType list)
+      throws IOException
+    {
+      final Layouter<IOException> x = this.layout;
 
+      if (list.size() > 0) {
+        x.end();
+      }
+      x.print(list.isSquare() ? "]" : ")");
       x.end();
-      return null;
     }
 
-    public Void quotedString(
+    @Override
+    public void quotedString(
       final SQuotedString e)
       throws IOException
     {
-      this.layout.print(
-        "\"%s\"".formatted(JSXLexerEscapes.escapeString(e.text()))
-      );
-      return null;
+      this.layout.print(JSXLexerEscapes.quoteString(e.text()));
     }
 
-    public Void symbol(final SSymbol e)
+    @Override
+    public void symbol(final SSymbol e)
       throws IOException
     {
       this.layout.print(e.text());
-      return null;
     }
   }
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests;
+
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SList;
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SExpressionVisitorType;
+import com.io7m.jsx.SExpressions;
+import com.io7m.jsx.SLists;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+public final class SExpressionTest
+{
+  private static final LexicalPosition<URI> LEX =
+    LexicalPosition.of(1, 0, Optional.empty());
+
+  @Test
+  public void testListCopiedOnce()
+  {
+    final var items = new ArrayList<SExpressionType>();
+    items.add(new SSymbol(LEX, "a"));
+    items.add(new SSymbol(LEX, "b"));
+
+    final var list = new SList(LEX, false, items);
+    items.add(new SSymbol(LEX, "c"));
+
+    Assertions.assertEquals(2, list.size());
+    Assertions.assertEquals(new SSymbol(LEX, "a"), list.get(0));
+    Assertions.assertEquals(new SSymbol(LEX, "b"), list.get(1));
+    Assertions.assertThrows(
+      UnsupportedOperationException.class,
+      () -> list.expressions().add(new SSymbol(LEX, "d")));
+  }
+
+  @Test
+  public void testListIteratorUnmodifiable()
+  {
+    final var list =
+      new SList(LEX, true, List.of(new SSymbol(LEX, "a")));
+
+    final var iter = list.iterator();
+    Assertions.assertEquals(new SSymbol(LEX, "a"), iter.next());
+    Assertions.assertThrows(UnsupportedOperationException.class, iter::remove);
+    Assertions.assertFalse(iter.hasNext());
+  }
+
+  @Test
+  public void testListNullElement()
+  {
+    final var items = new ArrayList<SExpressionType>();
+    items.add(null);
+    Assertions.assertThrows(
+      NullPointerException.class,
+      () -> new SList(LEX, false, items));
+  }
+
+  @Test
+  public void testCompactLists()
+  {
+    final var items = new ArrayList<SExpressionType>();
+    for (int size = 0; size <= 6; ++size) {
+      final var list = SLists.of(LEX, size % 2 == 0, items);
+      Assertions.assertEquals(size, list.size());
+      Assertions.assertEquals(size % 2 == 0, list.isSquare());
+      Assertions.assertEquals(LEX, list.lexical());
+
+      for (int index = 0; index < size; ++index) {
+        Assertions.assertEquals(items.get(index), list.get(index));
+      }
+
+      final var iter = list.iterator();
+      for (int index = 0; index < size; ++index) {
+        Assertions.assertTrue(iter.hasNext());
+        Assertions.assertEquals(items.get(index), iter.next());
+      }
+      Assertions.assertFalse(iter.hasNext());
+      Assertions.assertThrows(NoSuchElementException.class, iter::next);
+
+      final int sizeNow = size;
+      Assertions.assertThrows(
+        IndexOutOfBoundsException.class, () -> list.get(sizeNow));
+      Assertions.assertThrows(
+        IndexOutOfBoundsException.class, () -> list.get(-1));
+
+      final var copy = SLists.of(LEX, size % 2 == 0, List.copyOf(items));
+      Assertions.assertEquals(list, copy);
+      Assertions.assertEquals(list.hashCode(), copy.hashCode());
+      Assertions.assertEquals(list.toString(), copy.toString());
+      Assertions.assertNotEquals(list, SLists.of(LEX, size % 2 != 0, items));
+
+      items.add(new SSymbol(LEX, "x" + size));
+      Assertions.assertEquals(size, list.size());
+      Assertions.assertNotEquals(list, SLists.of(LEX, size % 2 == 0, items));
+    }
+  }
+
+  @Test
+  public void testCompactListsContentEqualLists()
+  {
+    final var file = Optional.of(URI.create("urn:file"));
+    final var position = LexicalPosition.of(23, 17, file);
+    final var items = new ArrayList<SExpressionType>();
+
+    for (int size = 0; size <= 5; ++size) {
+      final var compact =
+        SLists.of(position, false, List.of(SLists.of(LEX, true, items)));
+      final var plain =
+        new SList(
+          position.withColumnEnd(40),
+          false,
+          List.of(new SList(LEX, true, items)));
+
+      Assertions.assertNotEquals(compact, plain);
+      Assertions.assertNotEquals(plain, compact);
+      Assertions.assertEquals(plain, new SList(
+        position.withColumnEnd(40),
+        false,
+        List.of(new SList(LEX, true, items))));
+      Assertions.assertNotEquals(plain, new SList(
+        position,
+        false,
+        List.of(new SList(LEX, true, items))));
+
+      Assertions.assertTrue(SLists.contentEquals(compact, plain));
+      Assertions.assertTrue(SLists.contentEquals(plain, compact));
+      Assertions.assertEquals(
+        SLists.contentHashCode(compact), SLists.contentHashCode(plain));
+
+      Assertions.assertFalse(SLists.contentEquals(
+        compact, new SList(position, true, plain.expressions())));
+      Assertions.assertFalse(SLists.contentEquals(
+        new SList(position.withFile(Optional.empty()), false, plain.expressions()),
+        compact));
+      Assertions.assertFalse(SLists.contentEquals(
+        compact, new SSymbol(position, "x")));
+      Assertions.assertFalse(SLists.contentEquals(
+        new SSymbol(position, "x"), compact));
+
+      items.add(new SSymbol(LEX, "x" + size));
+    }
+  }
+
+  @Test
+  public void testCompactListNullElement()
+  {
+    for (int size = 1; size <= 5; ++size) {
+      final var items = new ArrayList<SExpressionType>();
+      for (int index = 0; index < size - 1; ++index) {
+        items.add(new SSymbol(LEX, "x"));
+      }
+      items.add(null);
+      Assertions.assertThrows(
+        NullPointerException.class,
+        () -> SLists.of(LEX, false, items));
+    }
+  }
+
+  @Test
+  public void testCompactListPositions()
+  {
+    final var file = Optional.of(URI.create("urn:file"));
+    final var positions = List.of(
+      LexicalPosition.of(1, 0, Optional.<URI>empty()),
+      LexicalPosition.of(23, 17, file),
+      LexicalPosition.of(-1, Integer.MAX_VALUE, file),
+      LexicalPosition.of(Integer.MAX_VALUE, -1, file),
+      LexicalPosition.of(Integer.MIN_VALUE, Integer.MIN_VALUE, file)
+    );
+
+    for (final var position : positions) {
+      for (int size = 0; size <= 4; ++size) {
+        final var items = new ArrayList<SExpressionType>();
+        for (int index = 0; index < size; ++index) {
+          items.add(new SSymbol(LEX, "x"));
+        }
+        final var list = SLists.of(position, false, items);
+        Assertions.assertEquals(position, list.lexical());
+
+        for (final var each : List.of(list, new SList(position, false, items))) {
+          Assertions.assertEquals(position.line(), SLists.line(each));
+          Assertions.assertEquals(position.column(), SLists.column(each));
+          Assertions.assertEquals(position.file(), SLists.file(each));
+        }
+      }
+    }
+
+    Assertions.assertNotEquals(
+      SLists.of(positions.get(1), false, List.of()),
+      SLists.of(positions.get(1).withFile(Optional.empty()), false, List.of()));
+  }
+
+  @Test
+  public void testTraverseOrder()
+    throws Exception
+  {
+    final var inner =
+      SLists.of(LEX, true, List.of(new SQuotedString(LEX, "q")));
+    final var outer =
+      SLists.of(LEX, false, List.of(
+        new SSymbol(LEX, "a"),
+        inner,
+        SLists.of(LEX, false, List.of())
+      ));
+
+    final var events = new ArrayList<String>();
+    SExpressions.traverse(outer, new SExpressionVisitorType<Exception>()
+    {
+      @Override
+      public void listStart(final SListType list)
+      {
+        events.add("start " + list.size());
+      }
+
+      @Override
+      public void listElement(
+        final SListType list,
+        final int index)
+      {
+        events.add("element " + index);
+      }
+
+      @Override
+      public void listEnd(final SListType list)
+      {
+        events.add("end " + list.size());
+      }
+
+      @Override
+      public void quotedString(final SQuotedString string)
+      {
+        events.add("string " + string.text());
+      }
+
+      @Override
+      public void symbol(final SSymbol symbol)
+      {
+        events.add("symbol " + symbol.text());
+      }
+    });
+
+    Assertions.assertEquals(
+      List.of(
+        "start 3",
+        "element 0",
+        "symbol a",
+        "element 1",
+        "start 1",
+        "element 0",
+        "string q",
+        "end 1",
+        "element 2",
+        "start 0",
+        "end 0",
+        "end 3"
+      ),
+      events
+    );
+
+    events.clear();
+    SExpressions.traverse(new SSymbol(LEX, "b"), new SExpressionVisitorType<Exception>()
+    {
+      @Override
+      public void listStart(final SListType list)
+      {
+        throw new IllegalStateException();
+      }
+
+      @Override
+      public void listElement(
+        final SListType list,
+        final int index)
+      {
+        throw new IllegalStateException();
+      }
+
+      @Override
+      public void listEnd(final SListType list)
+      {
+        throw new IllegalStateException();
+      }
+
+      @Override
+      public void quotedString(final SQuotedString string)
+      {
+        throw new IllegalStateException();
+      }
+
+      @Override
+      public void symbol(final SSymbol symbol)
+      {
+        events.add(symbol.text());
+      }
+    });
+    Assertions.assertEquals(List.of("b"), events);
+  }
+}
@@ -16,12 +16,25 @@
 
 package com.io7m.jsx.tests;
 
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SLists;
 import com.io7m.jsx.api.lexer.JSXLexerSupplierType;
 import com.io7m.jsx.api.parser.JSXParserSupplierType;
+import com.io7m.jsx.api.serializer.JSXDeserializerSupplierType;
+import com.io7m.jsx.api.serializer.JSXDeserializerType;
 import com.io7m.jsx.api.serializer.JSXSerializerSupplierType;
+import com.io7m.jsx.lexer.JSXLexerBufferedSupplier;
+import com.io7m.jsx.serializer.JSXDeserializerBinarySupplier;
+import com.io7m.jsx.serializer.JSXSerializerBinarySupplier;
+import com.io7m.jsx.serializer.JSXSerializerUTF8Supplier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
 
 public final class ServicesTest
@@ -33,6 +46,14 @@ public final class ServicesTest
                             .findFirst().isPresent());
   }
 
+  @Test
+  public void testLexerBuffered()
+  {
+    Assertions.assertTrue(ServiceLoader.load(JSXLexerSupplierType.class)
+                            .stream()
+                            .anyMatch(p -> p.type() == JSXLexerBufferedSupplier.class));
+  }
+
   @Test
   public void testParser()
   {
@@ -46,4 +67,131 @@ public final class ServicesTest
     Assertions.assertTrue(ServiceLoader.load(JSXSerializerSupplierType.class)
                             .findFirst().isPresent());
   }
+
+  @Test
+  public void testSerializerUTF8()
+  {
+    Assertions.assertTrue(ServiceLoader.load(JSXSerializerSupplierType.class)
+                            .stream()
+                            .anyMatch(p -> p.type() == JSXSerializerUTF8Supplier.class));
+  }
+
+  @Test
+  public void testSerializerBinary()
+  {
+    Assertions.assertTrue(ServiceLoader.load(JSXSerializerSupplierType.class)
+                            .stream()
+                            .anyMatch(p -> p.type() == JSXSerializerBinarySupplier.class));
+  }
+
+  @Test
+  public void testDeserializerBinary()
+  {
+    Assertions.assertTrue(ServiceLoader.load(JSXDeserializerSupplierType.class)
+                            .stream()
+                            .anyMatch(p -> p.type() == JSXDeserializerBinarySupplier.class));
+  }
+
+  @Test
+  public void testSerializersText()
+    throws Exception
+  {
+    final SExpressionType e =
+      new SExpressionType.SList(
+        LexicalPosition.of(1, 0, Optional.empty()), false, List.of());
+
+    for (final JSXSerializerSupplierType supplier :
+      ServiceLoader.load(JSXSerializerSupplierType.class)) {
+      final StringBuilder text = new StringBuilder();
+      supplier.create().serializeText(e, text);
+      Assertions.assertFalse(text.isEmpty(), supplier.toString());
+    }
+  }
+
+  @Test
+  public void testBinaryTextRoundTrip()
+    throws Exception
+  {
+    final SExpressionType e =
+      new SExpressionType.SList(
+        LexicalPosition.of(1, 0, Optional.empty()), false, List.of());
+
+    final StringBuilder text = new StringBuilder();
+    ServiceLoader.load(JSXSerializerSupplierType.class)
+      .stream()
+      .filter(p -> p.type() == JSXSerializerBinarySupplier.class)
+      .findFirst()
+      .orElseThrow()
+      .get()
+      .create()
+      .serializeText(e, text);
+
+    final JSXDeserializerType deserializer =
+      ServiceLoader.load(JSXDeserializerSupplierType.class)
+        .findFirst()
+        .orElseThrow()
+        .create();
+
+    Assertions.assertTrue(
+      SLists.contentEquals(e, deserializer.deserializeText(text)));
+  }
+
+  /*
+   * The service files are only consulted when the modules are placed on
+   * the class path, and so they are checked directly.
+   */
+
+  private static void checkServiceFile(
+    final Class<?> service)
+    throws IOException, ClassNotFoundException
+  {
+    final Module module = JSXLexerBufferedSupplier.class.getModule();
+    final String name = "META-INF/services/" + service.getName();
+
+    try (var stream = module.getResourceAsStream(name)) {
+      Assertions.assertNotNull(stream, name);
+
+      final List<String> lines =
+        new String(stream.readAllBytes(), StandardCharsets.UTF_8)
+          .lines()
+          .map(String::trim)
+          .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+          .toList();
+
+      Assertions.assertFalse(lines.isEmpty(), name);
+      for (final String line : lines) {
+        final Class<?> type =
+          Class.forName(line, false, module.getClassLoader());
+        Assertions.assertTrue(service.isAssignableFrom(type), line);
+      }
+    }
+  }
+
+  @Test
+  public void testServiceFileLexer()
+    throws Exception
+  {
+    checkServiceFile(JSXLexerSupplierType.class);
+  }
+
+  @Test
+  public void testServiceFileParser()
+    throws Exception
+  {
+    checkServiceFile(JSXParserSupplierType.class);
+  }
+
+  @Test
+  public void testServiceFileDeserializer()
+    throws Exception
+  {
+    checkServiceFile(JSXDeserializerSupplierType.class);
+  }
+
+  @Test
+  public void testServiceFileSerializer()
+    throws Exception
+  {
+    checkServiceFile(JSXSerializerSupplierType.class);
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.lexer;
+
+import com.io7m.jsx.api.lexer.JSXLexerEscapes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public final class LexerEscapesTest
+{
+  private static final List<String> INPUTS = List.of(
+    "",
+    "abc",
+    "\"",
+    "\\",
+    "\r\n\t",
+    "a\"b\\c\rd\ne\tf",
+    "\"leading",
+    "trailing\\",
+    "é😀\ud800x",
+    "no escapes at all, just text and •"
+  );
+
+  /*
+   * The original per-code-point implementation, used as a reference.
+   */
+
+  private static String reference(
+    final String text)
+  {
+    return text.codePoints()
+      .mapToObj(JSXLexerEscapes::escapeCodePoint)
+      .collect(Collectors.joining());
+  }
+
+  @Test
+  public void testEscapeString()
+    throws Exception
+  {
+    for (final var input : INPUTS) {
+      final var expected = reference(input);
+      Assertions.assertEquals(expected, JSXLexerEscapes.escapeString(input));
+      Assertions.assertEquals(
+        "\"" + expected + "\"", JSXLexerEscapes.quoteString(input));
+
+      final var builder = new StringBuilder("x");
+      JSXLexerEscapes.appendEscaped(builder, input);
+      Assertions.assertEquals("x" + expected, builder.toString());
+
+      final var writer = new StringWriter();
+      JSXLexerEscapes.appendEscaped(writer, input);
+      Assertions.assertEquals(expected, writer.toString());
+    }
+  }
+
+  @Test
+  public void testEscapeStringUnchanged()
+  {
+    final var text = "nothing to escape here é";
+    Assertions.assertSame(text, JSXLexerEscapes.escapeString(text));
+  }
+
+  @Test
+  public void testEscapeStringRandom()
+  {
+    final var random = new Random(0x6a7378L);
+    final var alphabet = "ab \"\\\r\n\té😀";
+    for (int count = 0; count < 1000; ++count) {
+      final var text = new StringBuilder();
+      final int length = random.nextInt(32);
+      for (int index = 0; index < length; ++index) {
+        text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      final var input = text.toString();
+      Assertions.assertEquals(
+        reference(input), JSXLexerEscapes.escapeString(input), input);
+    }
+  }
+}
@@ -0,0 +1,588 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.lexer;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerCursorType;
+import com.io7m.jsx.api.lexer.JSXLexerException;
+import com.io7m.jsx.api.lexer.JSXLexerTokenKind;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.tokens.TokenEOF;
+import com.io7m.jsx.api.tokens.TokenType;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.lexer.JSXLexerBufferedSupplier;
+import com.io7m.jsx.lexer.JSXLexerUTF8;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Check that the alternative lexer implementations produce exactly the same
+ * tokens and errors as the default lexer.
+ */
+
+public final class LexerImplementationsTest
+{
+  private static final int[] BUFFER_SIZES = {
+    2, 3, 5, 17, JSXLexerBuffered.DEFAULT_BUFFER_SIZE,
+  };
+
+  private static final List<String> INPUTS = List.of(
+    "",
+    "(a b c)",
+    "[a (b) c]",
+    "a(b)c\"d\"e[f]g",
+    "(a\n  b\r\n  c)",
+    "(a \r b)",
+    "a\r",
+    "(\"a\\\"b\\\\c\\r\\n\\t\")",
+    "(\"\\u0041\\u00e9\\U0001F600\")",
+    "\"\\u00zz\"",
+    "\"\\U7FFFFFFF\"",
+    "\"\\q\"",
+    "\"unterminated",
+    "\"new\nline\"",
+    "\"new\r\nline\"",
+    "(\uD83D\uDE00 \"\uD83D\uDE00\" x\uD83D\uDE00y)",
+    "(\uD836\uDC00 \uD800\uDC00 \uDBFF\uDFFF)",
+    "(\u00e9t\u00e9 \u2003 caf\u00e9)",
+    "# hash\n(a) % percent\r\n; semi\n(b;c)",
+    "(a#b c%d e;f)",
+    "\t(a\tb)\t",
+    "\uD83D",
+    "\uDE00",
+    "\uD83Dx"
+  );
+
+  /*
+   * Runs of symbol, string and comment text that are longer than the
+   * scratch buffers of the lexers. This is not included in the inputs
+   * above, because mapping it in tiny chunks would exhaust the address
+   * space.
+   */
+
+  private static final String LONG_RUNS =
+    "(" + "x".repeat(10000) + "\u00e9" + "y".repeat(5000) + " \""
+      + "s".repeat(10000) + "\\n" + "t".repeat(5000) + "\")\n;"
+      + "c".repeat(9000) + "\u2003" + "d".repeat(100) + "\r\n";
+
+  private static final List<byte[]> MALFORMED_UTF8 = List.of(
+    new byte[]{'(', (byte) 0x80, ')'},
+    new byte[]{'(', (byte) 0xc0, (byte) 0xaf, ')'},
+    new byte[]{'(', (byte) 0xc3, ')'},
+    new byte[]{'(', (byte) 0xc3},
+    new byte[]{'(', (byte) 0xe2, (byte) 0x82, ')'},
+    new byte[]{'(', (byte) 0xe2, (byte) 0x82},
+    new byte[]{'(', (byte) 0xe0, (byte) 0x80, (byte) 0x80, ')'},
+    new byte[]{'(', (byte) 0xed, (byte) 0xa0, (byte) 0x80, ')'},
+    new byte[]{'(', (byte) 0xf0, (byte) 0x80, (byte) 0x80, (byte) 0x80},
+    new byte[]{'(', (byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0x80},
+    new byte[]{'(', (byte) 0xf0, (byte) 0x9f, (byte) 0x98, ')'},
+    new byte[]{'"', (byte) 0xf5, (byte) 0xff, (byte) 0xfe, '"'}
+  );
+
+  private static List<JSXLexerConfiguration> configurations()
+  {
+    final var results = new ArrayList<JSXLexerConfiguration>();
+    for (final var squares : new boolean[]{false, true}) {
+      for (final var newlines : new boolean[]{false, true}) {
+        results.add(new JSXLexerConfiguration(
+          squares,
+          newlines,
+          Optional.of(URI.create("file.txt")),
+          EnumSet.allOf(JSXLexerComment.class),
+          1
+        ));
+        results.add(new JSXLexerConfiguration(
+          squares,
+          newlines,
+          Optional.empty(),
+          EnumSet.noneOf(JSXLexerComment.class),
+          23
+        ));
+      }
+    }
+    return results;
+  }
+
+  private static List<String> describe(
+    final JSXLexerType lexer)
+  {
+    final var results = new ArrayList<String>();
+    try {
+      while (true) {
+        final TokenType token = lexer.token();
+        results.add(token.toString());
+        if (token instanceof TokenEOF) {
+          return results;
+        }
+      }
+    } catch (final JSXLexerException e) {
+      results.add(
+        "%s %s %s".formatted(e.getClass(), e.lexical(), e.getMessage()));
+    } catch (final IOException e) {
+      results.add("%s %s".formatted(e.getClass(), e.getMessage()));
+    }
+    return results;
+  }
+
+  private static List<String> describeCursor(
+    final JSXLexerCursorType cursor)
+  {
+    final var results = new ArrayList<String>();
+    try {
+      while (true) {
+        final var kind = cursor.next();
+        Assertions.assertEquals(kind, cursor.kind());
+        Assertions.assertEquals(
+          cursor.textAsString(), cursor.text().toString());
+        Assertions.assertEquals(cursor.line(), cursor.lexical().line());
+        Assertions.assertEquals(cursor.column(), cursor.lexical().column());
+
+        final var comment =
+          kind == JSXLexerTokenKind.COMMENT ? cursor.comment() : null;
+        results.add("%s %s %s %s".formatted(
+          kind, cursor.lexical(), cursor.textAsString(), comment));
+        if (kind == JSXLexerTokenKind.EOF) {
+          return results;
+        }
+      }
+    } catch (final JSXLexerException e) {
+      results.add(
+        "%s %s %s".formatted(e.getClass(), e.lexical(), e.getMessage()));
+    } catch (final IOException e) {
+      results.add("%s %s".formatted(e.getClass(), e.getMessage()));
+    }
+    return results;
+  }
+
+  private static JSXLexerType defaultLexer(
+    final JSXLexerConfiguration c,
+    final String text)
+  {
+    return JSXLexer.newLexer(
+      c, UnicodeCharacterReader.newReader(new StringReader(text)));
+  }
+
+  private static JSXLexerType defaultLexerUTF8(
+    final JSXLexerConfiguration c,
+    final byte[] data)
+  {
+    return JSXLexer.newLexer(
+      c,
+      UnicodeCharacterReader.newReader(new InputStreamReader(
+        new ByteArrayInputStream(data), StandardCharsets.UTF_8)));
+  }
+
+  private static void checkUTF8Identical(
+    final JSXLexerConfiguration c,
+    final byte[] data)
+  {
+    final var expected = describe(defaultLexerUTF8(c, data));
+    for (final var size : BUFFER_SIZES) {
+      final var received = describe(
+        JSXLexerUTF8.newLexerWithBufferSize(
+          c, new ByteArrayInputStream(data), size));
+      Assertions.assertEquals(expected, received);
+    }
+    Assertions.assertEquals(
+      expected,
+      describe(JSXLexerUTF8.newLexerFromBuffer(c, ByteBuffer.wrap(data))));
+  }
+
+  private static void checkMappedIdentical(
+    final JSXLexerConfiguration c,
+    final Path file,
+    final byte[] data)
+    throws IOException
+  {
+    Files.write(file, data);
+
+    final var expected = describe(defaultLexerUTF8(c, data));
+    for (final var size : BUFFER_SIZES) {
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        final var received = describe(
+          JSXLexerUTF8.newLexerFromChannelWithChunkSize(c, channel, size));
+        Assertions.assertEquals(expected, received);
+      }
+    }
+  }
+
+  private static InputStream largeData()
+    throws IOException
+  {
+    return new GZIPInputStream(new BufferedInputStream(
+      LexerImplementationsTest.class.getResourceAsStream(
+        "/com/io7m/jsx/tests/main.sdi.gz")));
+  }
+
+  @Test
+  public void testBufferedIdentical()
+  {
+    for (final var c : configurations()) {
+      for (final var text : INPUTS) {
+        final var expected = describe(defaultLexer(c, text));
+        for (final var size : BUFFER_SIZES) {
+          final var received = describe(
+            JSXLexerBuffered.newLexerWithBufferSize(
+              c, new StringReader(text), size));
+          Assertions.assertEquals(expected, received, text);
+        }
+      }
+    }
+  }
+
+  /*
+   * The cursor of each lexer must agree with the default cursor, which is
+   * implemented in terms of token().
+   */
+
+  @Test
+  public void testLongRunsIdentical()
+  {
+    for (final var c : configurations()) {
+      final var expected = describe(defaultLexer(c, LONG_RUNS));
+      for (final var size : BUFFER_SIZES) {
+        final var received = describe(
+          JSXLexerBuffered.newLexerWithBufferSize(
+            c, new StringReader(LONG_RUNS), size));
+        Assertions.assertEquals(expected, received);
+      }
+      checkUTF8Identical(c, LONG_RUNS.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static List<String> describeWithoutComments(
+    final JSXLexerType lexer)
+  {
+    lexer.setCommentTokensEnabled(false);
+    return describe(lexer);
+  }
+
+  @Test
+  public void testCommentTokensDisabledIdentical()
+  {
+    final var texts = new ArrayList<>(INPUTS);
+    texts.add(LONG_RUNS);
+
+    for (final var c : configurations()) {
+      for (final var text : texts) {
+        final var expected =
+          describe(defaultLexer(c, text))
+            .stream()
+            .filter(s -> !s.startsWith("[TokenComment "))
+            .toList();
+
+        Assertions.assertEquals(
+          expected, describeWithoutComments(defaultLexer(c, text)), text);
+
+        final var data = text.getBytes(StandardCharsets.UTF_8);
+        for (final var size : BUFFER_SIZES) {
+          Assertions.assertEquals(
+            expected,
+            describeWithoutComments(JSXLexerBuffered.newLexerWithBufferSize(
+              c, new StringReader(text), size)),
+            text);
+          Assertions.assertEquals(
+            describe(defaultLexerUTF8(c, data))
+              .stream()
+              .filter(s -> !s.startsWith("[TokenComment "))
+              .toList(),
+            describeWithoutComments(JSXLexerUTF8.newLexerWithBufferSize(
+              c, new ByteArrayInputStream(data), size)),
+            text);
+        }
+      }
+    }
+  }
+
+  /*
+   * Adapt a lexer such that only token() and reset() are forwarded, so that
+   * the default cursor implementation is used.
+   */
+
+  private static JSXLexerType tokensOnly(
+    final JSXLexerType lexer)
+  {
+    return new JSXLexerType()
+    {
+      @Override
+      public TokenType token()
+        throws IOException, JSXLexerException
+      {
+        return lexer.token();
+      }
+
+      @Override
+      public void reset(
+        final Reader reader)
+      {
+        lexer.reset(reader);
+      }
+    };
+  }
+
+  @Test
+  public void testCursorIdentical()
+  {
+    for (final var c : configurations()) {
+      for (final var text : INPUTS) {
+        final var tokens = defaultLexer(c, text);
+        final JSXLexerType adapted = tokensOnly(tokens);
+        final var expected = describeCursor(adapted.cursor());
+
+        Assertions.assertEquals(
+          expected, describeCursor(defaultLexer(c, text).cursor()), text);
+        Assertions.assertEquals(
+          expected,
+          describeCursor(JSXLexerBuffered.newLexerWithBufferSize(
+            c, new StringReader(text), 3).cursor()),
+          text);
+
+        final var data = text.getBytes(StandardCharsets.UTF_8);
+        final var tokensUTF8 = defaultLexerUTF8(c, data);
+        final JSXLexerType adaptedUTF8 = tokensOnly(tokensUTF8);
+        Assertions.assertEquals(
+          describeCursor(adaptedUTF8.cursor()),
+          describeCursor(
+            JSXLexerUTF8.newLexerFromBuffer(c, ByteBuffer.wrap(data)).cursor()),
+          text);
+      }
+    }
+  }
+
+  @Test
+  public void testCursorCommentState()
+    throws Exception
+  {
+    final var c = configurations().get(0);
+    final var cursor = defaultLexer(c, "; x\n(a)").cursor();
+
+    Assertions.assertEquals(JSXLexerTokenKind.COMMENT, cursor.next());
+    Assertions.assertEquals(JSXLexerComment.COMMENT_SEMICOLON, cursor.comment());
+    Assertions.assertEquals(JSXLexerTokenKind.LEFT_PARENTHESIS, cursor.next());
+    Assertions.assertEquals("", cursor.text().toString());
+    Assertions.assertThrows(IllegalStateException.class, cursor::comment);
+  }
+
+  @Test
+  public void testUTF8Identical()
+  {
+    for (final var c : configurations()) {
+      for (final var text : INPUTS) {
+        checkUTF8Identical(c, text.getBytes(StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Test
+  public void testUTF8Supplied()
+  {
+    final var c = configurations().get(0);
+    final var supplier = new JSXLexerBufferedSupplier();
+    final var stream = new ByteArrayInputStream(new byte[0]);
+
+    Assertions.assertInstanceOf(
+      JSXLexerUTF8.class, supplier.createFromStreamUTF8(c, stream));
+    Assertions.assertInstanceOf(
+      JSXLexerBuffered.class,
+      supplier.createFromStream(c, StandardCharsets.UTF_16, stream));
+  }
+
+  @Test
+  public void testUTF8MalformedIdentical()
+  {
+    for (final var c : configurations()) {
+      for (final var data : MALFORMED_UTF8) {
+        checkUTF8Identical(c, data);
+      }
+    }
+  }
+
+  @Test
+  public void testUTF8RandomIdentical()
+  {
+    final var c = configurations().get(0);
+    final var random = new Random(0x5eed);
+    for (int index = 0; index < 2000; ++index) {
+      final var data = new byte[random.nextInt(16)];
+      for (int k = 0; k < data.length; ++k) {
+        data[k] = random.nextBoolean()
+          ? (byte) (0x80 + random.nextInt(0x80))
+          : (byte) "( )\"a1".charAt(random.nextInt(6));
+      }
+      checkUTF8Identical(c, data);
+    }
+  }
+
+  @Test
+  public void testMappedIdentical(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var file = directory.resolve("data.sx");
+    for (final var c : configurations()) {
+      for (final var text : INPUTS) {
+        checkMappedIdentical(c, file, text.getBytes(StandardCharsets.UTF_8));
+      }
+      for (final var data : MALFORMED_UTF8) {
+        checkMappedIdentical(c, file, data);
+      }
+    }
+  }
+
+  @Test
+  public void testMappedStartsAtPosition(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var c = configurations().get(0);
+    final var file = directory.resolve("data.sx");
+    Files.writeString(file, "(a) (b)");
+
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      channel.position(3L);
+      final var received =
+        describe(new JSXLexerBufferedSupplier().createFromFileUTF8(c, channel));
+      Assertions.assertEquals(4, received.size());
+      Assertions.assertTrue(received.get(1).endsWith(": b]"));
+      Assertions.assertEquals(3L, channel.position());
+    }
+  }
+
+  @Test
+  public void testBufferedLargeDataIdentical()
+    throws Exception
+  {
+    final var c =
+      new JSXLexerConfiguration(
+        true,
+        true,
+        Optional.of(URI.create("file.txt")),
+        EnumSet.noneOf(JSXLexerComment.class),
+        1
+      );
+
+    final List<String> expected;
+    try (var stream = largeData()) {
+      expected = describe(JSXLexer.newLexer(
+        c,
+        UnicodeCharacterReader.newReader(
+          new InputStreamReader(stream, StandardCharsets.UTF_8))));
+    }
+
+    final List<String> received;
+    try (var stream = largeData()) {
+      received = describe(JSXLexerBuffered.newLexerWithBufferSize(
+        c, new InputStreamReader(stream, StandardCharsets.UTF_8), 4093));
+    }
+
+    Assertions.assertEquals(40483, expected.size());
+    Assertions.assertEquals(expected, received);
+  }
+
+  @Test
+  public void testUTF8LargeDataIdentical()
+    throws Exception
+  {
+    final var c =
+      new JSXLexerConfiguration(
+        true,
+        true,
+        Optional.of(URI.create("file.txt")),
+        EnumSet.noneOf(JSXLexerComment.class),
+        1
+      );
+
+    final List<String> expected;
+    try (var stream = largeData()) {
+      expected = describe(JSXLexer.newLexer(
+        c,
+        UnicodeCharacterReader.newReader(
+          new InputStreamReader(stream, StandardCharsets.UTF_8))));
+    }
+
+    final List<String> received;
+    try (var stream = largeData()) {
+      received = describe(JSXLexerUTF8.newLexerWithBufferSize(c, stream, 4093));
+    }
+
+    Assertions.assertEquals(40483, expected.size());
+    Assertions.assertEquals(expected, received);
+  }
+
+  @Test
+  public void testMappedLargeDataIdentical(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var c =
+      new JSXLexerConfiguration(
+        true,
+        true,
+        Optional.of(URI.create("file.txt")),
+        EnumSet.noneOf(JSXLexerComment.class),
+        1
+      );
+
+    final var file = directory.resolve("main.sdi");
+    try (var stream = largeData()) {
+      Files.copy(stream, file);
+    }
+
+    final List<String> expected;
+    try (var stream = largeData()) {
+      expected = describe(JSXLexer.newLexer(
+        c,
+        UnicodeCharacterReader.newReader(
+          new InputStreamReader(stream, StandardCharsets.UTF_8))));
+    }
+
+    final List<String> received;
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      received = describe(
+        JSXLexerUTF8.newLexerFromChannelWithChunkSize(c, channel, 4093));
+    }
+
+    Assertions.assertEquals(40483, expected.size());
+    Assertions.assertEquals(expected, received);
+  }
+}
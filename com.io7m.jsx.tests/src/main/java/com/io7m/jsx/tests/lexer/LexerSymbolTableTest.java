@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.lexer;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SAtomType;
+import com.io7m.jsx.SExpressionType.SListType;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerSymbolTable;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.parser.JSXParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public final class LexerSymbolTableTest
+{
+  private static JSXLexerConfiguration config(
+    final JSXLexerSymbolTable symbols)
+  {
+    return new JSXLexerConfiguration(
+      true,
+      false,
+      Optional.empty(),
+      EnumSet.of(JSXLexerComment.COMMENT_SEMICOLON),
+      1,
+      Optional.of(symbols)
+    );
+  }
+
+  private static List<SExpressionType> parse(
+    final JSXLexerSymbolTable symbols,
+    final String text)
+    throws Exception
+  {
+    return JSXParser.newParser(
+      new JSXParserConfiguration(true),
+      JSXLexerBuffered.newLexer(config(symbols), new StringReader(text))
+    ).parseExpressions();
+  }
+
+  private static String textOf(
+    final SExpressionType e)
+  {
+    return ((SAtomType) e).text();
+  }
+
+  @Test
+  public void testInternedAcrossParses()
+    throws Exception
+  {
+    final var symbols = JSXLexerSymbolTable.create();
+    final var a = parse(symbols, "(define x y) define");
+    final var b = parse(symbols, "[define]");
+
+    final var list0 = (SListType) a.get(0);
+    final var list1 = (SListType) b.get(0);
+    Assertions.assertSame(textOf(list0.get(0)), textOf(a.get(1)));
+    Assertions.assertSame(textOf(list0.get(0)), textOf(list1.get(0)));
+    Assertions.assertEquals("define", textOf(list1.get(0)));
+  }
+
+  @Test
+  public void testQuotedStringsNotInterned()
+    throws Exception
+  {
+    final var symbols = JSXLexerSymbolTable.create();
+    final var a = parse(symbols, "define \"define\"");
+    Assertions.assertEquals(textOf(a.get(0)), textOf(a.get(1)));
+    Assertions.assertNotSame(textOf(a.get(0)), textOf(a.get(1)));
+  }
+
+  @Test
+  public void testInternHit()
+  {
+    final var symbols = JSXLexerSymbolTable.create();
+    final var first = symbols.intern(new StringBuilder("abc"));
+    final var second = symbols.intern(new StringBuilder("abc"));
+    Assertions.assertEquals("abc", first);
+    Assertions.assertSame(first, second);
+  }
+
+  @Test
+  public void testInternLongNotInterned()
+  {
+    final var symbols = JSXLexerSymbolTable.create(16, 3);
+    Assertions.assertSame(
+      symbols.intern("abc"), symbols.intern(new StringBuilder("abc")));
+    Assertions.assertNotSame(
+      symbols.intern("abcd"), symbols.intern(new StringBuilder("abcd")));
+  }
+
+  @Test
+  public void testInternBounded()
+  {
+    final var symbols = JSXLexerSymbolTable.create(1, 64);
+    Assertions.assertEquals(1, symbols.capacity());
+
+    final var a = symbols.intern(new StringBuilder("a"));
+    final var b = symbols.intern(new StringBuilder("b"));
+    Assertions.assertEquals("b", b);
+    Assertions.assertNotSame(a, symbols.intern(new StringBuilder("a")));
+  }
+
+  @Test
+  public void testInternEmpty()
+  {
+    final var symbols = JSXLexerSymbolTable.create();
+    Assertions.assertEquals("", symbols.intern(new StringBuilder()));
+  }
+
+  @Test
+  public void testCapacityRounded()
+  {
+    Assertions.assertEquals(
+      1024, JSXLexerSymbolTable.create(1000, 64).capacity());
+    Assertions.assertEquals(
+      1024, JSXLexerSymbolTable.create(1024, 64).capacity());
+  }
+
+  @Test
+  public void testInvalid()
+  {
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> JSXLexerSymbolTable.create(0, 64));
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> JSXLexerSymbolTable.create((1 << 24) + 1, 64));
+    Assertions.assertThrows(
+      IllegalArgumentException.class,
+      () -> JSXLexerSymbolTable.create(16, -1));
+  }
+
+  @Test
+  public void testConcurrent()
+    throws Exception
+  {
+    final var symbols = JSXLexerSymbolTable.create(8, 64);
+    final var executor = Executors.newFixedThreadPool(4);
+    try {
+      final var futures = new ArrayList<Future<?>>();
+      for (int thread = 0; thread < 4; ++thread) {
+        futures.add(executor.submit(() -> {
+          for (int index = 0; index < 100_000; ++index) {
+            final var text = "s" + (index % 32);
+            Assertions.assertEquals(
+              text, symbols.intern(new StringBuilder(text)));
+          }
+          return null;
+        }));
+      }
+      for (final var future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
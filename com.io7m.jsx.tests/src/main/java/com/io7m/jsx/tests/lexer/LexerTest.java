@@ -43,6 +43,7 @@ import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.net.URI;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.zip.GZIPInputStream;
 
@@ -658,6 +659,56 @@ public final class LexerTest
     });
   }
 
+  @Test
+  public void testQuotedUnicodeAllDigits()
+    throws Exception
+  {
+    final var c = defaultLexerConfig();
+    final var lex =
+      JSXLexer.newLexer(
+        c,
+        stringReader("\"\\u0123\\u4567\\u89aB\\ucDeF\\U0010fFfF\\U000AbCdE\""));
+    final var t = (TokenQuotedString) lex.token();
+
+    final var sb = new StringBuilder();
+    sb.append('\u0123');
+    sb.append('\u4567');
+    sb.append('\u89ab');
+    sb.append('\ucdef');
+    sb.appendCodePoint(0x10ffff);
+    sb.appendCodePoint(0xabcde);
+    Assertions.assertEquals(sb.toString(), t.text());
+  }
+
+  @Test
+  public void testQuotedUnicodeNotHexBoundaries()
+  {
+    final var c = defaultLexerConfig();
+    for (final var bad : List.of("/", ":", "@", "G", "`", "g", " ", "\u00e9")) {
+      final var lex4 =
+        JSXLexer.newLexer(c, stringReader("\"\\u00" + bad + "0\""));
+      Assertions.assertThrows(
+        JSXLexerNotHexCharException.class, lex4::token, bad);
+
+      final var lex8 =
+        JSXLexer.newLexer(c, stringReader("\"\\U000000" + bad + "0\""));
+      Assertions.assertThrows(
+        JSXLexerNotHexCharException.class, lex8::token, bad);
+    }
+  }
+
+  @Test
+  public void testQuotedUnicodeBad81()
+  {
+    final var c = defaultLexerConfig();
+    final var lex =
+      JSXLexer.newLexer(c, stringReader("\"\\U00110000\""));
+
+    final var ex =
+      Assertions.assertThrows(JSXLexerInvalidCodePointException.class, lex::token);
+    Assertions.assertTrue(ex.getMessage().contains("U+110000"), ex.getMessage());
+  }
+
   @Test
   public void testRightParen0()
     throws Exception
@@ -955,6 +1006,56 @@ public final class LexerTest
     final var t = (TokenEOF) lex.token();
   }
 
+  @Test
+  public void testComments1()
+    throws Exception
+  {
+    final var c =
+      new JSXLexerConfiguration(
+        true,
+        true,
+        Optional.empty(),
+        EnumSet.of(JSXLexerComment.COMMENT_SEMICOLON),
+        1
+      );
+
+    final var lex = JSXLexer.newLexer(c, stringReader("#x a;b ;y"));
+
+    final var t0 = (TokenSymbol) lex.token();
+    Assertions.assertEquals("#x", t0.text());
+    final var t1 = (TokenSymbol) lex.token();
+    Assertions.assertEquals("a;b", t1.text());
+    Assertions.assertEquals(4L, t1.lexical().column());
+
+    final var c0 = (TokenComment) lex.token();
+    Assertions.assertEquals("y", c0.text());
+    Assertions.assertEquals(JSXLexerComment.COMMENT_SEMICOLON, c0.comment());
+    Assertions.assertEquals(8L, c0.lexical().column());
+
+    final var t = (TokenEOF) lex.token();
+  }
+
+  @Test
+  public void testSymbolNonASCIISpace()
+    throws Exception
+  {
+    final var c = defaultLexerConfig();
+    final var lex =
+      JSXLexer.newLexer(c, stringReader("a\u00A0b\u2003(c)"));
+
+    final var t0 = (TokenSymbol) lex.token();
+    Assertions.assertEquals("a", t0.text());
+    final var t1 = (TokenSymbol) lex.token();
+    Assertions.assertEquals("b", t1.text());
+    Assertions.assertEquals(3L, t1.lexical().column());
+    final var t2 = (TokenLeftParenthesis) lex.token();
+    Assertions.assertEquals(5L, t2.lexical().column());
+    final var t3 = (TokenSymbol) lex.token();
+    Assertions.assertEquals("c", t3.text());
+    final var t4 = (TokenRightParenthesis) lex.token();
+    final var t = (TokenEOF) lex.token();
+  }
+
   @Test
   public void testStartAt0()
     throws Exception
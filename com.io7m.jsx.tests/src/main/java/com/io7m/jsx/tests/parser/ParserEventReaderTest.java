@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.parser;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserEventHandlerType;
+import com.io7m.jsx.api.parser.JSXParserEventKind;
+import com.io7m.jsx.api.parser.JSXParserEventReaderType;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.api.parser.JSXParserGrammarException;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.parser.JSXParserEventReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import static com.io7m.jsx.api.parser.JSXParserEventKind.COMMENT;
+import static com.io7m.jsx.api.parser.JSXParserEventKind.EOF;
+import static com.io7m.jsx.api.parser.JSXParserEventKind.LIST_END;
+import static com.io7m.jsx.api.parser.JSXParserEventKind.LIST_START;
+import static com.io7m.jsx.api.parser.JSXParserEventKind.QUOTED_STRING;
+import static com.io7m.jsx.api.parser.JSXParserEventKind.SYMBOL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParserEventReaderTest
+{
+  private static JSXLexerConfiguration lexerConfig()
+  {
+    return new JSXLexerConfiguration(
+      true,
+      true,
+      Optional.of(URI.create("file.txt")),
+      EnumSet.of(JSXLexerComment.COMMENT_SEMICOLON),
+      1
+    );
+  }
+
+  private static JSXParserEventReaderType events(
+    final JSXParserConfiguration pc,
+    final Reader reader)
+  {
+    return JSXParserEventReader.newEventReader(
+      pc,
+      JSXLexer.newLexer(lexerConfig(), UnicodeCharacterReader.newReader(reader)));
+  }
+
+  private static JSXParserEventReaderType events(
+    final String text)
+  {
+    return events(new JSXParserConfiguration(true), new StringReader(text));
+  }
+
+  /**
+   * Construct expressions from events, in order to compare the results with
+   * those of the parser.
+   */
+
+  private static final class Builder implements JSXParserEventHandlerType
+  {
+    private final List<SExpressionType> results = new ArrayList<>();
+    private final List<List<SExpressionType>> open = new ArrayList<>();
+    private final List<LexicalPosition<URI>> positions = new ArrayList<>();
+
+    Builder()
+    {
+
+    }
+
+    private void add(
+      final SExpressionType e)
+    {
+      if (this.open.isEmpty()) {
+        this.results.add(e);
+      } else {
+        this.open.get(this.open.size() - 1).add(e);
+      }
+    }
+
+    @Override
+    public void onListStart(
+      final LexicalPosition<URI> lexical,
+      final boolean square)
+    {
+      this.open.add(new ArrayList<>());
+      this.positions.add(lexical);
+    }
+
+    @Override
+    public void onListEnd(
+      final LexicalPosition<URI> lexical,
+      final boolean square)
+    {
+      final var last = this.open.size() - 1;
+      final var items = this.open.remove(last);
+      this.add(SLists.of(this.positions.remove(last), square, items));
+    }
+
+    @Override
+    public void onSymbol(
+      final LexicalPosition<URI> lexical,
+      final String text)
+    {
+      this.add(new SSymbol(lexical, text));
+    }
+
+    @Override
+    public void onQuotedString(
+      final LexicalPosition<URI> lexical,
+      final String text)
+    {
+      this.add(new SQuotedString(lexical, text));
+    }
+  }
+
+  @Test
+  public void testEvents()
+    throws Exception
+  {
+    final var r = events("; first\n(a [b \"c\"] ; second\n) d");
+
+    final var kinds = new ArrayList<JSXParserEventKind>();
+    final var texts = new ArrayList<String>();
+    final var depths = new ArrayList<Integer>();
+    while (true) {
+      final var k = r.next();
+      kinds.add(k);
+      texts.add(r.text());
+      depths.add(Integer.valueOf(r.depth()));
+      assertEquals(k, r.kind());
+      if (k == COMMENT) {
+        assertEquals(JSXLexerComment.COMMENT_SEMICOLON, r.comment());
+      } else {
+        assertThrows(IllegalStateException.class, r::comment);
+      }
+      if (k == EOF) {
+        break;
+      }
+    }
+
+    assertEquals(
+      List.of(
+        COMMENT, LIST_START, SYMBOL, LIST_START, SYMBOL, QUOTED_STRING,
+        LIST_END, COMMENT, LIST_END, SYMBOL, EOF),
+      kinds);
+    assertEquals(
+      List.of(" first", "", "a", "", "b", "c", "", " second", "", "d", ""),
+      texts);
+    assertEquals(
+      List.of(0, 1, 1, 2, 2, 2, 1, 1, 0, 0, 0),
+      depths.stream().map(Integer::intValue).toList());
+  }
+
+  @Test
+  public void testPositions()
+    throws Exception
+  {
+    final var r = events("(a\n [b])");
+    assertEquals(LIST_START, r.next());
+    assertEquals(LexicalPosition.of(1, 1, Optional.of(URI.create("file.txt"))), r.lexical());
+    assertEquals(SYMBOL, r.next());
+    assertEquals(LIST_START, r.next());
+    Assertions.assertTrue(r.isSquare());
+    assertEquals(LexicalPosition.of(2, 2, Optional.of(URI.create("file.txt"))), r.lexical());
+    assertEquals(SYMBOL, r.next());
+    Assertions.assertFalse(r.isSquare());
+    assertEquals(LIST_END, r.next());
+    Assertions.assertTrue(r.isSquare());
+    assertEquals(LIST_END, r.next());
+    Assertions.assertFalse(r.isSquare());
+    assertEquals(EOF, r.next());
+  }
+
+  @Test
+  public void testErrorsIdenticalToParser()
+    throws Exception
+  {
+    final var inputs = List.of(
+      "(a b",
+      "(a [b c)",
+      "[a (b c]",
+      ")",
+      "]",
+      "(a) )",
+      "(a \"b",
+      "((((a))))"
+    );
+
+    final var pc = new JSXParserConfiguration(true, 3);
+    for (final var text : inputs) {
+      final var parser = JSXParser.newParser(
+        pc,
+        JSXLexer.newLexer(
+          lexerConfig(),
+          UnicodeCharacterReader.newReader(new StringReader(text))));
+      final var expected =
+        assertThrows(JSXParserException.class, parser::parseExpressions);
+
+      final var reader = events(pc, new StringReader(text));
+      final var received =
+        assertThrows(JSXParserException.class, () -> {
+          reader.readAll(new JSXParserEventHandlerType() { });
+        });
+
+      assertEquals(expected.getClass(), received.getClass(), text);
+      assertEquals(expected.lexical(), received.lexical(), text);
+      assertEquals(expected.getMessage(), received.getMessage(), text);
+    }
+  }
+
+  @Test
+  public void testReadExpression()
+    throws Exception
+  {
+    final var r = events("; x\n(a b) c ; y\n");
+    final var builder = new Builder();
+    Assertions.assertTrue(r.readExpression(builder));
+    assertEquals(1, builder.results.size());
+    Assertions.assertTrue(r.readExpression(builder));
+    assertEquals(2, builder.results.size());
+    Assertions.assertFalse(r.readExpression(builder));
+    assertEquals(2, builder.results.size());
+  }
+
+  @Test
+  public void testDeeplyNested()
+    throws Exception
+  {
+    final var depth = 200_000;
+    final var r = events("(".repeat(depth) + ")".repeat(depth));
+    final var builder = new JSXParserEventHandlerType() { };
+    Assertions.assertTrue(r.readExpression(builder));
+    assertEquals(0, r.depth());
+    Assertions.assertFalse(r.readExpression(builder));
+  }
+
+  @Test
+  public void testMaximumDepth()
+  {
+    final var r = events(
+      new JSXParserConfiguration(true, 2), new StringReader("(a (b (c)))"));
+    final var ex = assertThrows(JSXParserGrammarException.class, () -> {
+      r.readAll(new JSXParserEventHandlerType() { });
+    });
+    assertEquals(7, ex.lexical().column());
+  }
+
+  @Test
+  public void testLargeDataIdenticalToParser()
+    throws Exception
+  {
+    final var pc = new JSXParserConfiguration(true);
+
+    final List<SExpressionType> expected;
+    try (var stream = largeData()) {
+      expected = JSXParser.newParser(
+        pc,
+        JSXLexer.newLexer(
+          lexerConfig(),
+          UnicodeCharacterReader.newReader(
+            new InputStreamReader(stream, StandardCharsets.UTF_8))))
+        .parseExpressions();
+    }
+
+    final var builder = new Builder();
+    try (var stream = largeData()) {
+      events(pc, new InputStreamReader(stream, StandardCharsets.UTF_8))
+        .readAll(builder);
+    }
+
+    Assertions.assertFalse(expected.isEmpty());
+    assertEquals(expected, builder.results);
+  }
+
+  private static GZIPInputStream largeData()
+    throws Exception
+  {
+    return new GZIPInputStream(new BufferedInputStream(
+      ParserEventReaderTest.class.getResourceAsStream(
+        "/com/io7m/jsx/tests/main.sdi.gz")));
+  }
+}
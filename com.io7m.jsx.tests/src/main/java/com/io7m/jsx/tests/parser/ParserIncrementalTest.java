@@ -0,0 +1,217 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.parser;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.parser.JSXParserIncremental;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParserIncrementalTest
+{
+  private static final String DOCUMENT =
+    "; header\n(a b c)\n(d \"e f\" [g h])\r\n(i (j (k)))\n"
+      + "(l \"multi\nline\") # hash\n(m\n  n\n  o) (p) (q)\n";
+
+  private static final List<String> FRAGMENTS = List.of(
+    "",
+    "x",
+    "yz",
+    " ",
+    "(",
+    ")",
+    "[",
+    "]",
+    "\"",
+    "\\",
+    "\n",
+    "\r\n",
+    "\r",
+    ";",
+    "(r s)",
+    "é",
+    "😀",
+    "\uDE00"
+  );
+
+  private static List<JSXLexerConfiguration> configurations()
+  {
+    final var results = new ArrayList<JSXLexerConfiguration>();
+    for (final var squares : new boolean[]{false, true}) {
+      results.add(new JSXLexerConfiguration(
+        squares,
+        true,
+        Optional.of(URI.create("file.txt")),
+        EnumSet.allOf(JSXLexerComment.class),
+        1
+      ));
+      results.add(new JSXLexerConfiguration(
+        squares,
+        false,
+        Optional.empty(),
+        EnumSet.noneOf(JSXLexerComment.class),
+        23
+      ));
+    }
+    return results;
+  }
+
+  private static String describe(
+    final Exception e)
+  {
+    if (e instanceof final JSXParserException p) {
+      return "%s %s %s".formatted(p.getClass(), p.lexical(), p.getMessage());
+    }
+    return "%s %s".formatted(e.getClass(), e.getMessage());
+  }
+
+  private static String sequential(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final String text)
+  {
+    try {
+      return JSXParser.newParser(
+        pc, JSXLexerBuffered.newLexer(lc, new StringReader(text)))
+        .parseExpressions()
+        .toString();
+    } catch (final JSXParserException | IOException e) {
+      return describe(e);
+    }
+  }
+
+  private static String incremental(
+    final JSXParserIncremental document)
+  {
+    try {
+      return document.expressions().toString();
+    } catch (final JSXParserException | IOException e) {
+      return describe(e);
+    }
+  }
+
+  @Test
+  public void testRandomEditsIdentical()
+  {
+    for (final var preserve : new boolean[]{true, false}) {
+      final var pc = new JSXParserConfiguration(preserve, 16);
+      for (final var lc : configurations()) {
+        final var random = new Random(0x6a7378L);
+        var document = JSXParserIncremental.parse(pc, lc, DOCUMENT);
+        assertEquals(sequential(pc, lc, DOCUMENT), incremental(document));
+
+        for (int index = 0; index < 500; ++index) {
+          final var text = document.text();
+          final int offset = random.nextInt(text.length() + 1);
+          final int removed =
+            random.nextInt(Math.min(4, text.length() - offset) + 1);
+          final var inserted =
+            FRAGMENTS.get(random.nextInt(FRAGMENTS.size()));
+
+          document = document.edit(offset, removed, inserted);
+
+          final var expected =
+            new StringBuilder(text)
+              .replace(offset, offset + removed, inserted)
+              .toString();
+
+          assertEquals(expected, document.text());
+          assertEquals(
+            sequential(pc, lc, expected),
+            incremental(document),
+            expected);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnchangedReused()
+    throws Exception
+  {
+    final var pc = new JSXParserConfiguration(true);
+    final var lc = configurations().get(0);
+    final var document =
+      JSXParserIncremental.parse(pc, lc, "(a)\n(b)\n(c)");
+    final List<SExpressionType> before = document.expressions();
+
+    final var renamed = document.edit(5, 1, "x");
+    final List<SExpressionType> after = renamed.expressions();
+    assertEquals("(a)\n(x)\n(c)", renamed.text());
+    assertSame(before.get(0), after.get(0));
+    assertNotSame(before.get(1), after.get(1));
+    assertSame(before.get(2), after.get(2));
+
+    final var lengthened = document.edit(5, 1, "xyz");
+    assertSame(before.get(0), lengthened.expressions().get(0));
+    assertSame(before.get(2), lengthened.expressions().get(2));
+
+    final var split = document.edit(2, 0, "\n");
+    final var shifted = split.expressions().get(2);
+    assertEquals(
+      before.get(2).lexical().line() + 1,
+      shifted.lexical().line());
+    assertEquals(before.get(2).lexical().column(), shifted.lexical().column());
+    assertSame(shifted, split.expressions().get(2));
+
+    final var joined = split.edit(2, 1, "");
+    assertEquals(document.text(), joined.text());
+    assertSame(before.get(2), joined.expressions().get(2));
+
+    final var twice = document.edit(2, 0, "\n").edit(3, 0, "\n");
+    assertEquals(
+      sequential(pc, lc, twice.text()),
+      twice.expressions().toString());
+    assertEquals(
+      before.get(2).lexical().line() + 2,
+      twice.expressions().get(2).lexical().line());
+  }
+
+  @Test
+  public void testEditOutOfBounds()
+  {
+    final var document =
+      JSXParserIncremental.parse(
+        new JSXParserConfiguration(true), configurations().get(0), "(a)");
+
+    assertThrows(
+      IndexOutOfBoundsException.class, () -> document.edit(4, 0, "x"));
+    assertThrows(
+      IndexOutOfBoundsException.class, () -> document.edit(2, 2, "x"));
+    assertThrows(
+      IndexOutOfBoundsException.class, () -> document.edit(-1, 0, "x"));
+  }
+}
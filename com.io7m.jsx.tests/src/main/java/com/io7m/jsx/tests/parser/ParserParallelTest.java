@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.parser;
+
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.lexer.JSXLexerRegions;
+import com.io7m.jsx.lexer.JSXLexerUTF8;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.parser.JSXParserParallel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public final class ParserParallelTest
+{
+  private static final List<String> INPUTS = List.of(
+    "",
+    "(a) (b) (c)",
+    "a(b)c(d)e[f]g",
+    "(a \"b)\" c) (\"\\\")(\" d) (e)",
+    "; (comment\n(a) # (x\r\n(b) % ]\n(c)",
+    "(a\r\n b) (c\n  d)\r\n(e)",
+    "(a)\t(b)\t\t(c)",
+    "(\u00e9t\u00e9)\u2003(caf\u00e9)\u00a0(\uD83D\uDE00 x)",
+    "(a \"multi\nline\") (b) (c)",
+    "(a)) (b)",
+    "(a) ] (b)",
+    "(a] (b)",
+    "(a) \"unterminated (b)",
+    "(a) \"\\u00\" (b) (c)",
+    "(a) \"\\q\" (b)",
+    "(a)\r(b)",
+    "(a) (b",
+    "(a) (b) \"",
+    "[a] [b] (c [d]) e",
+    "((((a)))) ((b)) (c)"
+  );
+
+  private static List<JSXLexerConfiguration> configurations()
+  {
+    final var results = new ArrayList<JSXLexerConfiguration>();
+    for (final var squares : new boolean[]{false, true}) {
+      for (final var newlines : new boolean[]{false, true}) {
+        results.add(new JSXLexerConfiguration(
+          squares,
+          newlines,
+          Optional.of(URI.create("file.txt")),
+          EnumSet.allOf(JSXLexerComment.class),
+          1
+        ));
+        results.add(new JSXLexerConfiguration(
+          squares,
+          newlines,
+          Optional.empty(),
+          EnumSet.noneOf(JSXLexerComment.class),
+          23
+        ));
+      }
+    }
+    return results;
+  }
+
+  private static String describe(
+    final List<SExpressionType> results)
+  {
+    return results.toString();
+  }
+
+  private static String describe(
+    final JSXParserException e)
+  {
+    return "%s %s %s".formatted(e.getClass(), e.lexical(), e.getMessage());
+  }
+
+  private static String sequential(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final byte[] data)
+    throws IOException
+  {
+    try {
+      return describe(JSXParser.newParser(
+        pc, JSXLexerUTF8.newLexerFromBuffer(lc, ByteBuffer.wrap(data)))
+                        .parseExpressions());
+    } catch (final JSXParserException e) {
+      return describe(e);
+    }
+  }
+
+  private static String byRegions(
+    final JSXParserConfiguration pc,
+    final JSXLexerConfiguration lc,
+    final byte[] data)
+    throws IOException
+  {
+    final var buffer = ByteBuffer.wrap(data);
+    final var regions = JSXLexerRegions.scanBuffer(lc, buffer, 1L);
+    final var results = new ArrayList<SExpressionType>();
+    long offset = 0L;
+    for (final var region : regions) {
+      assertEquals(offset, region.offset());
+      offset += region.size();
+      try {
+        results.addAll(JSXParser.newParser(
+          pc, JSXLexerUTF8.newLexerForBufferRegion(lc, buffer, region))
+                         .parseExpressions());
+      } catch (final JSXParserException e) {
+        return describe(e);
+      }
+    }
+    assertEquals(data.length, offset);
+    return describe(results);
+  }
+
+  private static InputStream largeData()
+    throws IOException
+  {
+    return new GZIPInputStream(new BufferedInputStream(
+      ParserParallelTest.class.getResourceAsStream(
+        "/com/io7m/jsx/tests/main.sdi.gz")));
+  }
+
+  @Test
+  public void testRegionsIdentical()
+    throws Exception
+  {
+    final var pc = new JSXParserConfiguration(true, 3);
+    for (final var lc : configurations()) {
+      for (final var text : INPUTS) {
+        final var data = text.getBytes(StandardCharsets.UTF_8);
+        assertEquals(
+          sequential(pc, lc, data),
+          byRegions(pc, lc, data),
+          text);
+      }
+    }
+  }
+
+  @Test
+  public void testRegionsSplit()
+    throws Exception
+  {
+    final var lc = configurations().get(0);
+    final var data = "(a) b (c)\n(d) (e)".getBytes(StandardCharsets.UTF_8);
+    final var regions =
+      JSXLexerRegions.scanBuffer(lc, ByteBuffer.wrap(data), 1L);
+
+    assertEquals(4, regions.size());
+    assertEquals(0L, regions.get(0).offset());
+    assertEquals(3L, regions.get(0).size());
+    assertEquals(1, regions.get(2).line());
+    assertEquals(11, regions.get(2).column());
+    assertEquals(2, regions.get(3).line());
+    assertEquals(4, regions.get(3).column());
+  }
+
+  @Test
+  public void testParallelLargeData(
+    final @TempDir Path directory)
+    throws Exception
+  {
+    final var lc = configurations().get(3);
+    final var pc = new JSXParserConfiguration(true);
+
+    final byte[] data;
+    try (var stream = largeData()) {
+      data = stream.readAllBytes();
+    }
+
+    final var file = directory.resolve("main.sdi");
+    Files.write(file, data);
+
+    final var expected =
+      JSXParser.newParser(
+        pc, JSXLexerUTF8.newLexerFromBuffer(lc, ByteBuffer.wrap(data)))
+        .parseExpressions();
+
+    final var pool = new ForkJoinPool(4);
+    try {
+      final var received0 =
+        JSXParserParallel.parseExpressionsFromBuffer(
+          pc, lc, ByteBuffer.wrap(data), pool);
+      assertEquals(expected, received0);
+
+      try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        final var received1 =
+          JSXParserParallel.parseExpressionsFromFile(pc, lc, channel, pool);
+        assertEquals(expected, received1);
+      }
+
+      Assertions.assertTrue(
+        JSXLexerRegions.scanBuffer(
+          lc,
+          ByteBuffer.wrap(data),
+          JSXParserParallel.MINIMUM_REGION_SIZE).size() > 1);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelEarliestError()
+    throws Exception
+  {
+    final var lc = configurations().get(4);
+    final var pc = new JSXParserConfiguration(true);
+
+    final var text = new StringBuilder();
+    text.append("(a b c) ".repeat(20_000));
+    text.append("(x ]\n");
+    text.append("(a b c) ".repeat(20_000));
+    text.append(")\n");
+    text.append("(a b c) ".repeat(20_000));
+    final var data = text.toString().getBytes(StandardCharsets.UTF_8);
+
+    final var pool = new ForkJoinPool(4);
+    try {
+      final var ex =
+        Assertions.assertThrows(JSXParserException.class, () -> {
+          JSXParserParallel.parseExpressionsFromBuffer(
+            pc, lc, ByteBuffer.wrap(data), pool);
+        });
+      assertEquals(sequential(pc, lc, data), describe(ex));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -0,0 +1,287 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.parser;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerType;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserException;
+import com.io7m.jsx.api.tokens.TokenEOF;
+import com.io7m.jsx.api.tokens.TokenType;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.lexer.JSXLexerBuffered;
+import com.io7m.jsx.lexer.JSXLexerBufferedSupplier;
+import com.io7m.jsx.lexer.JSXLexerSupplier;
+import com.io7m.jsx.lexer.JSXLexerUTF8;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.parser.JSXParserSupplier;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ParserResetTest
+{
+  private static final String TEXT_0 =
+    "(a [b \"c\"]\n  d) ; comment\n(e)";
+  private static final String TEXT_1 =
+    "[x\n(y z)]";
+
+  private static JSXLexerConfiguration lexerConfig()
+  {
+    return new JSXLexerConfiguration(
+      true,
+      false,
+      Optional.empty(),
+      EnumSet.of(JSXLexerComment.COMMENT_SEMICOLON),
+      1
+    );
+  }
+
+  private static List<String> tokens(
+    final JSXLexerType lexer)
+    throws Exception
+  {
+    final var results = new ArrayList<String>();
+    while (true) {
+      final TokenType t = lexer.token();
+      results.add(t.toString());
+      if (t instanceof TokenEOF) {
+        return results;
+      }
+    }
+  }
+
+  private static InputStream utf8(
+    final String text)
+  {
+    return new ByteArrayInputStream(text.getBytes(UTF_8));
+  }
+
+  private static List<SExpressionType> parse(
+    final String text)
+    throws Exception
+  {
+    return JSXParser.newParser(
+      new JSXParserConfiguration(true),
+      JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(text))
+    ).parseExpressions();
+  }
+
+  @Test
+  public void testLexerReset()
+    throws Exception
+  {
+    final var expected0 =
+      tokens(JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_0)));
+    final var expected1 =
+      tokens(JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_1)));
+
+    final List<JSXLexerType> lexers = List.of(
+      JSXLexer.newLexer(
+        lexerConfig(),
+        UnicodeCharacterReader.newReader(new StringReader(TEXT_0))),
+      JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_0)),
+      JSXLexerBuffered.newLexerWithBufferSize(
+        lexerConfig(), new StringReader(TEXT_0), 3),
+      JSXLexerUTF8.newLexer(lexerConfig(), utf8(TEXT_0))
+    );
+
+    for (final var lexer : lexers) {
+      assertEquals(expected0, tokens(lexer));
+
+      lexer.reset(new StringReader(TEXT_1));
+      assertEquals(expected1, tokens(lexer));
+
+      lexer.reset(new StringReader(TEXT_0));
+      lexer.token();
+      lexer.token();
+      lexer.setLexicalPositionsEnabled(false);
+      lexer.token();
+      lexer.reset(new StringReader(TEXT_1));
+      assertEquals(expected1, tokens(lexer));
+
+      lexer.reset(new StringReader("\"unterminated"));
+      assertThrows(Exception.class, lexer::token);
+      lexer.reset(new StringReader(TEXT_0));
+      assertEquals(expected0, tokens(lexer));
+    }
+  }
+
+  @Test
+  public void testLexerResetUTF8()
+    throws Exception
+  {
+    final var expected0 =
+      tokens(JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_0)));
+    final var expected1 =
+      tokens(JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_1)));
+
+    final var lexer =
+      (JSXLexerUTF8) JSXLexerUTF8.newLexerFromBuffer(
+        lexerConfig(), ByteBuffer.wrap(TEXT_1.getBytes(UTF_8)));
+    assertEquals(expected1, tokens(lexer));
+
+    lexer.reset(utf8(TEXT_0));
+    lexer.token();
+    lexer.reset(utf8(TEXT_1));
+    assertEquals(expected1, tokens(lexer));
+
+    lexer.reset(new StringReader(TEXT_0));
+    lexer.token();
+    lexer.reset(utf8(TEXT_0));
+    assertEquals(expected0, tokens(lexer));
+
+    final String large = "(a \"\uD83D\uDE00\") ".repeat(10000);
+    lexer.reset(new StringReader(large));
+    assertEquals(
+      tokens(JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(large))),
+      tokens(lexer));
+
+    lexer.reset(new StringReader("(\ud800)"));
+    assertThrows(IOException.class, () -> tokens(lexer));
+  }
+
+  @Test
+  public void testParserReset()
+    throws Exception
+  {
+    final var parser =
+      JSXParser.newParser(
+        new JSXParserConfiguration(true),
+        JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_0)));
+
+    assertEquals(parse(TEXT_0), parser.parseExpressions());
+
+    parser.reset(new StringReader("(a (b (c"));
+    assertThrows(JSXParserException.class, parser::parseExpression);
+
+    parser.reset(new StringReader(TEXT_1));
+    assertEquals(parse(TEXT_1), parser.parseExpressions());
+  }
+
+  @Test
+  public void testParserResetUTF8()
+    throws Exception
+  {
+    final var parser =
+      JSXParser.newParser(
+        new JSXParserConfiguration(true),
+        new JSXLexerBufferedSupplier()
+          .createFromStream(lexerConfig(), UTF_8, utf8(TEXT_0)));
+
+    assertEquals(parse(TEXT_0), parser.parseExpressions());
+
+    parser.reset(new StringReader(TEXT_1));
+    assertEquals(parse(TEXT_1), parser.parseExpressions());
+  }
+
+  @Test
+  public void testLexerSuppliersThreadLocal()
+    throws Exception
+  {
+    for (final var supplier : List.of(
+      new JSXLexerSupplier(), new JSXLexerBufferedSupplier())) {
+      final var lexer0 =
+        supplier.createForCurrentThread(lexerConfig(), new StringReader(TEXT_0));
+      assertSame(
+        supplier.createFromReader(lexerConfig(), new StringReader(TEXT_0))
+          .getClass(),
+        lexer0.getClass());
+      lexer0.token();
+
+      final var lexer1 =
+        supplier.createForCurrentThread(lexerConfig(), new StringReader(TEXT_1));
+      assertSame(lexer0, lexer1);
+      assertEquals(
+        tokens(JSXLexerBuffered.newLexer(lexerConfig(), new StringReader(TEXT_1))),
+        tokens(lexer1));
+
+      final var otherConfig =
+        new JSXLexerConfiguration(
+          false, false, Optional.empty(), EnumSet.noneOf(JSXLexerComment.class), 1);
+      final var lexer2 =
+        supplier.createForCurrentThread(otherConfig, new StringReader(TEXT_1));
+      assertNotSame(lexer1, lexer2);
+
+      final var executor = Executors.newSingleThreadExecutor();
+      try {
+        final var lexer3 =
+          executor.submit(() -> supplier.createForCurrentThread(
+            otherConfig, new StringReader(TEXT_1))).get();
+        assertNotSame(lexer2, lexer3);
+      } finally {
+        executor.shutdown();
+      }
+    }
+
+    assertSame(
+      JSXLexer.class,
+      new JSXLexerSupplier()
+        .createForCurrentThread(lexerConfig(), new StringReader(TEXT_0))
+        .getClass());
+  }
+
+  @Test
+  public void testParserSupplierThreadLocal()
+    throws Exception
+  {
+    final var lexers = new JSXLexerBufferedSupplier();
+    final var parsers = new JSXParserSupplier();
+    final var pcNoLex = new JSXParserConfiguration(false);
+    final var pcLex = new JSXParserConfiguration(true);
+
+    final var parser0 =
+      parsers.createForCurrentThread(
+        pcNoLex, lexerConfig(), lexers, new StringReader(TEXT_0));
+    parser0.parseExpression();
+
+    final var parser1 =
+      parsers.createForCurrentThread(
+        pcNoLex, lexerConfig(), lexers, new StringReader(TEXT_1));
+    assertSame(parser0, parser1);
+
+    final var parser2 =
+      parsers.createForCurrentThread(
+        pcLex, lexerConfig(), lexers, new StringReader(TEXT_1));
+    assertNotSame(parser1, parser2);
+    assertEquals(parse(TEXT_1), parser2.parseExpressions());
+
+    final var parser3 =
+      parsers.createForCurrentThread(
+        pcLex, lexerConfig(), new JSXLexerSupplier(), new StringReader(TEXT_0));
+    assertNotSame(parser2, parser3);
+    assertEquals(parse(TEXT_0), parser3.parseExpressions());
+  }
+}
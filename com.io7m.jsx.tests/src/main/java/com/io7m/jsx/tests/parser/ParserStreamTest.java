@@ -0,0 +1,207 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.parser;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.parser.JSXParserGrammarException;
+import com.io7m.jsx.api.parser.JSXParserType;
+import com.io7m.jsx.api.parser.JSXParserUncheckedException;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.parser.JSXParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public final class ParserStreamTest
+{
+  private static JSXParserType parser(
+    final Reader reader)
+  {
+    final var lc =
+      new JSXLexerConfiguration(
+        false,
+        false,
+        Optional.empty(),
+        EnumSet.of(JSXLexerComment.COMMENT_SEMICOLON),
+        1
+      );
+
+    return JSXParser.newParser(
+      new JSXParserConfiguration(true),
+      JSXLexer.newLexer(lc, UnicodeCharacterReader.newReader(reader)));
+  }
+
+  /**
+   * A reader that records how much of its input has been read, and whether
+   * it has been closed.
+   */
+
+  private static final class TrackingReader extends Reader
+  {
+    private final StringReader reader;
+    private int read;
+    private int closed;
+
+    TrackingReader(
+      final String text)
+    {
+      this.reader = new StringReader(text);
+    }
+
+    @Override
+    public int read(
+      final char[] buffer,
+      final int offset,
+      final int length)
+      throws IOException
+    {
+      final var r = this.reader.read(buffer, offset, Math.min(length, 1));
+      if (r > 0) {
+        this.read += r;
+      }
+      return r;
+    }
+
+    @Override
+    public void close()
+    {
+      ++this.closed;
+    }
+  }
+
+  @Test
+  public void testStreamAll()
+  {
+    final var reader = new TrackingReader("a (b c) ; x\n\"d\"");
+    final var p = parser(reader);
+
+    try (var stream = p.parseExpressionStream(reader)) {
+      assertEquals(3L, stream.count());
+    }
+    assertEquals(1, reader.closed);
+  }
+
+  @Test
+  public void testStreamClosesOnCompletion()
+  {
+    final var reader = new TrackingReader("a b c");
+    final var p = parser(reader);
+
+    final var texts =
+      p.parseExpressionStream(reader)
+        .map(e -> ((SSymbol) e).text())
+        .toList();
+
+    assertEquals(List.of("a", "b", "c"), texts);
+    assertEquals(1, reader.closed);
+  }
+
+  @Test
+  public void testStreamEarlyTermination()
+  {
+    final var text = "first " + "(x y z) ".repeat(1000);
+    final var reader = new TrackingReader(text);
+    final var p = parser(reader);
+
+    try (var stream = p.parseExpressionStream(reader)) {
+      final SExpressionType e = stream.findFirst().orElseThrow();
+      assertEquals("first", ((SSymbol) e).text());
+      assertTrue(reader.read < 16);
+      assertEquals(0, reader.closed);
+    }
+    assertEquals(1, reader.closed);
+  }
+
+  @Test
+  public void testStreamError()
+  {
+    final var reader = new TrackingReader("a (b");
+    final var p = parser(reader);
+
+    final var stream = p.parseExpressionStream(reader);
+    final var ex =
+      assertThrows(JSXParserUncheckedException.class, stream::toList);
+    assertInstanceOf(JSXParserGrammarException.class, ex.getCause());
+    assertEquals(1, reader.closed);
+    stream.close();
+    assertEquals(1, reader.closed);
+  }
+
+  @Test
+  public void testStreamIOError()
+  {
+    final var reader = new Reader()
+    {
+      @Override
+      public int read(
+        final char[] buffer,
+        final int offset,
+        final int length)
+        throws IOException
+      {
+        throw new IOException("Failed");
+      }
+
+      @Override
+      public void close()
+      {
+
+      }
+    };
+
+    final var p = parser(reader);
+    assertThrows(UncheckedIOException.class, () -> {
+      p.parseExpressionStream().toList();
+    });
+  }
+
+  @Test
+  public void testIterator()
+  {
+    final var reader = new TrackingReader("a b");
+    final var p = parser(reader);
+    final var iter = p.parseExpressionIterator(reader);
+
+    assertTrue(iter.hasNext());
+    assertTrue(iter.hasNext());
+    assertEquals("a", ((SSymbol) iter.next()).text());
+    assertEquals("b", ((SSymbol) iter.next()).text());
+    assertEquals(0, reader.closed);
+    assertFalse(iter.hasNext());
+    assertEquals(1, reader.closed);
+    assertThrows(NoSuchElementException.class, iter::next);
+    assertEquals(1, reader.closed);
+  }
+}
@@ -25,11 +25,13 @@ import com.io7m.jsx.SExpressionType.SSymbol;
 import com.io7m.jsx.api.lexer.JSXLexerBareCarriageReturnException;
 import com.io7m.jsx.api.lexer.JSXLexerComment;
 import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.lexer.JSXLexerException;
 import com.io7m.jsx.api.lexer.JSXLexerType;
 import com.io7m.jsx.api.parser.JSXParserConfiguration;
 import com.io7m.jsx.api.parser.JSXParserException;
 import com.io7m.jsx.api.parser.JSXParserGrammarException;
 import com.io7m.jsx.api.parser.JSXParserLexicalException;
+import com.io7m.jsx.api.tokens.TokenType;
 import com.io7m.jsx.lexer.JSXLexer;
 import com.io7m.jsx.parser.JSXParser;
 import com.io7m.jsx.serializer.JSXSerializerTrivial;
@@ -72,6 +74,27 @@ public final class ParserTest
     );
   }
 
+  private static JSXLexerType failingLexer()
+  {
+    return new JSXLexerType()
+    {
+      @Override
+      public TokenType token()
+        throws JSXLexerException
+      {
+        throw new JSXLexerBareCarriageReturnException(
+          LexicalPosition.of(0, 0, Optional.empty()), "Error!");
+      }
+
+      @Override
+      public void reset(
+        final Reader reader)
+      {
+
+      }
+    };
+  }
+
   private static JSXParserConfiguration defaultParserConfig()
   {
     return new JSXParserConfiguration(
@@ -151,10 +174,7 @@ public final class ParserTest
   public void testLexError0()
     throws Exception
   {
-    final var lex = (JSXLexerType) () -> {
-      throw new JSXLexerBareCarriageReturnException(
-        LexicalPosition.of(0, 0, Optional.empty()), "Error!");
-    };
+    final var lex = failingLexer();
     final var pc = defaultParserConfig();
     final var p = JSXParser.newParser(pc, lex);
 
@@ -167,10 +187,7 @@ public final class ParserTest
   public void testLexError1()
     throws Exception
   {
-    final var lex = (JSXLexerType) () -> {
-      throw new JSXLexerBareCarriageReturnException(
-        LexicalPosition.of(0, 0, Optional.empty()), "Error!");
-    };
+    final var lex = failingLexer();
     final var pc = defaultParserConfig();
     final var p = JSXParser.newParser(pc, lex);
 
@@ -183,10 +200,7 @@ public final class ParserTest
   public void testLexError2()
     throws Exception
   {
-    final var lex = (JSXLexerType) () -> {
-      throw new JSXLexerBareCarriageReturnException(
-        LexicalPosition.of(0, 0, Optional.empty()), "Error!");
-    };
+    final var lex = failingLexer();
     final var pc = defaultParserConfig();
     final var p = JSXParser.newParser(pc, lex);
 
@@ -688,4 +702,113 @@ public final class ParserTest
 
     assertEquals(expr, p.parseExpression());
   }
+
+  private static String nested(
+    final int depth)
+  {
+    return "(".repeat(depth) + "x" + ")".repeat(depth);
+  }
+
+  @Test
+  public void testDeeplyNested()
+    throws Exception
+  {
+    final var depth = 200_000;
+    final var lex =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader(nested(depth)));
+    final var p = JSXParser.newParser(defaultParserConfig(), lex);
+
+    var e = p.parseExpression();
+    for (int index = 0; index < depth; ++index) {
+      final var list = (SListType) e;
+      assertEquals(1, list.size());
+      e = list.get(0);
+    }
+    assertEquals("x", ((SSymbol) e).text());
+  }
+
+  @Test
+  public void testMaximumDepth()
+    throws Exception
+  {
+    final var pc = new JSXParserConfiguration(true, 3);
+
+    final var lex0 =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader(nested(3)));
+    final var p0 = JSXParser.newParser(pc, lex0);
+    Assertions.assertInstanceOf(SListType.class, p0.parseExpression());
+
+    final var lex1 =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader("(a (b (c (d))))"));
+    final var p1 = JSXParser.newParser(pc, lex1);
+    final var ex =
+      assertThrows(JSXParserGrammarException.class, p1::parseExpression);
+    assertEquals(LexicalPosition.of(1, 10, Optional.empty()), ex.lexical());
+  }
+
+  @Test
+  public void testMaximumDepthInvalid()
+  {
+    assertThrows(IllegalArgumentException.class, () -> {
+      new JSXParserConfiguration(true, 0);
+    });
+  }
+
+  @Test
+  public void testPositionsDisabledByParser()
+    throws Exception
+  {
+    final var lex =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader("(a\n b) c"));
+    JSXParser.newParser(new JSXParserConfiguration(false), lex);
+
+    final var t0 = lex.token();
+    final var t1 = lex.token();
+    Assertions.assertSame(t0.lexical(), t1.lexical());
+    assertEquals(
+      LexicalPosition.of(1, 2, Optional.empty()), lex.tokenLexical(t1));
+
+    JSXParser.newParser(new JSXParserConfiguration(true), lex);
+    final var t2 = lex.token();
+    assertEquals(LexicalPosition.of(2, 2, Optional.empty()), t2.lexical());
+    assertEquals(t2.lexical(), lex.tokenLexical(t2));
+  }
+
+  @Test
+  public void testPositionsDisabledErrorsAccurate()
+    throws Exception
+  {
+    final var pc = new JSXParserConfiguration(false, 3);
+
+    final var lex0 =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader("(a\n b))"));
+    final var p0 = JSXParser.newParser(pc, lex0);
+    p0.parseExpression();
+    final var ex0 =
+      assertThrows(JSXParserGrammarException.class, p0::parseExpression);
+
+    final var lexPositions =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader("(a\n b))"));
+    final var pPositions =
+      JSXParser.newParser(new JSXParserConfiguration(true, 3), lexPositions);
+    pPositions.parseExpression();
+    final var exPositions =
+      assertThrows(JSXParserGrammarException.class, pPositions::parseExpression);
+    assertEquals(exPositions.lexical(), ex0.lexical());
+    assertEquals(2, ex0.lexical().line());
+
+    final var lex1 =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader("(a (b (c (d))))"));
+    final var p1 = JSXParser.newParser(pc, lex1);
+    final var ex1 =
+      assertThrows(JSXParserGrammarException.class, p1::parseExpression);
+    assertEquals(LexicalPosition.of(1, 10, Optional.empty()), ex1.lexical());
+
+    final var lex2 =
+      JSXLexer.newLexer(defaultLexerConfig(), stringReader("(a \"b\\q\")"));
+    final var p2 = JSXParser.newParser(pc, lex2);
+    final var ex2 =
+      assertThrows(JSXParserLexicalException.class, p2::parseExpression);
+    assertEquals(1, ex2.lexical().line());
+  }
 }
@@ -17,6 +17,10 @@
 package com.io7m.jsx.tests.prettyprint;
 
 import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SLists;
 import com.io7m.jsx.api.lexer.JSXLexerComment;
 import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
 import com.io7m.jsx.api.parser.JSXParserConfiguration;
@@ -24,13 +28,16 @@ import com.io7m.jsx.api.parser.JSXParserType;
 import com.io7m.jsx.lexer.JSXLexer;
 import com.io7m.jsx.parser.JSXParser;
 import com.io7m.jsx.prettyprint.JSXPrettyPrinterType;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.net.URI;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 public abstract class JSXPrettyPrinterContract
@@ -122,6 +129,32 @@ public abstract class JSXPrettyPrinterContract
     this.showFile("escapes.s");
   }
 
+  @Test
+  public final void testPrettyPrintDeeplyNested()
+    throws Exception
+  {
+    final var depth = 20_000;
+    final var position = LexicalPosition.<URI>of(1, 0, Optional.empty());
+
+    SExpressionType e = new SSymbol(position, "x");
+    for (int index = 0; index < depth; ++index) {
+      e = SLists.of(position, (index & 1) == 0, List.of(e));
+    }
+
+    final var out = new StringWriter();
+    final var pp = this.newPrettyPrinter(out, 9999, 2);
+    pp.print(e);
+    pp.close();
+
+    final var text = out.toString();
+    Assertions.assertEquals(
+      depth,
+      text.chars().filter(c -> c == '(' || c == '[').count());
+    Assertions.assertEquals(
+      depth,
+      text.chars().filter(c -> c == ')' || c == ']').count());
+  }
+
   private void showFile(
     final String file)
     throws Exception
@@ -0,0 +1,338 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.serializer;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.serializer.JSXDeserializerBinary;
+import com.io7m.jsx.serializer.JSXSerializerBinary;
+import com.io7m.jsx.serializer.JSXSerializerTrivial;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.StreamCorruptedException;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+public final class SerializerBinaryTest
+{
+  private static final LexicalPosition<URI> LEX =
+    LexicalPosition.of(1, 0, Optional.empty());
+
+  private static final String TEXT = String.join(
+    "\n",
+    "(a b c a b c)",
+    "[x [y] (z)]",
+    "(\"quoted \\\"text\\\" \\\\ \\r\\n\\t é😀\" sym)",
+    "()",
+    "[]",
+    "atom",
+    "(((deep (nest [ing]))))",
+    "(define (f x) (g x x x))"
+  );
+
+  private static List<SExpressionType> parseAll(
+    final boolean preserveLexical,
+    final Optional<URI> file)
+    throws Exception
+  {
+    final var lc =
+      new JSXLexerConfiguration(
+        true,
+        true,
+        file,
+        EnumSet.noneOf(JSXLexerComment.class),
+        1
+      );
+    final var lexer =
+      JSXLexer.newLexer(lc, UnicodeCharacterReader.newReader(
+        new StringReader(TEXT)));
+    final var parser =
+      JSXParser.newParser(
+        new JSXParserConfiguration(preserveLexical), lexer);
+    return new ArrayList<>(parser.parseExpressions());
+  }
+
+  private static byte[] encode(
+    final JSXSerializerType serializer,
+    final List<SExpressionType> expressions)
+    throws Exception
+  {
+    final var out = new ByteArrayOutputStream();
+    for (final var expression : expressions) {
+      serializer.serialize(expression, out);
+    }
+    return out.toByteArray();
+  }
+
+  private static List<SExpressionType> decodeStream(
+    final byte[] data,
+    final int count)
+    throws Exception
+  {
+    final var reader = JSXDeserializerBinary.newDeserializer();
+    final var stream = new ByteArrayInputStream(data);
+    final var results = new ArrayList<SExpressionType>();
+    for (int index = 0; index < count; ++index) {
+      results.add(reader.deserialize(stream));
+    }
+    Assertions.assertEquals(-1, stream.read());
+    return results;
+  }
+
+  private static List<SExpressionType> decodeBuffer(
+    final ByteBuffer buffer)
+    throws Exception
+  {
+    final var reader = JSXDeserializerBinary.newDeserializer();
+    final var results = new ArrayList<SExpressionType>();
+    while (buffer.hasRemaining()) {
+      results.add(reader.deserialize(buffer));
+    }
+    return results;
+  }
+
+  @Test
+  public void testRoundTripLexical()
+    throws Exception
+  {
+    final var expressions =
+      parseAll(true, Optional.of(URI.create("file:///tmp/x.s")));
+    final var data =
+      encode(JSXSerializerBinary.newSerializer(), expressions);
+
+    Assertions.assertEquals(expressions, decodeStream(data, expressions.size()));
+    Assertions.assertEquals(expressions, decodeBuffer(ByteBuffer.wrap(data)));
+
+    final var direct = ByteBuffer.allocateDirect(data.length);
+    direct.put(data);
+    direct.flip();
+    Assertions.assertEquals(expressions, decodeBuffer(direct));
+  }
+
+  @Test
+  public void testRoundTripNoLexical()
+    throws Exception
+  {
+    final var expressions =
+      parseAll(false, Optional.empty());
+    final var withLexical =
+      encode(JSXSerializerBinary.newSerializer(), expressions);
+    final var data =
+      encode(JSXSerializerBinary.newSerializer(false), expressions);
+
+    Assertions.assertTrue(data.length < withLexical.length);
+    Assertions.assertEquals(expressions, decodeStream(data, expressions.size()));
+  }
+
+  @Test
+  public void testRoundTripChannel()
+    throws Exception
+  {
+    final var expressions =
+      parseAll(true, Optional.empty());
+    final var serializer =
+      JSXSerializerBinary.newSerializer();
+
+    final var out = new ByteArrayOutputStream();
+    final var channel = Channels.newChannel(out);
+    for (final var expression : expressions) {
+      serializer.serialize(expression, channel);
+    }
+
+    Assertions.assertArrayEquals(
+      encode(serializer, expressions), out.toByteArray());
+    Assertions.assertEquals(
+      expressions, decodeStream(out.toByteArray(), expressions.size()));
+  }
+
+  @Test
+  public void testSymbolsShared()
+    throws Exception
+  {
+    final var symbol = "a-rather-long-symbol-name";
+    final var items = new ArrayList<SExpressionType>();
+    for (int index = 0; index < 100; ++index) {
+      items.add(new SSymbol(LEX, symbol));
+    }
+    final var list = SLists.of(LEX, false, items);
+    final var data =
+      encode(JSXSerializerBinary.newSerializer(false), List.of(list));
+
+    Assertions.assertTrue(data.length < symbol.length() + 250);
+    Assertions.assertEquals(List.of(list), decodeStream(data, 1));
+  }
+
+  @Test
+  public void testUnpairedSurrogates()
+    throws Exception
+  {
+    final var expression =
+      SLists.of(LEX, true, List.of(
+        new SQuotedString(LEX, "a\ud800b\udc00c\ud800"),
+        new SQuotedString(LEX, "ok😀é€")
+      ));
+    final var data =
+      encode(JSXSerializerBinary.newSerializer(false), List.of(expression));
+
+    Assertions.assertEquals(
+      List.of(SLists.of(LEX, true, List.of(
+        new SQuotedString(LEX, "a?b?c?"),
+        new SQuotedString(LEX, "ok😀é€")
+      ))),
+      decodeStream(data, 1));
+  }
+
+  @Test
+  public void testDeeplyNested()
+    throws Exception
+  {
+    final var depth = 200_000;
+
+    SExpressionType e = new SSymbol(LEX, "x");
+    for (int index = 0; index < depth; ++index) {
+      e = SLists.of(LEX, (index & 1) == 0, List.of(e, new SSymbol(LEX, "y")));
+    }
+
+    final var data =
+      encode(JSXSerializerBinary.newSerializer(false), List.of(e));
+    final var decoded =
+      decodeBuffer(ByteBuffer.wrap(data));
+
+    /*
+     * List equality is recursive, so compare the textual forms instead.
+     */
+
+    final var text = JSXSerializerTrivial.newSerializer();
+    final var expected = new StringBuilder();
+    text.serializeText(e, expected);
+    final var received = new StringBuilder();
+    text.serializeText(decoded.get(0), received);
+    Assertions.assertEquals(1, decoded.size());
+    Assertions.assertEquals(expected.toString(), received.toString());
+  }
+
+  @Test
+  public void testText()
+    throws Exception
+  {
+    final var serializer = JSXSerializerBinary.newSerializer();
+    final var reader = JSXDeserializerBinary.newDeserializer();
+    final var text = JSXSerializerTrivial.newSerializer();
+
+    for (final var e : parseAll(true, Optional.empty())) {
+      final var encoded = new StringBuilder();
+      serializer.serializeText(e, encoded);
+
+      final var bytes = new ByteArrayOutputStream();
+      serializer.serialize(e, bytes);
+      Assertions.assertEquals(
+        Base64.getEncoder().encodeToString(bytes.toByteArray()),
+        encoded.toString());
+
+      final var expected = new StringBuilder();
+      text.serializeText(e, expected);
+      final var received = new StringBuilder();
+      text.serializeText(reader.deserializeText(encoded), received);
+      Assertions.assertEquals(expected.toString(), received.toString());
+    }
+
+    Assertions.assertThrows(StreamCorruptedException.class, () -> {
+      reader.deserializeText("not base64!");
+    });
+  }
+
+  @Test
+  public void testMalformed()
+    throws Exception
+  {
+    final var data =
+      encode(
+        JSXSerializerBinary.newSerializer(false),
+        List.of(SLists.of(LEX, false, List.of(
+          new SSymbol(LEX, "a"),
+          new SSymbol(LEX, "a")))));
+
+    final var reader = JSXDeserializerBinary.newDeserializer();
+
+    final var badMagic = data.clone();
+    badMagic[0] = 'X';
+    Assertions.assertThrows(StreamCorruptedException.class, () -> {
+      reader.deserialize(ByteBuffer.wrap(badMagic));
+    });
+
+    final var badVersion = data.clone();
+    badVersion[4] = 99;
+    Assertions.assertThrows(StreamCorruptedException.class, () -> {
+      reader.deserialize(ByteBuffer.wrap(badVersion));
+    });
+
+    for (int size = 0; size < data.length; ++size) {
+      final var truncated = Arrays.copyOf(data, size);
+      Assertions.assertThrows(EOFException.class, () -> {
+        reader.deserialize(new ByteArrayInputStream(truncated));
+      });
+      Assertions.assertThrows(EOFException.class, () -> {
+        reader.deserialize(ByteBuffer.wrap(truncated));
+      });
+    }
+
+    /*
+     * The document is: header (6), body size (1), list tag, list size,
+     * new symbol tag, symbol length, 'a', symbol tag, symbol index.
+     */
+
+    final var badTag = data.clone();
+    badTag[7] = 99;
+    Assertions.assertThrows(StreamCorruptedException.class, () -> {
+      reader.deserialize(ByteBuffer.wrap(badTag));
+    });
+
+    final var badIndex = data.clone();
+    badIndex[data.length - 1] = 1;
+    Assertions.assertThrows(StreamCorruptedException.class, () -> {
+      reader.deserialize(ByteBuffer.wrap(badIndex));
+    });
+
+    final var badCount = data.clone();
+    badCount[8] = 100;
+    Assertions.assertThrows(StreamCorruptedException.class, () -> {
+      reader.deserialize(ByteBuffer.wrap(badCount));
+    });
+  }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jsx.tests.serializer;
+
+import com.io7m.jeucreader.UnicodeCharacterReader;
+import com.io7m.jlexing.core.LexicalPosition;
+import com.io7m.jsx.SExpressionType;
+import com.io7m.jsx.SExpressionType.SList;
+import com.io7m.jsx.SExpressionType.SQuotedString;
+import com.io7m.jsx.SExpressionType.SSymbol;
+import com.io7m.jsx.SLists;
+import com.io7m.jsx.api.lexer.JSXLexerComment;
+import com.io7m.jsx.api.lexer.JSXLexerConfiguration;
+import com.io7m.jsx.api.parser.JSXParserConfiguration;
+import com.io7m.jsx.api.serializer.JSXSerializerType;
+import com.io7m.jsx.lexer.JSXLexer;
+import com.io7m.jsx.parser.JSXParser;
+import com.io7m.jsx.serializer.JSXSerializerTrivial;
+import com.io7m.jsx.serializer.JSXSerializerUTF8;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+public final class SerializerTest
+{
+  private static final String TEXT = String.join(
+    "\n",
+    "(a b c)",
+    "[x [y] (z)]",
+    "(\"quoted \\\"text\\\" \\\\ \\r\\n\\t é😀\" sym)",
+    "()",
+    "[]",
+    "atom",
+    "(((deep (nest [ing]))))"
+  );
+
+  private static final LexicalPosition<URI> LEX =
+    LexicalPosition.of(1, 0, Optional.empty());
+
+  private static List<SExpressionType> parseAll(
+    final String text)
+    throws Exception
+  {
+    final var lc =
+      new JSXLexerConfiguration(
+        true,
+        true,
+        Optional.empty(),
+        EnumSet.noneOf(JSXLexerComment.class),
+        1
+      );
+    final var lexer =
+      JSXLexer.newLexer(lc, UnicodeCharacterReader.newReader(
+        new StringReader(text)));
+    final var parser =
+      JSXParser.newParser(new JSXParserConfiguration(false), lexer);
+    return new ArrayList<>(parser.parseExpressions());
+  }
+
+  private static String viaStream(
+    final JSXSerializerType serializer,
+    final SExpressionType expression)
+    throws Exception
+  {
+    final var bao = new ByteArrayOutputStream();
+    serializer.serialize(expression, bao);
+    return bao.toString(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testAppendableMatchesStream()
+    throws Exception
+  {
+    final var serializer = JSXSerializerTrivial.newSerializer();
+    final var shared = new StringBuilder(256);
+    final var expected = new StringBuilder(256);
+
+    for (final var expression : parseAll(TEXT)) {
+      final var text = viaStream(serializer, expression);
+      final var single = new StringBuilder();
+      serializer.serializeText(expression, single);
+      Assertions.assertEquals(text, single.toString());
+
+      serializer.serializeText(expression, shared);
+      expected.append(text);
+    }
+
+    Assertions.assertEquals(expected.toString(), shared.toString());
+  }
+
+  @Test
+  public void testAppendableRoundTrip()
+    throws Exception
+  {
+    final var serializer = JSXSerializerTrivial.newSerializer();
+    final var expressions = parseAll(TEXT);
+    final var out = new StringBuilder(256);
+
+    for (final var expression : expressions) {
+      serializer.serializeText(expression, out);
+      out.append('\n');
+    }
+
+    Assertions.assertEquals(expressions, parseAll(out.toString()));
+  }
+
+  @Test
+  public void testDefaultAppendable()
+    throws Exception
+  {
+    final var trivial = JSXSerializerTrivial.newSerializer();
+    final JSXSerializerType wrapped = trivial::serialize;
+
+    for (final var expression : parseAll(TEXT)) {
+      final var out = new StringBuilder();
+      wrapped.serializeText(expression, out);
+      Assertions.assertEquals(viaStream(trivial, expression), out.toString());
+    }
+  }
+
+  private static List<SExpressionType> awkward()
+    throws Exception
+  {
+    final var expressions = parseAll(TEXT);
+    expressions.add(new SQuotedString(LEX, "x".repeat(100) + "é😀\"€".repeat(50)));
+    expressions.add(new SQuotedString(LEX, "lone \ud800 high \udc00 low \ud800"));
+    expressions.add(new SSymbol(LEX, "sym€bol😀".repeat(20)));
+    expressions.add(new SList(LEX, true, List.copyOf(expressions)));
+    return expressions;
+  }
+
+  private static void checkUTF8(
+    final JSXSerializerType serializer)
+    throws Exception
+  {
+    final var trivial = JSXSerializerTrivial.newSerializer();
+
+    for (final var expression : awkward()) {
+      final var expected = new ByteArrayOutputStream();
+      trivial.serialize(expression, expected);
+
+      final var viaStream = new ByteArrayOutputStream();
+      serializer.serialize(expression, viaStream);
+      Assertions.assertArrayEquals(expected.toByteArray(), viaStream.toByteArray());
+
+      final var viaChannel = new ByteArrayOutputStream();
+      serializer.serialize(expression, Channels.newChannel(viaChannel));
+      Assertions.assertArrayEquals(expected.toByteArray(), viaChannel.toByteArray());
+    }
+  }
+
+  @Test
+  public void testUTF8MatchesTrivial()
+    throws Exception
+  {
+    checkUTF8(JSXSerializerUTF8.newSerializer());
+  }
+
+  @Test
+  public void testUTF8SmallHeapBuffer()
+    throws Exception
+  {
+    checkUTF8(JSXSerializerUTF8.newSerializer(
+      ByteBuffer.allocate(JSXSerializerUTF8.MINIMUM_BUFFER_SIZE)));
+  }
+
+  @Test
+  public void testUTF8SmallDirectBuffer()
+    throws Exception
+  {
+    checkUTF8(JSXSerializerUTF8.newSerializer(
+      ByteBuffer.allocateDirect(JSXSerializerUTF8.MINIMUM_BUFFER_SIZE)));
+  }
+
+  @Test
+  public void testUTF8BufferTooSmall()
+  {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JSXSerializerUTF8.newSerializer(ByteBuffer.allocate(15));
+    });
+    Assertions.assertThrows(IllegalArgumentException.class, () -> {
+      JSXSerializerUTF8.newSerializer(ByteBuffer.allocate(64).asReadOnlyBuffer());
+    });
+  }
+
+  @Test
+  public void testDefaultChannel()
+    throws Exception
+  {
+    final var trivial = JSXSerializerTrivial.newSerializer();
+
+    for (final var expression : awkward()) {
+      final var expected = new ByteArrayOutputStream();
+      trivial.serialize(expression, expected);
+
+      final var out = new ByteArrayOutputStream();
+      trivial.serialize(expression, Channels.newChannel(out));
+      Assertions.assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+  }
+
+  @Test
+  public void testDeeplyNested()
+    throws Exception
+  {
+    final var depth = 200_000;
+
+    SExpressionType e = new SSymbol(LEX, "x");
+    for (int index = 0; index < depth; ++index) {
+      e = SLists.of(LEX, false, List.of(e));
+    }
+
+    final var expected = "(".repeat(depth) + "x" + ")".repeat(depth);
+    final var serializers = List.of(
+      JSXSerializerTrivial.newSerializer(),
+      JSXSerializerUTF8.newSerializer()
+    );
+
+    for (final var serializer : serializers) {
+      Assertions.assertEquals(expected, viaStream(serializer, e));
+
+      final var text = new StringBuilder(expected.length());
+      serializer.serializeText(e, text);
+      Assertions.assertEquals(expected, text.toString());
+    }
+  }
+}
@@ -19,6 +19,7 @@ open module com.io7m.jsx.tests
 {
   uses com.io7m.jsx.api.lexer.JSXLexerSupplierType;
   uses com.io7m.jsx.api.parser.JSXParserSupplierType;
+  uses com.io7m.jsx.api.serializer.JSXDeserializerSupplierType;
   uses com.io7m.jsx.api.serializer.JSXSerializerSupplierType;
 
   requires org.junit.jupiter.api;